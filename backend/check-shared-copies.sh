@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+#
+# Some infrastructure classes are copied into more than one service instead of living in a shared
+# module: the services build independently and order-service is still on Boot 2.7 (javax) while the
+# others are on Boot 3 (jakarta). The first file of each group below is the canonical copy; change it
+# first, carry the change over to the others, and run this script to check they still match.
+#
+#   ./check-shared-copies.sh
+#
+# Copies are compared after normalising the service package and the javax/jakarta namespace, so
+# those are the only differences allowed. Exits 1 and prints a diff when a copy has drifted.
+
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+SHARED=(
+    "order-service/src/main/java/com/foodapp/orderservice/bulkhead/Bulkhead.java
+     user-service/src/main/java/com/foodapp/userservice/bulkhead/Bulkhead.java"
+    "order-service/src/main/java/com/foodapp/orderservice/bulkhead/BulkheadFilter.java
+     user-service/src/main/java/com/foodapp/userservice/bulkhead/BulkheadFilter.java"
+    "order-service/src/main/java/com/foodapp/orderservice/ratelimit/RateLimiters.java
+     user-service/src/main/java/com/foodapp/userservice/ratelimit/RateLimiters.java"
+    "order-service/src/main/java/com/foodapp/orderservice/ratelimit/TokenBucketLimiter.java
+     user-service/src/main/java/com/foodapp/userservice/ratelimit/TokenBucketLimiter.java"
+    "menu-service/src/main/java/com/foodapp/menuservice/invalidation/CacheInvalidationBus.java
+     user-service/src/main/java/com/foodapp/userservice/invalidation/CacheInvalidationBus.java"
+    "menu-service/src/main/java/com/foodapp/menuservice/repository/CacheInvalidationRepository.java
+     user-service/src/main/java/com/foodapp/userservice/repository/CacheInvalidationRepository.java"
+    "menu-service/src/main/java/com/foodapp/menuservice/config/InvalidationProperties.java
+     user-service/src/main/java/com/foodapp/userservice/config/InvalidationProperties.java"
+    "menu-service/src/main/java/com/foodapp/menuservice/dto/InvalidationStats.java
+     user-service/src/main/java/com/foodapp/userservice/dto/InvalidationStats.java"
+    "order-service/src/main/java/com/foodapp/orderservice/logging/CorrelationIdFilter.java
+     user-service/src/main/java/com/foodapp/userservice/logging/CorrelationIdFilter.java
+     menu-service/src/main/java/com/foodapp/menuservice/logging/CorrelationIdFilter.java"
+    "order-service/src/main/java/com/foodapp/orderservice/logging/SampledDebugFilter.java
+     user-service/src/main/java/com/foodapp/userservice/logging/SampledDebugFilter.java
+     menu-service/src/main/java/com/foodapp/menuservice/logging/SampledDebugFilter.java"
+)
+
+normalise() {
+    sed -E -e 's/com\.foodapp\.(order|user|menu)service/com.foodapp.SERVICE/g' \
+        -e 's/(order|user|menu)-service/SERVICE/g' \
+        -e 's/javax\.(servlet|annotation\.PostConstruct|annotation\.PreDestroy)/jakarta.\1/g' "$1"
+}
+
+DRIFTED=0
+for group in "${SHARED[@]}"; do
+    read -r -a files <<< "$(echo $group)"
+    canonical=${files[0]}
+    for copy in "${files[@]:1}"; do
+        if ! diff -u --label "$canonical" --label "$copy" <(normalise "$canonical") <(normalise "$copy"); then
+            DRIFTED=1
+        fi
+    done
+done
+
+if [ "$DRIFTED" -ne 0 ]; then
+    echo "Shared copies have drifted from their canonical version (first file of each group)." >&2
+    exit 1
+fi
+echo "All shared copies match."
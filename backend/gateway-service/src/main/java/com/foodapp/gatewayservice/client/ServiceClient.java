@@ -0,0 +1,86 @@
+package com.foodapp.gatewayservice.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodapp.gatewayservice.config.GatewayProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thin wrapper over the shared {@link HttpClient} for calls to the downstream services.
+ * JSON calls are async with a per-call timeout so the composite endpoints can fan out.
+ */
+@Component
+public class ServiceClient {
+
+    @Autowired
+    private HttpClient httpClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GatewayProperties properties;
+
+    public CompletableFuture<JsonNode> getJson(String url) {
+        return getJson(url, properties.getCallTimeoutMs());
+    }
+
+    // For long-polls, which legitimately take longer than the composite call timeout
+    public CompletableFuture<JsonNode> getJson(String url, long timeoutMs) {
+        HttpRequest request = jsonRequest(url, timeoutMs).GET().build();
+        return sendJson(request, timeoutMs);
+    }
+
+    public CompletableFuture<JsonNode> postJson(String url, Object body) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = jsonRequest(url, properties.getCallTimeoutMs())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+                .build();
+        return sendJson(request, properties.getCallTimeoutMs());
+    }
+
+    // Blocking call used by the proxy; the body is streamed back to the caller
+    public HttpResponse<InputStream> exchange(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private HttpRequest.Builder jsonRequest(String url, long timeoutMs) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("Accept", "application/json");
+    }
+
+    private CompletableFuture<JsonNode> sendJson(HttpRequest request, long timeoutMs) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new RuntimeException(request.method() + " " + request.uri()
+                                + " returned status " + response.statusCode());
+                    }
+                    try {
+                        return objectMapper.readTree(response.body());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+}
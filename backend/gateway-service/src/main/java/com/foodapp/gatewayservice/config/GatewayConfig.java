@@ -0,0 +1,38 @@
+package com.foodapp.gatewayservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableConfigurationProperties(GatewayProperties.class)
+public class GatewayConfig {
+
+    // Runs the async downstream calls of the composite endpoints
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService gatewayFanOutExecutor(GatewayProperties properties) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(properties.getFanOutThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "gateway-fanout-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // One shared client: the JDK client pools keep-alive connections per downstream host
+    @Bean
+    public HttpClient gatewayHttpClient(GatewayProperties properties, ExecutorService gatewayFanOutExecutor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(gatewayFanOutExecutor)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.foodapp.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Downstream service locations and client settings for the gateway.
+ * Bound from {@code app.gateway.*}.
+ */
+@ConfigurationProperties(prefix = "app.gateway")
+public class GatewayProperties {
+
+    private String userServiceUrl = "http://localhost:8081";
+
+    private String menuServiceUrl = "http://localhost:8082";
+
+    private String orderServiceUrl = "http://localhost:8083";
+
+    private long connectTimeoutMs = 2000;
+
+    // Per-call timeout for the calls made by the composite endpoints
+    private long callTimeoutMs = 3000;
+
+    // Time allowed for a proxied request to start responding (exports stream for longer after that)
+    private long proxyTimeoutMs = 30000;
+
+    private int fanOutThreads = 16;
+
+    // Public menu reads (GET /api/menu/**) are served from memory for this long
+    private long menuCacheTtlMs = 5000;
+
+    private int menuCacheMaxEntries = 500;
+
+    // How long each long-poll of menu-service's version waits for a change before asking again
+    private long menuVersionWaitMs = 25000;
+
+    public String getUserServiceUrl() { return userServiceUrl; }
+    public void setUserServiceUrl(String userServiceUrl) { this.userServiceUrl = userServiceUrl; }
+
+    public String getMenuServiceUrl() { return menuServiceUrl; }
+    public void setMenuServiceUrl(String menuServiceUrl) { this.menuServiceUrl = menuServiceUrl; }
+
+    public String getOrderServiceUrl() { return orderServiceUrl; }
+    public void setOrderServiceUrl(String orderServiceUrl) { this.orderServiceUrl = orderServiceUrl; }
+
+    public long getConnectTimeoutMs() { return connectTimeoutMs; }
+    public void setConnectTimeoutMs(long connectTimeoutMs) { this.connectTimeoutMs = connectTimeoutMs; }
+
+    public long getCallTimeoutMs() { return callTimeoutMs; }
+    public void setCallTimeoutMs(long callTimeoutMs) { this.callTimeoutMs = callTimeoutMs; }
+
+    public long getProxyTimeoutMs() { return proxyTimeoutMs; }
+    public void setProxyTimeoutMs(long proxyTimeoutMs) { this.proxyTimeoutMs = proxyTimeoutMs; }
+
+    public int getFanOutThreads() { return fanOutThreads; }
+    public void setFanOutThreads(int fanOutThreads) { this.fanOutThreads = fanOutThreads; }
+
+    public long getMenuCacheTtlMs() { return menuCacheTtlMs; }
+    public void setMenuCacheTtlMs(long menuCacheTtlMs) { this.menuCacheTtlMs = menuCacheTtlMs; }
+
+    public int getMenuCacheMaxEntries() { return menuCacheMaxEntries; }
+    public void setMenuCacheMaxEntries(int menuCacheMaxEntries) { this.menuCacheMaxEntries = menuCacheMaxEntries; }
+
+    public long getMenuVersionWaitMs() { return menuVersionWaitMs; }
+    public void setMenuVersionWaitMs(long menuVersionWaitMs) { this.menuVersionWaitMs = menuVersionWaitMs; }
+}
@@ -0,0 +1,20 @@
+package com.foodapp.gatewayservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/**")
+                .allowedOrigins("http://localhost:3000")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                .allowedHeaders("*")
+                // Order admission control and idempotent replays answer with these (see order-service OrderController)
+                .exposedHeaders("Retry-After", "X-Queue-Position", "X-Estimated-Wait-Seconds", "Idempotent-Replayed")
+                .allowCredentials(true);
+    }
+}
@@ -0,0 +1,33 @@
+package com.foodapp.gatewayservice.controller;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.foodapp.gatewayservice.service.CompositeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/gateway")
+public class CompositeController {
+
+    @Autowired
+    private CompositeService compositeService;
+
+    // Orders (with customers) and menu items for the admin dashboard in one call
+    @GetMapping("/admin/dashboard")
+    public ResponseEntity<ObjectNode> getAdminDashboard() {
+        return ResponseEntity.ok(compositeService.adminDashboard());
+    }
+
+    // A user's order history with menu item names filled in
+    @GetMapping("/users/{userId}/orders")
+    public ResponseEntity<ObjectNode> getOrderHistory(@PathVariable Long userId) {
+        return ResponseEntity.ok(compositeService.orderHistory(userId));
+    }
+
+    // Health check endpoint
+    @GetMapping("/health")
+    public ResponseEntity<String> health() {
+        return ResponseEntity.ok("Gateway Service is running!");
+    }
+}
@@ -0,0 +1,171 @@
+package com.foodapp.gatewayservice.controller;
+
+import com.foodapp.gatewayservice.client.ServiceClient;
+import com.foodapp.gatewayservice.config.GatewayProperties;
+import com.foodapp.gatewayservice.service.MenuResponseCache;
+import com.foodapp.gatewayservice.service.MenuResponseCache.CachedResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routes the existing service APIs through one origin: /api/auth and /api/users go to user-service,
+ * /api/menu to menu-service and /api/orders to order-service. Bodies are streamed in both directions,
+ * except menu item and category reads, which are buffered into {@link MenuResponseCache}.
+ */
+@RestController
+public class ProxyController {
+
+    // Hop-by-hop headers, headers the JDK client sets itself, and CORS headers (the gateway answers CORS)
+    private static final Set<String> SKIPPED_REQUEST_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade",
+            "host", "content-length", "expect", "origin", "access-control-request-method",
+            "access-control-request-headers", "x-forwarded-for");
+
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade",
+            "content-length", "vary");
+
+    @Autowired
+    private ServiceClient serviceClient;
+
+    @Autowired
+    private GatewayProperties properties;
+
+    @Autowired
+    private MenuResponseCache menuResponseCache;
+
+    @RequestMapping({"/api/auth/**", "/api/users/**", "/api/menu/**", "/api/orders/**"})
+    public void proxy(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI();
+        String pathAndQuery = request.getQueryString() == null ? path : path + "?" + request.getQueryString();
+        boolean cacheable = isCacheableMenuRead(request, path);
+        // Taken before the upstream call, so a response read before a menu change is not cached after it
+        long cacheGeneration = menuResponseCache.generation();
+
+        if (cacheable) {
+            CachedResponse cached = menuResponseCache.get(pathAndQuery);
+            if (cached != null) {
+                response.setHeader("X-Gateway-Cache", "HIT");
+                response.setContentType(cached.getContentType());
+                response.setContentLength(cached.getBody().length);
+                response.getOutputStream().write(cached.getBody());
+                return;
+            }
+        } else if (path.startsWith("/api/menu/") && !"GET".equals(request.getMethod())) {
+            menuResponseCache.clear();
+        }
+
+        HttpResponse<InputStream> upstream;
+        try {
+            upstream = serviceClient.exchange(buildUpstreamRequest(request, baseUrlFor(path) + pathAndQuery));
+        } catch (HttpTimeoutException e) {
+            sendError(response, HttpServletResponse.SC_GATEWAY_TIMEOUT, "Upstream service timed out");
+            return;
+        } catch (ConnectException e) {
+            sendError(response, HttpServletResponse.SC_BAD_GATEWAY, "Upstream service unavailable");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Request interrupted");
+            return;
+        }
+
+        response.setStatus(upstream.statusCode());
+        for (Map.Entry<String, List<String>> header : upstream.headers().map().entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (name.startsWith(":") || name.startsWith("access-control-") || SKIPPED_RESPONSE_HEADERS.contains(name)) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+
+        try (InputStream body = upstream.body()) {
+            if (cacheable && upstream.statusCode() == HttpServletResponse.SC_OK) {
+                byte[] bytes = body.readAllBytes();
+                String contentType = upstream.headers().firstValue("Content-Type").orElse("application/json");
+                menuResponseCache.put(pathAndQuery, cacheGeneration, contentType, bytes);
+                response.setHeader("X-Gateway-Cache", "MISS");
+                response.getOutputStream().write(bytes);
+            } else {
+                OutputStream out = response.getOutputStream();
+                body.transferTo(out);
+                out.flush();
+            }
+        }
+    }
+
+    private HttpRequest buildUpstreamRequest(HttpServletRequest request, String url) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(properties.getProxyTimeoutMs()));
+
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (SKIPPED_REQUEST_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : Collections.list(request.getHeaders(name))) {
+                builder.header(name, value);
+            }
+        }
+        // One header line: the client chain so far, then the address this request came from
+        String forwardedFor = String.join(", ", Collections.list(request.getHeaders("X-Forwarded-For")));
+        builder.header("X-Forwarded-For", forwardedFor.isEmpty()
+                ? request.getRemoteAddr() : forwardedFor + ", " + request.getRemoteAddr());
+
+        HttpRequest.BodyPublisher body;
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > 0 || request.getHeader("Transfer-Encoding") != null) {
+            // Read by the client while it sends, so large uploads are never held in memory
+            InputStream in = request.getInputStream();
+            body = HttpRequest.BodyPublishers.ofInputStream(() -> in);
+            if (contentLength > 0) {
+                body = HttpRequest.BodyPublishers.fromPublisher(body, contentLength);
+            }
+        } else {
+            body = HttpRequest.BodyPublishers.noBody();
+        }
+        return builder.method(request.getMethod(), body).build();
+    }
+
+    private String baseUrlFor(String path) {
+        if (path.startsWith("/api/menu")) {
+            return properties.getMenuServiceUrl();
+        }
+        if (path.startsWith("/api/orders")) {
+            return properties.getOrderServiceUrl();
+        }
+        return properties.getUserServiceUrl();
+    }
+
+    // Item and category reads only; the availability long-poll and stats endpoints must reach menu-service
+    private static boolean isCacheableMenuRead(HttpServletRequest request, String path) {
+        return "GET".equals(request.getMethod())
+                && (path.equals("/api/menu/items") || path.startsWith("/api/menu/items/") || path.equals("/api/menu/categories"))
+                && request.getHeader("Range") == null;
+    }
+
+    private static void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
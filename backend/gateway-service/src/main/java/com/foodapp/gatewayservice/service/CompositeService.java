@@ -0,0 +1,180 @@
+package com.foodapp.gatewayservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.foodapp.gatewayservice.client.ServiceClient;
+import com.foodapp.gatewayservice.config.GatewayProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Composite views built from several services in one request. Independent calls run concurrently;
+ * a failed or timed-out part is reported under "errors" and the rest of the view is still returned.
+ */
+@Service
+public class CompositeService {
+
+    // POST /api/users/batch rejects more ids than this
+    private static final int USER_BATCH_SIZE = 500;
+
+    // Keeps the ?ids= query string of /api/menu/items/batch well under common URL length limits
+    private static final int MENU_ITEM_BATCH_SIZE = 200;
+
+    @Autowired
+    private ServiceClient serviceClient;
+
+    @Autowired
+    private GatewayProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Admin dashboard: order summaries with their customers attached, plus the menu.
+     */
+    public ObjectNode adminDashboard() {
+        CompletableFuture<JsonNode> orders = serviceClient.getJson(properties.getOrderServiceUrl() + "/api/orders");
+        CompletableFuture<JsonNode> menuItems = serviceClient.getJson(properties.getMenuServiceUrl() + "/api/menu/items");
+        CompletableFuture<JsonNode> users = orders.thenCompose(list -> fetchUsers(collectIds(list, "userId")));
+
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode errors = objectMapper.createArrayNode();
+        ArrayNode orderList = asArray(await(orders, "orders", errors));
+        attachUsers(orderList, await(users, "users", errors));
+        result.set("orders", orderList);
+        result.set("menuItems", asArray(await(menuItems, "menuItems", errors)));
+        result.set("errors", errors);
+        return result;
+    }
+
+    /**
+     * Order history of one user with items, each item carrying its menu item name and image.
+     */
+    public ObjectNode orderHistory(Long userId) {
+        CompletableFuture<JsonNode> orders = serviceClient.getJson(
+                properties.getOrderServiceUrl() + "/api/orders/user/" + userId + "?includeItems=true");
+        CompletableFuture<JsonNode> user = fetchUsers(Set.of(userId));
+        CompletableFuture<JsonNode> menuItems = orders.thenCompose(list -> {
+            Set<Long> menuItemIds = new LinkedHashSet<>();
+            for (JsonNode order : list) {
+                menuItemIds.addAll(collectIds(order.path("orderItems"), "menuItemId"));
+            }
+            return fetchMenuItems(menuItemIds);
+        });
+
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode errors = objectMapper.createArrayNode();
+        ArrayNode orderList = asArray(await(orders, "orders", errors));
+        attachMenuItems(orderList, await(menuItems, "menuItems", errors));
+        JsonNode users = await(user, "user", errors);
+        result.set("user", users != null && users.size() > 0 ? users.get(0) : null);
+        result.set("orders", orderList);
+        result.set("errors", errors);
+        return result;
+    }
+
+    private CompletableFuture<JsonNode> fetchUsers(Set<Long> ids) {
+        return fetchInBatches(ids, USER_BATCH_SIZE,
+                batch -> serviceClient.postJson(properties.getUserServiceUrl() + "/api/users/batch", Map.of("ids", batch)));
+    }
+
+    private CompletableFuture<JsonNode> fetchMenuItems(Set<Long> ids) {
+        return fetchInBatches(ids, MENU_ITEM_BATCH_SIZE, batch -> {
+            String idList = batch.stream().map(String::valueOf).collect(Collectors.joining(","));
+            return serviceClient.getJson(properties.getMenuServiceUrl() + "/api/menu/items/batch?ids=" + idList);
+        });
+    }
+
+    // Splits ids into batches of at most batchSize, fetches them concurrently and concatenates the arrays
+    private CompletableFuture<JsonNode> fetchInBatches(Set<Long> ids, int batchSize,
+                                                       Function<List<Long>, CompletableFuture<JsonNode>> fetch) {
+        List<CompletableFuture<JsonNode>> calls = new ArrayList<>();
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += batchSize) {
+            calls.add(fetch.apply(all.subList(from, Math.min(from + batchSize, all.size()))));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            ArrayNode merged = objectMapper.createArrayNode();
+            for (CompletableFuture<JsonNode> call : calls) {
+                JsonNode batch = call.join();
+                if (batch != null && batch.isArray()) {
+                    merged.addAll((ArrayNode) batch);
+                }
+            }
+            return merged;
+        });
+    }
+
+    private static void attachUsers(ArrayNode orders, JsonNode users) {
+        Map<Long, JsonNode> usersById = indexById(users);
+        for (JsonNode order : orders) {
+            JsonNode user = usersById.get(order.path("userId").asLong());
+            if (user != null && order instanceof ObjectNode) {
+                ((ObjectNode) order).set("user", user);
+            }
+        }
+    }
+
+    private static void attachMenuItems(ArrayNode orders, JsonNode menuItems) {
+        Map<Long, JsonNode> menuItemsById = indexById(menuItems);
+        for (JsonNode order : orders) {
+            for (JsonNode item : order.path("orderItems")) {
+                JsonNode menuItem = menuItemsById.get(item.path("menuItemId").asLong());
+                if (menuItem != null && item instanceof ObjectNode) {
+                    ((ObjectNode) item).put("menuItemName", menuItem.path("name").asText(null));
+                    ((ObjectNode) item).put("imageUrl", menuItem.path("imageUrl").asText(null));
+                }
+            }
+        }
+    }
+
+    private static Map<Long, JsonNode> indexById(JsonNode nodes) {
+        Map<Long, JsonNode> byId = new HashMap<>();
+        if (nodes != null) {
+            for (JsonNode node : nodes) {
+                byId.put(node.path("id").asLong(), node);
+            }
+        }
+        return byId;
+    }
+
+    private static Set<Long> collectIds(JsonNode nodes, String field) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (JsonNode node : nodes) {
+            if (node.hasNonNull(field)) {
+                ids.add(node.get(field).asLong());
+            }
+        }
+        return ids;
+    }
+
+    private ArrayNode asArray(JsonNode node) {
+        return node instanceof ArrayNode ? (ArrayNode) node : objectMapper.createArrayNode();
+    }
+
+    // Wait for one part of the view; on failure record it and carry on without that part
+    private static JsonNode await(CompletableFuture<JsonNode> future, String part, ArrayNode errors) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            errors.addObject()
+                    .put("part", part)
+                    .put("message", cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            return null;
+        }
+    }
+}
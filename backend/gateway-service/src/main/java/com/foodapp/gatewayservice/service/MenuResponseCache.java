@@ -0,0 +1,144 @@
+package com.foodapp.gatewayservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodapp.gatewayservice.client.ServiceClient;
+import com.foodapp.gatewayservice.config.GatewayProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-TTL cache of successful public menu reads, keyed by path and query.
+ *
+ * <p>Any write routed through the gateway to menu-service clears it. Writes that reach menu-service
+ * directly (the frontend talks to it on its own port) are picked up by long-polling menu-service's menu
+ * version ({@code GET /api/menu/availability?since=}): the cache is cleared whenever the version moves,
+ * so a change is served within about a second, as it is by menu-service itself. The TTL only matters
+ * while the version cannot be followed. With the cross-instance invalidation bus disabled each
+ * menu-service instance has its own version, and only changes seen by the instance polled are noticed.
+ */
+@Component
+public class MenuResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuResponseCache.class);
+
+    // Larger bodies (e.g. images, which are already immutable-cached by the browser) are not kept
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+
+    // Bumped by every clear; a response fetched under an older generation is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile boolean following;
+
+    @Autowired
+    private GatewayProperties properties;
+
+    @Autowired
+    private ServiceClient serviceClient;
+
+    public CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a response fetched after {@link #generation()} returned {@code fetchedAt}, unless the cache
+     * has been cleared since.
+     */
+    public void put(String key, long fetchedAt, String contentType, byte[] body) {
+        if (properties.getMenuCacheTtlMs() <= 0 || body.length > MAX_BODY_BYTES) {
+            return;
+        }
+        if (entries.size() >= properties.getMenuCacheMaxEntries()) {
+            entries.clear();
+        }
+        entries.put(key, new CachedResponse(contentType, body, System.currentTimeMillis() + properties.getMenuCacheTtlMs()));
+        // A clear that ran while storing may have missed this entry
+        if (generation.get() != fetchedAt) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startFollowingMenuVersion() {
+        if (properties.getMenuCacheTtlMs() > 0) {
+            following = true;
+            followMenuVersion(null);
+        }
+    }
+
+    @PreDestroy
+    public void stopFollowingMenuVersion() {
+        following = false;
+    }
+
+    // One long-poll at a time; each answer starts the next
+    private void followMenuVersion(Long known) {
+        if (!following) {
+            return;
+        }
+        String url = properties.getMenuServiceUrl() + "/api/menu/availability"
+                + (known != null ? "?since=" + known + "&waitMs=" + properties.getMenuVersionWaitMs() : "");
+        serviceClient.getJson(url, properties.getMenuVersionWaitMs() + properties.getCallTimeoutMs())
+                .whenComplete((JsonNode answer, Throwable error) -> {
+                    if (error != null || !answer.hasNonNull("version")) {
+                        // Changes may be missed while menu-service is unreachable
+                        clear();
+                        log.debug("Following the menu version failed, retrying: {}", error != null ? error.getMessage() : answer);
+                        CompletableFuture.delayedExecutor(RETRY_DELAY_MS, TimeUnit.MILLISECONDS)
+                                .execute(() -> followMenuVersion(null));
+                        return;
+                    }
+                    long version = answer.get("version").asLong();
+                    if (known == null || version != known) {
+                        clear();
+                    }
+                    followMenuVersion(version);
+                });
+    }
+
+    public static class CachedResponse {
+        private final String contentType;
+        private final byte[] body;
+        private final long expiresAt;
+
+        private CachedResponse(String contentType, byte[] body, long expiresAt) {
+            this.contentType = contentType;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getContentType() { return contentType; }
+        public byte[] getBody() { return body; }
+    }
+}
@@ -0,0 +1,44 @@
+package com.foodapp.menuservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cross-instance cache invalidation through the {@code cache_invalidation} table, see
+ * {@link com.foodapp.menuservice.invalidation.CacheInvalidationBus}. Bound from {@code app.invalidation.*}.
+ */
+@ConfigurationProperties(prefix = "app.invalidation")
+public class InvalidationProperties {
+
+    private boolean enabled = true;
+
+    // Name of this instance in the changelog; generated when empty
+    private String instanceId;
+
+    // How often each instance looks for new rows; bounds the propagation delay
+    private long pollIntervalMs = 250;
+    private int batchSize = 500;
+
+    // How long a skipped id is re-checked before it is assumed rolled back
+    private long gapTimeoutMs = 10000;
+
+    // Rows older than this are deleted; an instance that could not poll for longer drops its whole cache
+    private int retentionMinutes = 10;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getInstanceId() { return instanceId; }
+    public void setInstanceId(String instanceId) { this.instanceId = instanceId; }
+
+    public long getPollIntervalMs() { return pollIntervalMs; }
+    public void setPollIntervalMs(long pollIntervalMs) { this.pollIntervalMs = pollIntervalMs; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public long getGapTimeoutMs() { return gapTimeoutMs; }
+    public void setGapTimeoutMs(long gapTimeoutMs) { this.gapTimeoutMs = gapTimeoutMs; }
+
+    public int getRetentionMinutes() { return retentionMinutes; }
+    public void setRetentionMinutes(int retentionMinutes) { this.retentionMinutes = retentionMinutes; }
+}
@@ -0,0 +1,45 @@
+package com.foodapp.menuservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for routing read-only transactions to MySQL read replicas.
+ * Bound from {@code app.datasource.read-replicas.*}.
+ */
+@ConfigurationProperties(prefix = "app.datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    // JDBC urls of the replicas; reads are balanced round-robin across the healthy ones
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    private long healthCheckIntervalMs = 5000;
+
+    private int healthCheckTimeoutSeconds = 2;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getUrls() { return urls; }
+    public void setUrls(List<String> urls) { this.urls = urls; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public long getHealthCheckIntervalMs() { return healthCheckIntervalMs; }
+    public void setHealthCheckIntervalMs(long healthCheckIntervalMs) { this.healthCheckIntervalMs = healthCheckIntervalMs; }
+
+    public int getHealthCheckTimeoutSeconds() { return healthCheckTimeoutSeconds; }
+    public void setHealthCheckTimeoutSeconds(int healthCheckTimeoutSeconds) { this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds; }
+}
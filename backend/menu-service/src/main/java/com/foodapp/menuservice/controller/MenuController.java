@@ -1,22 +1,50 @@
 package com.foodapp.menuservice.controller;
 
+import com.foodapp.menuservice.dto.AvailabilityUpdate;
+import com.foodapp.menuservice.dto.InvalidationStats;
+import com.foodapp.menuservice.dto.MenuAvailability;
+import com.foodapp.menuservice.dto.MenuQuery;
+import com.foodapp.menuservice.dto.MenuQueryResult;
+import com.foodapp.menuservice.invalidation.CacheInvalidationBus;
 import com.foodapp.menuservice.model.MenuItem;
+import com.foodapp.menuservice.service.MenuItemBatchLoader;
+import com.foodapp.menuservice.service.MenuQueryIndex;
 import com.foodapp.menuservice.service.MenuService;
+import com.foodapp.menuservice.service.MenuVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/menu")
 @CrossOrigin(origins = "http://localhost:3000") // Allow frontend to access this API
 public class MenuController {
 
+    private static final int MAX_AVAILABILITY_BATCH = 500;
+    private static final long MAX_AVAILABILITY_WAIT_MS = 30000;
+
     @Autowired
     private MenuService menuService;
 
+    @Autowired
+    private MenuItemBatchLoader menuItemBatchLoader;
+
+    @Autowired
+    private MenuQueryIndex menuQueryIndex;
+
+    @Autowired
+    private MenuVersion menuVersion;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
     // Get all available menu items
     @GetMapping("/items")
     public ResponseEntity<List<MenuItem>> getAllMenuItems() {
@@ -24,6 +52,16 @@ public class MenuController {
         return ResponseEntity.ok(items);
     }
 
+    // Get several menu items in one call, e.g. /items/batch?ids=1,2,3 (missing ids are skipped)
+    @GetMapping("/items/batch")
+    public ResponseEntity<List<MenuItem>> getMenuItemsByIds(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(menuItemBatchLoader.loadAll(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Get menu item by ID
     @GetMapping("/items/{id}")
     public ResponseEntity<MenuItem> getMenuItemById(@PathVariable Long id) {
@@ -46,6 +84,37 @@ public class MenuController {
         return ResponseEntity.ok(items);
     }
 
+    // Filter, sort and page the menu with facet counts, e.g.
+    // /query?categories=Pizza,Burgers&minPrice=5&maxPrice=15&available=true&text=cheese&sort=price_asc
+    @GetMapping("/query")
+    public ResponseEntity<MenuQueryResult> queryMenu(
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) String text,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > 200) {
+            return ResponseEntity.badRequest().build();
+        }
+        MenuQuery query = new MenuQuery();
+        try {
+            query.setSort(MenuQuery.Sort.valueOf(sort.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        query.setCategories(categories);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+        query.setAvailable(available);
+        query.setText(text);
+        query.setPage(page);
+        query.setSize(size);
+        return ResponseEntity.ok(menuQueryIndex.query(query));
+    }
+
     // Get all categories
     @GetMapping("/categories")
     public ResponseEntity<List<String>> getAllCategories() {
@@ -78,6 +147,50 @@ public class MenuController {
         }
     }
 
+    // Mark one item in or out of stock without sending the whole item (Admin only)
+    @PatchMapping("/items/{id}/availability")
+    public ResponseEntity<MenuAvailability> setAvailability(@PathVariable Long id, @RequestBody AvailabilityUpdate update) {
+        if (update.getAvailable() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (menuService.setAvailability(List.of(id), update.getAvailable()).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(currentAvailability());
+    }
+
+    // Same for several items at once, e.g. everything made from an ingredient that ran out; unknown ids are skipped
+    @PatchMapping("/items/availability")
+    public ResponseEntity<MenuAvailability> setAvailability(@RequestBody AvailabilityUpdate update) {
+        if (update.getAvailable() == null || update.getIds() == null || update.getIds().isEmpty()
+                || update.getIds().size() > MAX_AVAILABILITY_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(update.getIds());
+        ids.remove(null);
+        menuService.setAvailability(ids, update.getAvailable());
+        return ResponseEntity.ok(currentAvailability());
+    }
+
+    // Menu version and out-of-stock ids. With since=<version> the request waits up to waitMs for the
+    // version to move past it (long-poll) and otherwise answers with the unchanged version
+    @GetMapping("/availability")
+    public DeferredResult<MenuAvailability> getAvailability(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "25000") long waitMs) {
+        long timeout = Math.max(0, Math.min(waitMs, MAX_AVAILABILITY_WAIT_MS));
+        DeferredResult<MenuAvailability> result = new DeferredResult<>(timeout > 0 ? timeout : null);
+        if (since == null || timeout == 0) {
+            result.setResult(currentAvailability());
+            return result;
+        }
+        CompletableFuture<Long> changed = menuVersion.changedAfter(since);
+        result.onTimeout(() -> result.setResult(currentAvailability()));
+        result.onCompletion(() -> menuVersion.cancel(changed));
+        changed.thenRun(() -> result.setResult(currentAvailability()));
+        return result;
+    }
+
     // Delete menu item (Admin only)
     @DeleteMapping("/items/{id}")
     public ResponseEntity<Void> deleteMenuItem(@PathVariable Long id) {
@@ -92,6 +205,18 @@ public class MenuController {
         }
     }
 
+    private MenuAvailability currentAvailability() {
+        // Read the version first so a change landing in between is reported again on the next poll
+        long version = menuVersion.current();
+        return new MenuAvailability(version, menuQueryIndex.getUnavailableIds());
+    }
+
+    // Cross-instance cache invalidation counters and propagation lag of this instance
+    @GetMapping("/cache-invalidation")
+    public ResponseEntity<InvalidationStats> getInvalidationStats() {
+        return ResponseEntity.ok(invalidationBus.getStats());
+    }
+
     // Health check endpoint
     @GetMapping("/health")
     public ResponseEntity<String> health() {
@@ -0,0 +1,20 @@
+package com.foodapp.menuservice.dto;
+
+import java.util.List;
+
+/**
+ * Body of {@code PATCH /api/menu/items/{id}/availability} ({@code ids} ignored) and
+ * {@code PATCH /api/menu/items/availability}.
+ */
+public class AvailabilityUpdate {
+
+    private List<Long> ids;
+    private Boolean available;
+
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public Boolean getAvailable() { return available; }
+    public void setAvailable(Boolean available) { this.available = available; }
+}
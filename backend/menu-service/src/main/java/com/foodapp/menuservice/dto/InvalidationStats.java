@@ -0,0 +1,73 @@
+package com.foodapp.menuservice.dto;
+
+/**
+ * Counters of {@link com.foodapp.menuservice.invalidation.CacheInvalidationBus} on this instance.
+ * Lag is the time from a row being written to this instance applying it, on the database clock.
+ */
+public class InvalidationStats {
+
+    private String instanceId;
+    private long lastSeenId;
+    private int pendingGaps;
+    private long received;
+    private long gapsRecovered;
+    private long gapsExpired;
+    private long pollFailures;
+    private long fullInvalidations;
+    private long lastLagMs;
+    private long maxLagMs;
+    private long averageLagMs;
+
+    // Default constructor
+    public InvalidationStats() {}
+
+    public InvalidationStats(String instanceId, long lastSeenId, int pendingGaps, long received, long gapsRecovered,
+                             long gapsExpired, long pollFailures, long fullInvalidations, long lastLagMs, long maxLagMs,
+                             long averageLagMs) {
+        this.instanceId = instanceId;
+        this.lastSeenId = lastSeenId;
+        this.pendingGaps = pendingGaps;
+        this.received = received;
+        this.gapsRecovered = gapsRecovered;
+        this.gapsExpired = gapsExpired;
+        this.pollFailures = pollFailures;
+        this.fullInvalidations = fullInvalidations;
+        this.lastLagMs = lastLagMs;
+        this.maxLagMs = maxLagMs;
+        this.averageLagMs = averageLagMs;
+    }
+
+    // Getters and Setters
+    public String getInstanceId() { return instanceId; }
+    public void setInstanceId(String instanceId) { this.instanceId = instanceId; }
+
+    public long getLastSeenId() { return lastSeenId; }
+    public void setLastSeenId(long lastSeenId) { this.lastSeenId = lastSeenId; }
+
+    public int getPendingGaps() { return pendingGaps; }
+    public void setPendingGaps(int pendingGaps) { this.pendingGaps = pendingGaps; }
+
+    public long getReceived() { return received; }
+    public void setReceived(long received) { this.received = received; }
+
+    public long getGapsRecovered() { return gapsRecovered; }
+    public void setGapsRecovered(long gapsRecovered) { this.gapsRecovered = gapsRecovered; }
+
+    public long getGapsExpired() { return gapsExpired; }
+    public void setGapsExpired(long gapsExpired) { this.gapsExpired = gapsExpired; }
+
+    public long getPollFailures() { return pollFailures; }
+    public void setPollFailures(long pollFailures) { this.pollFailures = pollFailures; }
+
+    public long getFullInvalidations() { return fullInvalidations; }
+    public void setFullInvalidations(long fullInvalidations) { this.fullInvalidations = fullInvalidations; }
+
+    public long getLastLagMs() { return lastLagMs; }
+    public void setLastLagMs(long lastLagMs) { this.lastLagMs = lastLagMs; }
+
+    public long getMaxLagMs() { return maxLagMs; }
+    public void setMaxLagMs(long maxLagMs) { this.maxLagMs = maxLagMs; }
+
+    public long getAverageLagMs() { return averageLagMs; }
+    public void setAverageLagMs(long averageLagMs) { this.averageLagMs = averageLagMs; }
+}
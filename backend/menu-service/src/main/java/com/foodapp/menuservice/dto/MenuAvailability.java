@@ -0,0 +1,28 @@
+package com.foodapp.menuservice.dto;
+
+import java.util.List;
+
+/**
+ * Menu version plus the items currently out of stock ({@code GET /api/menu/availability}).
+ * The version goes up on every menu change, so a client only needs to reload when it moved.
+ */
+public class MenuAvailability {
+
+    private long version;
+    private List<Long> unavailableIds;
+
+    // Default constructor
+    public MenuAvailability() {}
+
+    public MenuAvailability(long version, List<Long> unavailableIds) {
+        this.version = version;
+        this.unavailableIds = unavailableIds;
+    }
+
+    // Getters and Setters
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public List<Long> getUnavailableIds() { return unavailableIds; }
+    public void setUnavailableIds(List<Long> unavailableIds) { this.unavailableIds = unavailableIds; }
+}
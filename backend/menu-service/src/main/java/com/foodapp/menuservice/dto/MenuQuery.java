@@ -0,0 +1,47 @@
+package com.foodapp.menuservice.dto;
+
+import java.util.List;
+
+/**
+ * Filters, sort and page of {@code GET /api/menu/query}. Null filters match everything.
+ */
+public class MenuQuery {
+
+    public enum Sort { ID, NAME, PRICE_ASC, PRICE_DESC }
+
+    // Any of these categories
+    private List<String> categories;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean available;
+    // Case-insensitive substring of name or description
+    private String text;
+    private Sort sort = Sort.NAME;
+    private int page;
+    private int size = 50;
+
+    // Getters and Setters
+    public List<String> getCategories() { return categories; }
+    public void setCategories(List<String> categories) { this.categories = categories; }
+
+    public Double getMinPrice() { return minPrice; }
+    public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
+
+    public Double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(Double maxPrice) { this.maxPrice = maxPrice; }
+
+    public Boolean getAvailable() { return available; }
+    public void setAvailable(Boolean available) { this.available = available; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public Sort getSort() { return sort; }
+    public void setSort(Sort sort) { this.sort = sort; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
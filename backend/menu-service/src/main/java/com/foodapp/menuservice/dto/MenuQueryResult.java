@@ -0,0 +1,53 @@
+package com.foodapp.menuservice.dto;
+
+import com.foodapp.menuservice.model.MenuItem;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of {@code GET /api/menu/query} plus facet counts. Category counts ignore the category
+ * filter and price band counts ignore the price filter, so a storefront can show how many items
+ * each other choice would give.
+ */
+public class MenuQueryResult {
+
+    private int page;
+    private int size;
+    private long total;
+    private List<MenuItem> items;
+    private Map<String, Integer> categoryCounts;
+    private Map<String, Integer> priceBandCounts;
+
+    // Default constructor
+    public MenuQueryResult() {}
+
+    public MenuQueryResult(int page, int size, long total, List<MenuItem> items,
+                           Map<String, Integer> categoryCounts, Map<String, Integer> priceBandCounts) {
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.items = items;
+        this.categoryCounts = categoryCounts;
+        this.priceBandCounts = priceBandCounts;
+    }
+
+    // Getters and Setters
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public List<MenuItem> getItems() { return items; }
+    public void setItems(List<MenuItem> items) { this.items = items; }
+
+    public Map<String, Integer> getCategoryCounts() { return categoryCounts; }
+    public void setCategoryCounts(Map<String, Integer> categoryCounts) { this.categoryCounts = categoryCounts; }
+
+    public Map<String, Integer> getPriceBandCounts() { return priceBandCounts; }
+    public void setPriceBandCounts(Map<String, Integer> priceBandCounts) { this.priceBandCounts = priceBandCounts; }
+}
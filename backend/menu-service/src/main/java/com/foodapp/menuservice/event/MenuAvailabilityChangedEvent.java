@@ -0,0 +1,17 @@
+package com.foodapp.menuservice.event;
+
+import java.util.List;
+
+/**
+ * Published by {@link com.foodapp.menuservice.service.MenuService} when items are marked in or out of
+ * stock through the availability endpoints; only the {@code available} column of these items changed.
+ */
+public class MenuAvailabilityChangedEvent {
+    private final List<Long> itemIds;
+
+    public MenuAvailabilityChangedEvent(List<Long> itemIds) {
+        this.itemIds = itemIds;
+    }
+
+    public List<Long> getItemIds() { return itemIds; }
+}
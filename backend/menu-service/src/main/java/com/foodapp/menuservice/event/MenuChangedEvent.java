@@ -0,0 +1,15 @@
+package com.foodapp.menuservice.event;
+
+/**
+ * Published by {@link com.foodapp.menuservice.service.MenuService} whenever a menu item is added,
+ * updated or deleted; listeners that act after commit see the change in the database.
+ */
+public class MenuChangedEvent {
+    private final Long itemId;
+
+    public MenuChangedEvent(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public Long getItemId() { return itemId; }
+}
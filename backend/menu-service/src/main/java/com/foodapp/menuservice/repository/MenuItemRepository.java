@@ -2,7 +2,11 @@ package com.foodapp.menuservice.repository;
 
 import com.foodapp.menuservice.model.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +23,17 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
     // Find menu items by name containing (search functionality)
     List<MenuItem> findByNameContainingIgnoreCase(String name);
+
+    // Ids among the given ones that exist
+    @Query("select m.id from MenuItem m where m.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Ids among the given ones that are in stock
+    @Query("select m.id from MenuItem m where m.id in :ids and m.available = true")
+    List<Long> findAvailableIdsIn(@Param("ids") Collection<Long> ids);
+
+    // Single-column update of the stock flag; rows that already have it are not touched
+    @Modifying
+    @Query("update MenuItem m set m.available = :available where m.id in :ids and m.available <> :available")
+    int updateAvailability(@Param("ids") Collection<Long> ids, @Param("available") Boolean available);
 }
\ No newline at end of file
@@ -0,0 +1,230 @@
+package com.foodapp.menuservice.service;
+
+import com.foodapp.menuservice.model.MenuItem;
+import com.foodapp.menuservice.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Turns an uploaded menu image into resized variants stored under content-hash file names.
+ * Because a name only ever refers to one set of bytes, the files can be served with
+ * immutable cache headers.
+ */
+@Service
+public class MenuImageService {
+
+    public enum Variant {
+        THUMB(160),
+        CARD(480),
+        LARGE(1200);
+
+        private final int maxWidth;
+
+        Variant(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        public int getMaxWidth() { return maxWidth; }
+
+        public String key() { return name().toLowerCase(); }
+    }
+
+    // Variant that MenuItem.imageUrl points at
+    public static final Variant DEFAULT_VARIANT = Variant.CARD;
+
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{20}-(thumb|card|large)\\.(jpg|png)");
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Value("${app.images.storage-dir:./data/images}")
+    private String storageDir;
+
+    @Value("${app.images.public-base-url:http://localhost:8082}")
+    private String publicBaseUrl;
+
+    // A small compressed upload can declare huge dimensions; decoding allocates width * height * 4 bytes
+    @Value("${app.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    /**
+     * Decodes the upload once and writes every variant; returns variant key to public URL.
+     */
+    public Map<String, String> ingest(byte[] original) throws IOException {
+        BufferedImage source = decode(original);
+        boolean keepAlpha = source.getColorModel().hasAlpha();
+
+        Path directory = storageRoot();
+        Files.createDirectories(directory);
+
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (Variant variant : Variant.values()) {
+            BufferedImage scaled = resize(source, variant.getMaxWidth(), keepAlpha);
+            byte[] encoded = keepAlpha ? encodePng(scaled) : encodeJpeg(scaled);
+            String fileName = contentHash(encoded) + "-" + variant.key() + (keepAlpha ? ".png" : ".jpg");
+            store(directory.resolve(fileName), encoded);
+            urls.put(variant.key(), publicUrl(fileName));
+        }
+        return urls;
+    }
+
+    /**
+     * Ingests the upload and points the menu item's imageUrl at the default variant.
+     */
+    @Transactional
+    public Optional<Map<String, String>> ingestForMenuItem(Long menuItemId, byte[] original) throws IOException {
+        Optional<MenuItem> item = menuItemRepository.findById(menuItemId);
+        if (item.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, String> urls = ingest(original);
+        item.get().setImageUrl(urls.get(DEFAULT_VARIANT.key()));
+        menuItemRepository.save(item.get());
+        return Optional.of(urls);
+    }
+
+    /**
+     * Resolves a stored variant by file name; names that are not ours never touch the file system.
+     */
+    public Optional<Path> resolve(String fileName) {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        Path file = storageRoot().resolve(fileName);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    // Reads the dimensions from the header and rejects oversized images before decoding any pixels
+    private BufferedImage decode(byte[] original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalArgumentException("Image has " + pixels + " pixels, at most " + maxPixels + " are allowed");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Path storageRoot() {
+        return Paths.get(storageDir).toAbsolutePath().normalize();
+    }
+
+    private String publicUrl(String fileName) {
+        return publicBaseUrl + "/api/menu/images/" + fileName;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int maxWidth, boolean keepAlpha) {
+        int width = Math.min(maxWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round(source.getHeight() * (width / (double) source.getWidth())));
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        // Halve repeatedly before the final step; a single bilinear pass from a large original aliases badly
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D g = next.createGraphics();
+            if (!keepAlpha) {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, currentWidth, currentHeight);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g.dispose();
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            if (param.canWriteProgressive()) {
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static String contentHash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest).substring(0, 20);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Same name means same bytes, so an existing file is left alone; new files appear atomically
+    private static void store(Path target, byte[] content) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        Path temp = Files.createTempFile(target.getParent(), "upload-", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
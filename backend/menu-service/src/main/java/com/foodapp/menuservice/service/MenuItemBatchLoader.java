@@ -0,0 +1,98 @@
+package com.foodapp.menuservice.service;
+
+import com.foodapp.menuservice.model.MenuItem;
+import com.foodapp.menuservice.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resolves many menu item ids with one findAllById, coalescing concurrent lookups (single-flight):
+ * an id that another request is already loading is awaited instead of queried again, so a burst of
+ * overlapping cart/order renders costs one query per distinct id set rather than one per request.
+ */
+@Service
+public class MenuItemBatchLoader {
+
+    public static final int MAX_BATCH_SIZE = 200;
+
+    private static final long WAIT_TIMEOUT_SECONDS = 10;
+
+    private final Map<Long, CompletableFuture<Optional<MenuItem>>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    // Load the given ids; the result keeps request order and skips ids that don't exist
+    public List<MenuItem> loadAll(List<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids per batch");
+        }
+
+        Map<Long, CompletableFuture<Optional<MenuItem>>> pending = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<Optional<MenuItem>>> owned = new HashMap<>();
+        for (Long id : distinct) {
+            CompletableFuture<Optional<MenuItem>> mine = new CompletableFuture<>();
+            CompletableFuture<Optional<MenuItem>> existing = inFlight.putIfAbsent(id, mine);
+            if (existing == null) {
+                owned.put(id, mine);
+                pending.put(id, mine);
+            } else {
+                pending.put(id, existing);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            load(owned);
+        }
+
+        List<MenuItem> result = new ArrayList<>(pending.size());
+        for (CompletableFuture<Optional<MenuItem>> future : pending.values()) {
+            await(future).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    private void load(Map<Long, CompletableFuture<Optional<MenuItem>>> owned) {
+        try {
+            Map<Long, MenuItem> found = new HashMap<>();
+            for (MenuItem item : menuItemRepository.findAllById(owned.keySet())) {
+                found.put(item.getId(), item);
+            }
+            owned.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException e) {
+            owned.values().forEach(future -> future.completeExceptionally(e));
+            throw e;
+        } finally {
+            // Only the next lookup after completion hits the database again; nothing is cached here
+            owned.forEach(inFlight::remove);
+        }
+    }
+
+    private static Optional<MenuItem> await(CompletableFuture<Optional<MenuItem>> future) {
+        try {
+            return future.get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for menu items", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to load menu items", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out waiting for menu items", e);
+        }
+    }
+}
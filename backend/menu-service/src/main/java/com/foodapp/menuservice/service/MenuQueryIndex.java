@@ -0,0 +1,452 @@
+package com.foodapp.menuservice.service;
+
+import com.foodapp.menuservice.config.DataSourceRouting;
+import com.foodapp.menuservice.dto.MenuQuery;
+import com.foodapp.menuservice.dto.MenuQueryResult;
+import com.foodapp.menuservice.event.MenuAvailabilityChangedEvent;
+import com.foodapp.menuservice.event.MenuChangedEvent;
+import com.foodapp.menuservice.invalidation.CacheInvalidationBus;
+import com.foodapp.menuservice.model.MenuItem;
+import com.foodapp.menuservice.repository.MenuItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Answers {@code GET /api/menu/query} from a column-per-attribute copy of the menu: prices in a
+ * {@code double[]}, availability and each category as a {@link BitSet} over row numbers, and the
+ * sort orders precomputed as row arrays. A query ANDs a few bitsets, scans the price column only when
+ * a price range is given, and counts facets in one pass over the matching rows, so it never touches
+ * the database.
+ *
+ * <p>The columns are immutable and swapped as a whole. They are built at startup and rebuilt from the
+ * primary after every committed {@link MenuChangedEvent}; writes that arrive while a rebuild runs are
+ * folded into the next one. A {@link MenuAvailabilityChangedEvent} only re-reads the flags of the items
+ * involved and swaps in a copy with those bits flipped. Either way {@link MenuVersion} is bumped once
+ * the change is visible. Changes made on other instances arrive through the {@link CacheInvalidationBus}
+ * and are handled the same way.
+ */
+@Service
+public class MenuQueryIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuQueryIndex.class);
+
+    // Cache names on the invalidation bus
+    public static final String ITEMS = "menu-item";
+    public static final String AVAILABILITY = "menu-availability";
+
+    private final Object rebuildLock = new Object();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile long builtThrough = -1;
+
+    private volatile Columns columns;
+    private TransactionTemplate primaryRead;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MenuVersion menuVersion;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    // Upper bounds of the price bands counted as facets; the last band is open-ended
+    @Value("${app.menu.query.price-bands:5,10,20}")
+    private double[] priceBands;
+
+    @PostConstruct
+    public void init() {
+        Arrays.sort(priceBands);
+        primaryRead = new TransactionTemplate(transactionManager);
+        primaryRead.setReadOnly(true);
+        invalidationBus.subscribe(ITEMS, ids -> onChange("items " + (ids != null ? ids : "(all)") + " on another instance"));
+        invalidationBus.subscribe(AVAILABILITY, ids -> {
+            if (ids != null) {
+                refreshAvailability(ids);
+            } else {
+                onChange("all items on another instance");
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Building the menu query index failed, retrying on first query: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        onChange("item " + event.getItemId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(MenuAvailabilityChangedEvent event) {
+        refreshAvailability(event.getItemIds());
+    }
+
+    private void onChange(String what) {
+        changes.incrementAndGet();
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // The write is committed; leave the index stale and retry on the next query
+            log.warn("Rebuilding the menu query index after change to {} failed: {}", what, e.getMessage());
+        }
+    }
+
+    private void refreshAvailability(Collection<Long> itemIds) {
+        try {
+            synchronized (rebuildLock) {
+                if (columns != null) {
+                    // Read back rather than trust the event: concurrent toggles may commit in either order
+                    List<Long> availableIds = primaryRead.execute(status -> {
+                        DataSourceRouting.usePrimaryForCurrentTransaction();
+                        return menuItemRepository.findAvailableIdsIn(itemIds);
+                    });
+                    columns = columns.withAvailability(itemIds, new HashSet<>(availableIds));
+                }
+            }
+        } catch (RuntimeException e) {
+            changes.incrementAndGet();
+            log.warn("Updating availability of items {} in the menu query index failed, rebuilding on next query: {}",
+                    itemIds, e.getMessage());
+        }
+        menuVersion.bump();
+    }
+
+    /**
+     * Ids of the items currently out of stock, in id order.
+     */
+    public List<Long> getUnavailableIds() {
+        if (columns == null) {
+            rebuild();
+        }
+        Columns c = columns;
+        List<Long> ids = new ArrayList<>();
+        for (int row = c.available.nextClearBit(0); row < c.rows; row = c.available.nextClearBit(row + 1)) {
+            ids.add(c.ids[row]);
+        }
+        return ids;
+    }
+
+    /**
+     * Reloads the menu unless a rebuild that started after the latest change has already done so.
+     */
+    public void rebuild() {
+        long target = changes.get();
+        synchronized (rebuildLock) {
+            if (builtThrough >= target && columns != null) {
+                return;
+            }
+            long seen = changes.get();
+            List<MenuItem> items = primaryRead.execute(status -> {
+                // Replicas may not have the write that triggered this rebuild yet
+                DataSourceRouting.usePrimaryForCurrentTransaction();
+                return menuItemRepository.findAll();
+            });
+            columns = new Columns(items, priceBands);
+            builtThrough = seen;
+            log.debug("Menu query index rebuilt with {} items", items.size());
+        }
+        menuVersion.bump();
+    }
+
+    public MenuQueryResult query(MenuQuery query) {
+        if (columns == null) {
+            rebuild();
+        } else if (builtThrough < changes.get()) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Menu query index is stale and could not be rebuilt: {}", e.getMessage());
+            }
+        }
+        Columns c = columns;
+
+        // Every filter except category and price
+        BitSet others = new BitSet(c.rows);
+        others.set(0, c.rows);
+        if (query.getAvailable() != null) {
+            if (query.getAvailable()) {
+                others.and(c.available);
+            } else {
+                others.andNot(c.available);
+            }
+        }
+        if (query.getText() != null && !query.getText().isBlank()) {
+            String text = query.getText().trim().toLowerCase(Locale.ROOT);
+            for (int row = others.nextSetBit(0); row >= 0; row = others.nextSetBit(row + 1)) {
+                if (!c.text[row].contains(text)) {
+                    others.clear(row);
+                }
+            }
+        }
+
+        BitSet inCategories = null;
+        if (query.getCategories() != null && !query.getCategories().isEmpty()) {
+            inCategories = new BitSet(c.rows);
+            for (String category : query.getCategories()) {
+                int code = Arrays.binarySearch(c.categoryNames, category);
+                if (code >= 0) {
+                    inCategories.or(c.byCategory[code]);
+                }
+            }
+        }
+
+        BitSet inPriceRange = null;
+        if (query.getMinPrice() != null || query.getMaxPrice() != null) {
+            double min = query.getMinPrice() != null ? query.getMinPrice() : Double.NEGATIVE_INFINITY;
+            double max = query.getMaxPrice() != null ? query.getMaxPrice() : Double.POSITIVE_INFINITY;
+            inPriceRange = new BitSet(c.rows);
+            for (int row = others.nextSetBit(0); row >= 0; row = others.nextSetBit(row + 1)) {
+                if (c.prices[row] >= min && c.prices[row] <= max) {
+                    inPriceRange.set(row);
+                }
+            }
+        }
+
+        BitSet forCategoryCounts = (BitSet) others.clone();
+        if (inPriceRange != null) {
+            forCategoryCounts.and(inPriceRange);
+        }
+        BitSet forPriceBandCounts = (BitSet) others.clone();
+        if (inCategories != null) {
+            forPriceBandCounts.and(inCategories);
+        }
+        BitSet matches = (BitSet) forCategoryCounts.clone();
+        if (inCategories != null) {
+            matches.and(inCategories);
+        }
+
+        return new MenuQueryResult(query.getPage(), query.getSize(), matches.cardinality(),
+                page(c, matches, query), categoryCounts(c, forCategoryCounts), priceBandCounts(c, forPriceBandCounts));
+    }
+
+    private static List<MenuItem> page(Columns c, BitSet matches, MenuQuery query) {
+        int[] order = c.orderBy(query.getSort());
+        boolean reverse = query.getSort() == MenuQuery.Sort.PRICE_DESC;
+        long skip = (long) query.getPage() * query.getSize();
+        List<MenuItem> result = new ArrayList<>(Math.min(query.getSize(), matches.cardinality()));
+        for (int i = 0; i < order.length && result.size() < query.getSize(); i++) {
+            int row = order[reverse ? order.length - 1 - i : i];
+            if (!matches.get(row)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+            } else {
+                result.add(c.items[row]);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Integer> categoryCounts(Columns c, BitSet rows) {
+        int[] counts = new int[c.categoryNames.length];
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (c.categoryOf[row] >= 0) {
+                counts[c.categoryOf[row]]++;
+            }
+        }
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            result.put(c.categoryNames[code], counts[code]);
+        }
+        return result;
+    }
+
+    private static Map<String, Integer> priceBandCounts(Columns c, BitSet rows) {
+        int[] counts = new int[c.bandLabels.length];
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (c.bandOf[row] >= 0) {
+                counts[c.bandOf[row]]++;
+            }
+        }
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int band = 0; band < counts.length; band++) {
+            result.put(c.bandLabels[band], counts[band]);
+        }
+        return result;
+    }
+
+    /**
+     * One immutable build of the menu. Row numbers follow item id.
+     */
+    private static final class Columns {
+        private final int rows;
+        private final long[] ids;
+        private final MenuItem[] items;
+        private final double[] prices;
+        private final int[] bandOf;
+        private final int[] categoryOf;
+        private final String[] text;
+        private final BitSet available;
+        private final String[] categoryNames;
+        private final BitSet[] byCategory;
+        private final String[] bandLabels;
+        private final int[] byId;
+        private final int[] byName;
+        private final int[] byPrice;
+
+        private Columns(List<MenuItem> source, double[] bandBounds) {
+            List<MenuItem> sorted = new ArrayList<>(source);
+            sorted.sort(Comparator.comparing(MenuItem::getId));
+            rows = sorted.size();
+            ids = new long[rows];
+            items = new MenuItem[rows];
+            prices = new double[rows];
+            bandOf = new int[rows];
+            categoryOf = new int[rows];
+            text = new String[rows];
+            available = new BitSet(rows);
+
+            TreeMap<String, BitSet> categories = new TreeMap<>();
+            for (MenuItem item : sorted) {
+                if (item.getCategory() != null) {
+                    categories.putIfAbsent(item.getCategory(), new BitSet(rows));
+                }
+            }
+            categoryNames = categories.keySet().toArray(new String[0]);
+            byCategory = categories.values().toArray(new BitSet[0]);
+
+            for (int row = 0; row < rows; row++) {
+                MenuItem item = copy(sorted.get(row));
+                items[row] = item;
+                ids[row] = item.getId();
+                prices[row] = item.getPrice() != null ? item.getPrice() : Double.NaN;
+                bandOf[row] = band(prices[row], bandBounds);
+                text[row] = ((item.getName() != null ? item.getName() : "") + "\n"
+                        + (item.getDescription() != null ? item.getDescription() : "")).toLowerCase(Locale.ROOT);
+                if (Boolean.TRUE.equals(item.getAvailable())) {
+                    available.set(row);
+                }
+                categoryOf[row] = item.getCategory() != null ? Arrays.binarySearch(categoryNames, item.getCategory()) : -1;
+                if (categoryOf[row] >= 0) {
+                    byCategory[categoryOf[row]].set(row);
+                }
+            }
+
+            bandLabels = new String[bandBounds.length + 1];
+            String lower = "0";
+            for (int band = 0; band < bandBounds.length; band++) {
+                String upper = format(bandBounds[band]);
+                bandLabels[band] = lower + "-" + upper;
+                lower = upper;
+            }
+            bandLabels[bandBounds.length] = lower + "+";
+
+            byId = IntStream.range(0, rows).toArray();
+            byName = sortedRows(Comparator.comparing((Integer row) -> items[row].getName(),
+                    Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+            byPrice = sortedRows(Comparator.comparingDouble((Integer row) -> prices[row]));
+        }
+
+        // Shares every column except items and availability
+        private Columns(Columns base, MenuItem[] items, BitSet available) {
+            rows = base.rows;
+            ids = base.ids;
+            this.items = items;
+            prices = base.prices;
+            bandOf = base.bandOf;
+            categoryOf = base.categoryOf;
+            text = base.text;
+            this.available = available;
+            categoryNames = base.categoryNames;
+            byCategory = base.byCategory;
+            bandLabels = base.bandLabels;
+            byId = base.byId;
+            byName = base.byName;
+            byPrice = base.byPrice;
+        }
+
+        private Columns withAvailability(Collection<Long> itemIds, Set<Long> availableIds) {
+            MenuItem[] newItems = items.clone();
+            BitSet newAvailable = (BitSet) available.clone();
+            for (Long id : itemIds) {
+                int row = Arrays.binarySearch(ids, id);
+                if (row < 0) {
+                    continue;
+                }
+                boolean flag = availableIds.contains(id);
+                newAvailable.set(row, flag);
+                newItems[row] = copy(items[row]);
+                newItems[row].setAvailable(flag);
+            }
+            return new Columns(this, newItems, newAvailable);
+        }
+
+        private int[] orderBy(MenuQuery.Sort sort) {
+            switch (sort) {
+                case ID:
+                    return byId;
+                case PRICE_ASC:
+                case PRICE_DESC:
+                    return byPrice;
+                default:
+                    return byName;
+            }
+        }
+
+        // Stable, so ties keep id order
+        private int[] sortedRows(Comparator<Integer> comparator) {
+            return IntStream.range(0, rows).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+        }
+
+        // Band i holds prices below bandBounds[i]; -1 for items without a price
+        private static int band(double price, double[] bandBounds) {
+            if (Double.isNaN(price)) {
+                return -1;
+            }
+            int band = 0;
+            while (band < bandBounds.length && price >= bandBounds[band]) {
+                band++;
+            }
+            return band;
+        }
+
+        private static String format(double bound) {
+            return BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+        }
+
+        // Detached copy; the result is shared by concurrent queries and must not be a managed entity
+        private static MenuItem copy(MenuItem item) {
+            MenuItem copy = new MenuItem(item.getName(), item.getDescription(), item.getPrice(), item.getCategory(),
+                    item.getImageUrl(), item.getAvailable());
+            copy.setId(item.getId());
+            return copy;
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.foodapp.menuservice.service;
 
+import com.foodapp.menuservice.event.MenuAvailabilityChangedEvent;
+import com.foodapp.menuservice.event.MenuChangedEvent;
+import com.foodapp.menuservice.invalidation.CacheInvalidationBus;
 import com.foodapp.menuservice.model.MenuItem;
 import com.foodapp.menuservice.repository.MenuItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -11,47 +19,64 @@ import java.util.stream.Collectors;
 @Service
 public class MenuService {
 
+    private static final Logger log = LoggerFactory.getLogger(MenuService.class);
+
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
     // Get all menu items
+    @Transactional(readOnly = true)
     public List<MenuItem> getAllMenuItems() {
         return menuItemRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<MenuItem> getAvailableMenuItems() {
-        System.out.println("Fetching all menu items...");
         List<MenuItem> allItems = menuItemRepository.findAll();
-        System.out.println("Found " + allItems.size() + " total items");
-
-        List<MenuItem> availableItems = menuItemRepository.findByAvailable(true);
-        System.out.println("Found " + availableItems.size() + " available items");
+        if (log.isDebugEnabled()) {
+            log.debug("Found {} menu items, {} available", allItems.size(),
+                    allItems.stream().filter(item -> Boolean.TRUE.equals(item.getAvailable())).count());
+        }
 
         // Return all items for now to test
         return allItems;
     }
 
     // Get menu item by ID
+    @Transactional(readOnly = true)
     public Optional<MenuItem> getMenuItemById(Long id) {
         return menuItemRepository.findById(id);
     }
 
     // Get menu items by category
+    @Transactional(readOnly = true)
     public List<MenuItem> getMenuItemsByCategory(String category) {
         return menuItemRepository.findByCategoryAndAvailable(category, true);
     }
 
     // Search menu items by name
+    @Transactional(readOnly = true)
     public List<MenuItem> searchMenuItems(String name) {
         return menuItemRepository.findByNameContainingIgnoreCase(name);
     }
 
     // Add new menu item (admin function)
+    @Transactional
     public MenuItem addMenuItem(MenuItem menuItem) {
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        invalidationBus.publish(MenuQueryIndex.ITEMS, saved.getId());
+        eventPublisher.publishEvent(new MenuChangedEvent(saved.getId()));
+        return saved;
     }
 
     // Update menu item (admin function)
+    @Transactional
     public MenuItem updateMenuItem(Long id, MenuItem updatedMenuItem) {
         Optional<MenuItem> existingItem = menuItemRepository.findById(id);
         if (existingItem.isPresent()) {
@@ -62,21 +87,39 @@ public class MenuService {
             item.setCategory(updatedMenuItem.getCategory());
             item.setImageUrl(updatedMenuItem.getImageUrl());
             item.setAvailable(updatedMenuItem.getAvailable());
-            return menuItemRepository.save(item);
+            MenuItem saved = menuItemRepository.save(item);
+            invalidationBus.publish(MenuQueryIndex.ITEMS, id);
+            eventPublisher.publishEvent(new MenuChangedEvent(id));
+            return saved;
         }
         return null;
     }
 
+    // Mark items in or out of stock with one single-column update (admin function); returns the ids that exist
+    @Transactional
+    public List<Long> setAvailability(Collection<Long> ids, boolean available) {
+        List<Long> existing = menuItemRepository.findExistingIds(ids);
+        if (!existing.isEmpty() && menuItemRepository.updateAvailability(existing, available) > 0) {
+            invalidationBus.publish(MenuQueryIndex.AVAILABILITY, existing);
+            eventPublisher.publishEvent(new MenuAvailabilityChangedEvent(existing));
+        }
+        return existing;
+    }
+
     // Delete menu item (admin function)
+    @Transactional
     public boolean deleteMenuItem(Long id) {
         if (menuItemRepository.existsById(id)) {
             menuItemRepository.deleteById(id);
+            invalidationBus.publish(MenuQueryIndex.ITEMS, id);
+            eventPublisher.publishEvent(new MenuChangedEvent(id));
             return true;
         }
         return false;
     }
 
     // Get all categories (fixed for compatibility)
+    @Transactional(readOnly = true)
     public List<String> getAllCategories() {
         return menuItemRepository.findAll()
                 .stream()
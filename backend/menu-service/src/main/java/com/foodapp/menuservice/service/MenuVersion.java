@@ -0,0 +1,89 @@
+package com.foodapp.menuservice.service;
+
+import com.foodapp.menuservice.invalidation.CacheInvalidationBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the menu, advanced once a change is visible to queries. Clients poll it cheaply
+ * or park on {@link #changedAfter} (long-poll) to pick up sold-out items without reloading the menu.
+ *
+ * <p>With the {@link CacheInvalidationBus} enabled the version is the {@code cache_invalidation} id
+ * through which this instance has applied every change, so all instances report the same version for
+ * the same menu and a client can poll any of them. Without it the version is a local counter bumped by
+ * {@link MenuQueryIndex}, starting at the startup time so it never goes backwards across restarts.
+ */
+@Component
+public class MenuVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final Set<CompletableFuture<Long>> waiters = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @PostConstruct
+    public void init() {
+        if (invalidationBus.isEnabled()) {
+            // Runs after the bus has handed the same rows to MenuQueryIndex, so the index is already rebuilt
+            invalidationBus.onSettled(this::advanceTo);
+        } else {
+            version.set(System.currentTimeMillis());
+        }
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Called by {@link MenuQueryIndex} after a change became visible. Only moves the local counter;
+     * with the bus enabled the version advances when the change's changelog row settles.
+     */
+    public long bump() {
+        return invalidationBus.isEnabled() ? version.get() : advanceTo(version.get() + 1);
+    }
+
+    private long advanceTo(long target) {
+        long previous = version.getAndAccumulate(target, Math::max);
+        if (target <= previous) {
+            return previous;
+        }
+        for (CompletableFuture<Long> waiter : waiters) {
+            if (waiters.remove(waiter)) {
+                waiter.complete(target);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Completes with the current version once it is above {@code since}; right away if it already is.
+     * Callers that give up waiting must call {@link #cancel}.
+     */
+    public CompletableFuture<Long> changedAfter(long since) {
+        long now = version.get();
+        if (now > since) {
+            return CompletableFuture.completedFuture(now);
+        }
+        CompletableFuture<Long> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        // A bump between the first read and registering would otherwise be missed
+        now = version.get();
+        if (now > since && waiters.remove(waiter)) {
+            waiter.complete(now);
+        }
+        return waiter;
+    }
+
+    public void cancel(CompletableFuture<Long> waiter) {
+        waiters.remove(waiter);
+    }
+}
@@ -0,0 +1,14 @@
+-- Baseline schema for menu_service_db, taken from menu_service_db_menu_items.sql.
+-- Databases that were created by ddl-auto=update are baselined at this version
+-- (spring.flyway.baseline-on-migrate) so this script only runs on empty schemas.
+
+CREATE TABLE IF NOT EXISTS `menu_items` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `name` varchar(255) NOT NULL,
+  `description` text,
+  `price` double NOT NULL,
+  `category` varchar(100) DEFAULT NULL,
+  `image_url` varchar(500) DEFAULT NULL,
+  `available` tinyint(1) NOT NULL DEFAULT '1',
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,2 @@
+-- MenuItemRepository.findByCategoryAndAvailable (GET /api/menu/items/category/{category})
+CREATE INDEX `idx_menu_items_category_available` ON `menu_items` (`category`, `available`);
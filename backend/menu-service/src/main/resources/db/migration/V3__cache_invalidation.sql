@@ -0,0 +1,14 @@
+-- Cluster-wide cache invalidation: every menu write inserts a row here inside the transaction that makes
+-- the write (CacheInvalidationRepository.append), so the row commits or rolls back with it, and each
+-- menu-service instance polls for rows past the last id it has seen (CacheInvalidationBus).
+-- Rows are only needed for a few minutes and are pruned by age.
+
+CREATE TABLE `cache_invalidation` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `cache_name` varchar(40) NOT NULL,
+  `entity_id` bigint NOT NULL,
+  `origin` varchar(64) NOT NULL,
+  `created_at` timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`id`),
+  KEY `idx_cache_invalidation_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
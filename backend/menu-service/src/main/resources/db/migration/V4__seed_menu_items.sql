@@ -0,0 +1,15 @@
+-- Sample menu for a new database, previously saved item by item by a startup runner after a count().
+-- One multi-row insert that only runs when menu_items is empty, as the runner did.
+
+INSERT INTO `menu_items` (`name`, `description`, `price`, `category`, `image_url`, `available`)
+SELECT * FROM (
+  SELECT 'Margherita Pizza' AS `name`, 'Classic pizza with tomatoes, mozzarella, and basil' AS `description`, 12.99 AS `price`, 'Pizza' AS `category`, 'https://example.com/margherita.jpg' AS `image_url`, 1 AS `available`
+  UNION ALL SELECT 'Pepperoni Pizza', 'Pizza with pepperoni and mozzarella cheese', 14.99, 'Pizza', 'https://example.com/pepperoni.jpg', 1
+  UNION ALL SELECT 'Chicken Burger', 'Grilled chicken burger with lettuce and tomato', 9.99, 'Burgers', 'https://example.com/chicken-burger.jpg', 1
+  UNION ALL SELECT 'Beef Burger', 'Juicy beef burger with cheese and pickles', 11.99, 'Burgers', 'https://example.com/beef-burger.jpg', 1
+  UNION ALL SELECT 'Caesar Salad', 'Fresh romaine lettuce with caesar dressing', 8.99, 'Salads', 'https://example.com/caesar-salad.jpg', 1
+  UNION ALL SELECT 'Greek Salad', 'Mixed greens with feta cheese and olives', 9.99, 'Salads', 'https://example.com/greek-salad.jpg', 1
+  UNION ALL SELECT 'Coca Cola', 'Refreshing cola drink', 2.99, 'Beverages', 'https://example.com/coke.jpg', 1
+  UNION ALL SELECT 'Fresh Orange Juice', 'Freshly squeezed orange juice', 3.99, 'Beverages', 'https://example.com/orange-juice.jpg', 1
+) AS `seed`
+WHERE NOT EXISTS (SELECT 1 FROM `menu_items`);
@@ -0,0 +1,123 @@
+package com.foodapp.menuservice.service;
+
+import com.foodapp.menuservice.dto.MenuQuery;
+import com.foodapp.menuservice.dto.MenuQueryResult;
+import com.foodapp.menuservice.invalidation.CacheInvalidationBus;
+import com.foodapp.menuservice.model.MenuItem;
+import com.foodapp.menuservice.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MenuQueryIndexTest {
+
+    private MenuQueryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MenuItemRepository repository = mock(MenuItemRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                item(1L, "Burger", "Mains", 12.0, true),
+                item(2L, "Salad", "Starters", 6.5, true),
+                item(3L, "Soup", "Starters", 4.0, false),
+                item(4L, "Steak", "Mains", 25.0, true),
+                item(5L, "Fries", "Sides", 3.0, true),
+                item(6L, "Cake", null, 7.0, true)));
+
+        index = new MenuQueryIndex();
+        ReflectionTestUtils.setField(index, "menuItemRepository", repository);
+        ReflectionTestUtils.setField(index, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(index, "menuVersion", mock(MenuVersion.class));
+        ReflectionTestUtils.setField(index, "invalidationBus", mock(CacheInvalidationBus.class));
+        ReflectionTestUtils.setField(index, "priceBands", new double[] {20, 5, 10});
+        index.init();
+        index.rebuild();
+    }
+
+    @Test
+    void countsFacetsOverTheWholeMenu() {
+        MenuQueryResult result = index.query(new MenuQuery());
+
+        assertThat(result.getTotal()).isEqualTo(6);
+        // Items without a category are matched but not counted under any category
+        assertThat(result.getCategoryCounts()).containsExactly(
+                entry("Mains", 2), entry("Sides", 1), entry("Starters", 2));
+        assertThat(result.getPriceBandCounts()).containsExactly(
+                entry("0-5", 2), entry("5-10", 2), entry("10-20", 1), entry("20+", 1));
+    }
+
+    @Test
+    void eachFacetIgnoresItsOwnFilter() {
+        MenuQuery query = new MenuQuery();
+        query.setCategories(List.of("Starters"));
+        query.setMaxPrice(10.0);
+        query.setAvailable(true);
+
+        MenuQueryResult result = index.query(query);
+
+        assertThat(names(result)).containsExactly("Salad");
+        // Categories are counted under the price and availability filters only
+        assertThat(result.getCategoryCounts()).containsOnly(
+                entry("Mains", 0), entry("Sides", 1), entry("Starters", 1));
+        // Price bands under the category and availability filters only
+        assertThat(result.getPriceBandCounts()).containsOnly(
+                entry("0-5", 0), entry("5-10", 1), entry("10-20", 0), entry("20+", 0));
+    }
+
+    @Test
+    void unknownCategoryMatchesNothing() {
+        MenuQuery query = new MenuQuery();
+        query.setCategories(List.of("Drinks"));
+
+        MenuQueryResult result = index.query(query);
+
+        assertThat(result.getTotal()).isZero();
+        assertThat(result.getCategoryCounts()).containsEntry("Mains", 2);
+        assertThat(sum(result.getPriceBandCounts())).isZero();
+    }
+
+    @Test
+    void pagesInSortOrder() {
+        MenuQuery query = new MenuQuery();
+        query.setSort(MenuQuery.Sort.PRICE_DESC);
+        query.setSize(2);
+        query.setPage(1);
+
+        MenuQueryResult result = index.query(query);
+
+        assertThat(result.getTotal()).isEqualTo(6);
+        assertThat(names(result)).containsExactly("Cake", "Salad");
+    }
+
+    @Test
+    void textMatchesNameCaseInsensitively() {
+        MenuQuery query = new MenuQuery();
+        query.setText("  sTEAK ");
+
+        assertThat(names(index.query(query))).containsExactly("Steak");
+    }
+
+    private static MenuItem item(Long id, String name, String category, double price, boolean available) {
+        MenuItem item = new MenuItem(name, name + " of the day", price, category, null, available);
+        item.setId(id);
+        return item;
+    }
+
+    private static List<String> names(MenuQueryResult result) {
+        return result.getItems().stream().map(MenuItem::getName).collect(Collectors.toList());
+    }
+
+    private static int sum(Map<String, Integer> counts) {
+        return counts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,72 @@
+package com.foodapp.orderservice.bulkhead;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many requests of one endpoint group run at once. Up to {@code maxQueued} more wait
+ * (first come, first served) for at most {@code maxWaitMs}; anything beyond that is turned away
+ * immediately, so a burst of admin requests cannot pile up threads or connections.
+ *
+ * <p>Kept identical in order-service and user-service, with order-service holding the canonical copy:
+ * change it first, carry the change over and run {@code backend/check-shared-copies.sh}.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, long maxWaitMs) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * @return true if the caller got a slot and must call {@link #exit}
+     */
+    public boolean tryEnter() throws InterruptedException {
+        // A zero timeout still respects the fair queue, unlike tryAcquire()
+        if (permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            admitted.increment();
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                admitted.increment();
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public String getName() { return name; }
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public int getMaxQueued() { return maxQueued; }
+    public int getActive() { return maxConcurrent - permits.availablePermits(); }
+    public int getQueued() { return queued.get(); }
+    public long getAdmitted() { return admitted.sum(); }
+    public long getRejected() { return rejected.sum(); }
+}
@@ -0,0 +1,141 @@
+package com.foodapp.orderservice.bulkhead;
+
+import com.foodapp.orderservice.config.BulkheadProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs requests matching a {@code app.bulkhead.groups} route inside that group's {@link Bulkhead},
+ * answering 503 with Retry-After when it is full. Streaming responses keep their slot until the
+ * async request completes.
+ *
+ * <p>Kept identical in order-service and user-service, with order-service holding the canonical copy:
+ * change it first, carry the change over and run {@code backend/check-shared-copies.sh}.
+ */
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Route> routes = new ArrayList<>();
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    @Autowired
+    private BulkheadProperties properties;
+
+    @PostConstruct
+    public void init() {
+        properties.getGroups().forEach((name, group) -> {
+            Bulkhead bulkhead = new Bulkhead(name, group.getMaxConcurrent(), group.getMaxQueued(), group.getMaxWaitMs());
+            bulkheads.put(name, bulkhead);
+            for (String route : group.getRoutes()) {
+                String[] parts = route.trim().split("\\s+", 2);
+                routes.add(parts.length == 2 ? new Route(parts[0], parts[1], bulkhead) : new Route(null, parts[0], bulkhead));
+            }
+        });
+    }
+
+    public Collection<Bulkhead> getBulkheads() {
+        return bulkheads.values();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = properties.isEnabled() ? match(request) : null;
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Too many " + bulkhead.getName() + " requests in progress, please retry\"}");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(bulkhead, released));
+            } else if (released.compareAndSet(false, true)) {
+                bulkhead.exit();
+            }
+        }
+    }
+
+    private Bulkhead match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : routes) {
+            if ((route.method == null || route.method.equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.pattern, path)) {
+                return route.bulkhead;
+            }
+        }
+        return null;
+    }
+
+    private static final class Route {
+        private final String method;
+        private final String pattern;
+        private final Bulkhead bulkhead;
+
+        private Route(String method, String pattern, Bulkhead bulkhead) {
+            this.method = method;
+            this.pattern = pattern;
+            this.bulkhead = bulkhead;
+        }
+    }
+
+    private static final class ReleasingListener implements AsyncListener {
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released;
+
+        private ReleasingListener(Bulkhead bulkhead, AtomicBoolean released) {
+            this.bulkhead = bulkhead;
+            this.released = released;
+        }
+
+        // Timeouts and errors still end in onComplete, once the response is really finished
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.exit();
+            }
+        }
+
+        @Override public void onTimeout(AsyncEvent event) { }
+        @Override public void onError(AsyncEvent event) { }
+        @Override public void onStartAsync(AsyncEvent event) { }
+    }
+}
@@ -0,0 +1,87 @@
+package com.foodapp.orderservice.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodapp.orderservice.logging.CorrelationIdFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Looks up menu item names and categories in menu-service ({@code GET /api/menu/items/batch}).
+ * Calls carry the current request's {@code X-Request-Id}, so both services log them under one id.
+ */
+@Component
+public class MenuCatalogClient {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuCatalogClient.class);
+
+    private final RestTemplate restTemplate;
+    private final String menuServiceUrl;
+
+    public MenuCatalogClient(RestTemplateBuilder builder,
+                             @Value("${app.menu-service.url:http://localhost:8082}") String menuServiceUrl,
+                             @Value("${app.menu-service.timeout-ms:2000}") long timeoutMs) {
+        this.restTemplate = builder
+                .setConnectTimeout(Duration.ofMillis(timeoutMs))
+                .setReadTimeout(Duration.ofMillis(timeoutMs))
+                .additionalInterceptors((request, body, execution) -> {
+                    String requestId = MDC.get(CorrelationIdFilter.MDC_KEY);
+                    if (requestId != null) {
+                        request.getHeaders().set(CorrelationIdFilter.HEADER, requestId);
+                    }
+                    return execution.execute(request, body);
+                })
+                .build();
+        this.menuServiceUrl = menuServiceUrl;
+    }
+
+    /**
+     * @return name and category per menu item id (unknown ids are left out), or empty if
+     *         menu-service could not be reached
+     */
+    public Optional<Map<Long, MenuItemInfo>> findByIds(Collection<Long> ids) {
+        Map<Long, MenuItemInfo> found = new HashMap<>();
+        if (ids.isEmpty()) {
+            return Optional.of(found);
+        }
+        String idList = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            JsonNode items = restTemplate.getForObject(menuServiceUrl + "/api/menu/items/batch?ids=" + idList, JsonNode.class);
+            if (items != null) {
+                for (JsonNode item : items) {
+                    found.put(item.path("id").asLong(),
+                            new MenuItemInfo(item.path("name").asText(null), item.path("category").asText(null)));
+                }
+            }
+            return Optional.of(found);
+        } catch (RestClientException e) {
+            log.warn("Menu item lookup failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public static class MenuItemInfo {
+        private final String name;
+        private final String category;
+
+        public MenuItemInfo(String name, String category) {
+            this.name = name;
+            this.category = category;
+        }
+
+        public String getName() { return name; }
+        public String getCategory() { return category; }
+    }
+}
@@ -0,0 +1,72 @@
+package com.foodapp.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Admission control for {@code POST /api/orders}, driven by the live kitchen backlog
+ * (PENDING + ACCEPTED + PREPARING orders). Bound from {@code app.admission.*}.
+ */
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    /**
+     * What happens to an order that arrives while the backlog is at {@link #backlogLimit}.
+     */
+    public enum Mode {
+        // 429 with Retry-After
+        REJECT,
+        // Accepted as usual; the response carries the queue position and estimated wait
+        QUEUE,
+        // Accepted for the first pickup slot the kitchen is expected to reach
+        SCHEDULED_PICKUP
+    }
+
+    private boolean enabled = true;
+
+    private Mode mode = Mode.QUEUE;
+
+    // Backlog at which the mode kicks in
+    private int backlogLimit = 100;
+
+    // Backlog at which every mode rejects, so queued and scheduled orders cannot grow without bound
+    private int hardLimit = 300;
+
+    // Orders the kitchen completes per minute, used until enough transitions have been observed
+    private double fallbackThroughputPerMinute = 2.0;
+
+    private int pickupSlotMinutes = 15;
+
+    private int maxRetryAfterSeconds = 300;
+
+    private long throughputSampleIntervalMs = 15000;
+
+    // Counts are recomputed from the database this often to correct drift (lost events, other instances)
+    private long resyncIntervalMs = 300000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+
+    public int getBacklogLimit() { return backlogLimit; }
+    public void setBacklogLimit(int backlogLimit) { this.backlogLimit = backlogLimit; }
+
+    public int getHardLimit() { return hardLimit; }
+    public void setHardLimit(int hardLimit) { this.hardLimit = hardLimit; }
+
+    public double getFallbackThroughputPerMinute() { return fallbackThroughputPerMinute; }
+    public void setFallbackThroughputPerMinute(double fallbackThroughputPerMinute) { this.fallbackThroughputPerMinute = fallbackThroughputPerMinute; }
+
+    public int getPickupSlotMinutes() { return pickupSlotMinutes; }
+    public void setPickupSlotMinutes(int pickupSlotMinutes) { this.pickupSlotMinutes = pickupSlotMinutes; }
+
+    public int getMaxRetryAfterSeconds() { return maxRetryAfterSeconds; }
+    public void setMaxRetryAfterSeconds(int maxRetryAfterSeconds) { this.maxRetryAfterSeconds = maxRetryAfterSeconds; }
+
+    public long getThroughputSampleIntervalMs() { return throughputSampleIntervalMs; }
+    public void setThroughputSampleIntervalMs(long throughputSampleIntervalMs) { this.throughputSampleIntervalMs = throughputSampleIntervalMs; }
+
+    public long getResyncIntervalMs() { return resyncIntervalMs; }
+    public void setResyncIntervalMs(long resyncIntervalMs) { this.resyncIntervalMs = resyncIntervalMs; }
+}
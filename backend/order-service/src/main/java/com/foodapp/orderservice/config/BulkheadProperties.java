@@ -0,0 +1,48 @@
+package com.foodapp.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Concurrency limits for groups of endpoints, applied by {@link com.foodapp.orderservice.bulkhead.BulkheadFilter}.
+ * Bound from {@code app.bulkhead.*}. Requests that match no group are not limited.
+ */
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, Group> groups = new HashMap<>();
+
+    public static class Group {
+        // Requests of the group running at once; keep it below the connection pool size
+        private int maxConcurrent = 4;
+        // Requests waiting for a slot; beyond this they are rejected straight away
+        private int maxQueued = 8;
+        private long maxWaitMs = 2000;
+        // "GET /api/orders", "/api/orders/export" (any method); ant-style patterns
+        private List<String> routes = new ArrayList<>();
+
+        public int getMaxConcurrent() { return maxConcurrent; }
+        public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+
+        public int getMaxQueued() { return maxQueued; }
+        public void setMaxQueued(int maxQueued) { this.maxQueued = maxQueued; }
+
+        public long getMaxWaitMs() { return maxWaitMs; }
+        public void setMaxWaitMs(long maxWaitMs) { this.maxWaitMs = maxWaitMs; }
+
+        public List<String> getRoutes() { return routes; }
+        public void setRoutes(List<String> routes) { this.routes = routes; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Map<String, Group> getGroups() { return groups; }
+    public void setGroups(Map<String, Group> groups) { this.groups = groups; }
+}
@@ -0,0 +1,50 @@
+package com.foodapp.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the order outbox relay and the local append-only event log.
+ * Bound from {@code app.event-log.*}.
+ */
+@ConfigurationProperties(prefix = "app.event-log")
+public class EventLogProperties {
+
+    private boolean enabled = true;
+
+    // Directory holding the segment files and consumer offsets
+    private String dir = "./data/order-events";
+
+    // Size of each memory-mapped segment file; a new segment is started when the active one is full
+    private int segmentBytes = 64 * 1024 * 1024;
+
+    // Oldest closed segments are deleted once the log is larger than this or older than retentionHours
+    private long retentionBytes = 1024L * 1024 * 1024;
+
+    private long retentionHours = 168;
+
+    // How often and how much of the outbox is moved into the log
+    private long drainIntervalMs = 200;
+
+    private int drainBatchSize = 500;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getDir() { return dir; }
+    public void setDir(String dir) { this.dir = dir; }
+
+    public int getSegmentBytes() { return segmentBytes; }
+    public void setSegmentBytes(int segmentBytes) { this.segmentBytes = segmentBytes; }
+
+    public long getRetentionBytes() { return retentionBytes; }
+    public void setRetentionBytes(long retentionBytes) { this.retentionBytes = retentionBytes; }
+
+    public long getRetentionHours() { return retentionHours; }
+    public void setRetentionHours(long retentionHours) { this.retentionHours = retentionHours; }
+
+    public long getDrainIntervalMs() { return drainIntervalMs; }
+    public void setDrainIntervalMs(long drainIntervalMs) { this.drainIntervalMs = drainIntervalMs; }
+
+    public int getDrainBatchSize() { return drainBatchSize; }
+    public void setDrainBatchSize(int drainBatchSize) { this.drainBatchSize = drainBatchSize; }
+}
@@ -0,0 +1,45 @@
+package com.foodapp.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the asynchronous order intake queue ({@code POST /api/orders/intake}).
+ * Bound from {@code app.intake.*}.
+ */
+@ConfigurationProperties(prefix = "app.intake")
+public class IntakeProperties {
+
+    private boolean enabled = false;
+
+    // Directory of the durable intake journal; entries left here are replayed on startup
+    private String journalDir = "./data/order-intake";
+
+    private int journalSegmentEntries = 10000;
+
+    // Accepted but not yet committed orders; further submissions get 503 until the writer catches up
+    private int queueCapacity = 10000;
+
+    // Most orders committed in one transaction
+    private int batchSize = 200;
+
+    // How long PERSISTED/FAILED statuses stay in memory (older ones are looked up in the database)
+    private long statusRetentionMs = 900000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getJournalDir() { return journalDir; }
+    public void setJournalDir(String journalDir) { this.journalDir = journalDir; }
+
+    public int getJournalSegmentEntries() { return journalSegmentEntries; }
+    public void setJournalSegmentEntries(int journalSegmentEntries) { this.journalSegmentEntries = journalSegmentEntries; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public long getStatusRetentionMs() { return statusRetentionMs; }
+    public void setStatusRetentionMs(long statusRetentionMs) { this.statusRetentionMs = statusRetentionMs; }
+}
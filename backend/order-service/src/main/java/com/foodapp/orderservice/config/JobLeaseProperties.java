@@ -0,0 +1,39 @@
+package com.foodapp.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Database leases that keep background jobs to one node at a time, see
+ * {@link com.foodapp.orderservice.scheduling.LeasedJobScheduler}. Bound from {@code app.jobs.*}.
+ */
+@ConfigurationProperties(prefix = "app.jobs")
+public class JobLeaseProperties {
+
+    // When false every node runs every job, as on a single instance
+    private boolean leasesEnabled = true;
+
+    // Lease owner name of this node; generated when empty
+    private String instanceId;
+
+    // Lease taken for one job run, renewed every third of it while the job is still running
+    private long leaseMs = 60000;
+
+    // Lease of standing roles such as the SLA timer actions, renewed every leader-renew-interval-ms
+    private long leaderLeaseMs = 30000;
+    private long leaderRenewIntervalMs = 10000;
+
+    public boolean isLeasesEnabled() { return leasesEnabled; }
+    public void setLeasesEnabled(boolean leasesEnabled) { this.leasesEnabled = leasesEnabled; }
+
+    public String getInstanceId() { return instanceId; }
+    public void setInstanceId(String instanceId) { this.instanceId = instanceId; }
+
+    public long getLeaseMs() { return leaseMs; }
+    public void setLeaseMs(long leaseMs) { this.leaseMs = leaseMs; }
+
+    public long getLeaderLeaseMs() { return leaderLeaseMs; }
+    public void setLeaderLeaseMs(long leaderLeaseMs) { this.leaderLeaseMs = leaderLeaseMs; }
+
+    public long getLeaderRenewIntervalMs() { return leaderRenewIntervalMs; }
+    public void setLeaderRenewIntervalMs(long leaderRenewIntervalMs) { this.leaderRenewIntervalMs = leaderRenewIntervalMs; }
+}
@@ -0,0 +1,9 @@
+package com.foodapp.orderservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({EventLogProperties.class, IntakeProperties.class, AdmissionProperties.class, SlaProperties.class})
+public class OrderPipelineConfig {
+}
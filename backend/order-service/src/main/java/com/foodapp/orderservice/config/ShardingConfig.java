@@ -0,0 +1,84 @@
+package com.foodapp.orderservice.config;
+
+import com.foodapp.orderservice.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with one pool per order shard when
+ * {@code app.sharding.enabled=true}. Each shard connection generates ids with
+ * {@code auto_increment_offset = shard + 1} and {@code auto_increment_increment = idStride},
+ * so ids stay unique across shards and encode the shard that created them.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    public ShardingConfig(@Value("${app.datasource.read-replicas.enabled:false}") boolean readReplicasEnabled) {
+        if (readReplicasEnabled) {
+            throw new IllegalStateException("app.sharding and app.datasource.read-replicas cannot be enabled together");
+        }
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                         ShardingProperties shardingProperties) {
+        List<String> urls = new ArrayList<>();
+        urls.add(dataSourceProperties.determineUrl());
+        urls.addAll(shardingProperties.getAdditionalUrls());
+        if (urls.size() > shardingProperties.getIdStride()) {
+            throw new IllegalStateException("More shards than app.sharding.id-stride allows: " + urls.size());
+        }
+
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.getDriverClassName())
+                    .url(urls.get(i))
+                    .username(shardingProperties.getUsername() != null ? shardingProperties.getUsername() : dataSourceProperties.getUsername())
+                    .password(shardingProperties.getPassword() != null ? shardingProperties.getPassword() : dataSourceProperties.getPassword())
+                    .build();
+            shard.setPoolName("shard-" + i);
+            shard.setConnectionInitSql("SET SESSION auto_increment_increment = " + shardingProperties.getIdStride()
+                    + ", auto_increment_offset = " + (i + 1));
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    // Flyway only sees the primary DataSource (shard 0), so apply the same migrations to every shard
+    @Bean
+    public FlywayMigrationStrategy shardedMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource) {
+        return flyway -> {
+            for (int i = 0; i < shardRoutingDataSource.getShardCount(); i++) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shardRoutingDataSource.getShard(i))
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+}
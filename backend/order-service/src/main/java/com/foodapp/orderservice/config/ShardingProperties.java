@@ -0,0 +1,47 @@
+package com.foodapp.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for splitting orders across several MySQL databases by user id.
+ * Bound from {@code app.sharding.*}. Shard 0 is always {@code spring.datasource.url}.
+ */
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    // JDBC urls of shards 1..N-1; append new shards at the end and run the rebalancer
+    private List<String> additionalUrls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    // Auto-increment step shared by all shards; ids are generated as shard + 1 + k * idStride
+    private int idStride = 64;
+
+    // Threads used to query shards concurrently for scatter-gather reads
+    private int scatterThreads = 4;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getAdditionalUrls() { return additionalUrls; }
+    public void setAdditionalUrls(List<String> additionalUrls) { this.additionalUrls = additionalUrls; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public int getIdStride() { return idStride; }
+    public void setIdStride(int idStride) { this.idStride = idStride; }
+
+    public int getScatterThreads() { return scatterThreads; }
+    public void setScatterThreads(int scatterThreads) { this.scatterThreads = scatterThreads; }
+}
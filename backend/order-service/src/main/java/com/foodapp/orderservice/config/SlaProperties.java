@@ -0,0 +1,44 @@
+package com.foodapp.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Order deadlines tracked by {@link com.foodapp.orderservice.service.OrderSlaMonitor}.
+ * Bound from {@code app.sla.*}.
+ */
+@ConfigurationProperties(prefix = "app.sla")
+public class SlaProperties {
+
+    private boolean enabled = true;
+
+    // PENDING orders nobody accepted within this many minutes of being placed are rejected
+    private int pendingTimeoutMinutes = 15;
+
+    // Accepted orders not READY this many minutes after being placed raise an ORDER_SLA_BREACHED event
+    private int readyTargetMinutes = 45;
+
+    // Timer resolution and buckets per wheel level
+    private long tickMs = 1000;
+    private int wheelSize = 64;
+
+    // How often the node holding the order-sla role re-reads the live orders, picking up ones changed on other nodes
+    private long reconcileIntervalMs = 60000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getPendingTimeoutMinutes() { return pendingTimeoutMinutes; }
+    public void setPendingTimeoutMinutes(int pendingTimeoutMinutes) { this.pendingTimeoutMinutes = pendingTimeoutMinutes; }
+
+    public int getReadyTargetMinutes() { return readyTargetMinutes; }
+    public void setReadyTargetMinutes(int readyTargetMinutes) { this.readyTargetMinutes = readyTargetMinutes; }
+
+    public long getTickMs() { return tickMs; }
+    public void setTickMs(long tickMs) { this.tickMs = tickMs; }
+
+    public int getWheelSize() { return wheelSize; }
+    public void setWheelSize(int wheelSize) { this.wheelSize = wheelSize; }
+
+    public long getReconcileIntervalMs() { return reconcileIntervalMs; }
+    public void setReconcileIntervalMs(long reconcileIntervalMs) { this.reconcileIntervalMs = reconcileIntervalMs; }
+}
@@ -0,0 +1,28 @@
+package com.foodapp.orderservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops the service as soon as it is ready when {@code app.startup.training-run=true}. The fast-startup
+ * build (mvn -Pfast-startup package) starts the service this way to record the classes a full startup
+ * loads into an AppCDS archive; Spring Framework 6.1's {@code spring.context.exit=onRefresh} plays the
+ * same part for the Spring Boot 3 services.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.startup", name = "training-run", havingValue = "true")
+public class StartupTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTrainingRun.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Training run finished, exiting");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
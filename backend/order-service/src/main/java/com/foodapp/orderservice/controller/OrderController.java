@@ -1,42 +1,258 @@
 package com.foodapp.orderservice.controller;
 
+import com.foodapp.orderservice.bulkhead.Bulkhead;
+import com.foodapp.orderservice.bulkhead.BulkheadFilter;
+import com.foodapp.orderservice.dto.AdmissionDecision;
+import com.foodapp.orderservice.dto.IntakeStatus;
+import com.foodapp.orderservice.dto.KitchenBacklogView;
+import com.foodapp.orderservice.dto.KitchenQueuePage;
+import com.foodapp.orderservice.dto.OrderSummary;
+import com.foodapp.orderservice.export.ExportFormat;
 import com.foodapp.orderservice.model.Order;
 import com.foodapp.orderservice.model.OrderStatus;
+import com.foodapp.orderservice.ratelimit.RateLimiters;
+import com.foodapp.orderservice.scheduling.LeasedJobScheduler;
+import com.foodapp.orderservice.service.OrderAdmissionService;
+import com.foodapp.orderservice.service.OrderExportService;
+import com.foodapp.orderservice.service.OrderIdempotencyService;
+import com.foodapp.orderservice.service.OrderIntakeService;
 import com.foodapp.orderservice.service.OrderService;
+import com.foodapp.orderservice.service.OrderSlaMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/orders")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000",
+        exposedHeaders = {HttpHeaders.RETRY_AFTER, OrderController.QUEUE_POSITION_HEADER, OrderController.ESTIMATED_WAIT_HEADER,
+                OrderController.IDEMPOTENT_REPLAY_HEADER})
 public class OrderController {
 
+    static final String QUEUE_POSITION_HEADER = "X-Queue-Position";
+    static final String ESTIMATED_WAIT_HEADER = "X-Estimated-Wait-Seconds";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+
     @Autowired
     private OrderService orderService;
 
+    @Lazy
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private OrderAdmissionService orderAdmissionService;
+
+    @Autowired
+    private OrderSlaMonitor orderSlaMonitor;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private RateLimiters rateLimiters;
+
+    @Autowired
+    private BulkheadFilter bulkheadFilter;
+
+    @Autowired
+    private LeasedJobScheduler leasedJobs;
+
+    // 429 with Retry-After when the kitchen is overloaded; otherwise the order, with its queue position in headers.
+    // Retries carrying the same Idempotency-Key get the original order back instead of a duplicate.
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody Order order) {
+    public ResponseEntity<?> createOrder(@RequestBody Order order,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                         HttpServletRequest request) {
+        long retryAfter = checkOrderRateLimits(order, request);
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .build();
+        }
+
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > OrderIdempotencyService.MAX_KEY_LENGTH
+                    || order.getUserId() == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            Optional<Order> replay = orderIdempotencyService.findRecent(order.getUserId(), idempotencyKey);
+            if (replay.isPresent()) {
+                return ResponseEntity.ok().header(IDEMPOTENT_REPLAY_HEADER, "true").body(replay.get());
+            }
+        }
+
+        AdmissionDecision admission = orderAdmissionService.admit();
+        if (admission.isRejected()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfterSeconds()))
+                    .body(admission);
+        }
         try {
-            Order createdOrder = orderService.createOrder(order);
-            return ResponseEntity.ok(createdOrder);
+            if (admission.getScheduledFor() != null) {
+                order.setScheduledFor(admission.getScheduledFor());
+            }
+            if (idempotencyKey != null) {
+                order.setIdempotencyKey(idempotencyKey);
+                OrderIdempotencyService.Result result = orderIdempotencyService.createOnce(
+                        order.getUserId(), idempotencyKey, () -> orderService.createOrder(order));
+                if (result.isReplayed()) {
+                    return ResponseEntity.ok().header(IDEMPOTENT_REPLAY_HEADER, "true").body(result.getOrder());
+                }
+                return admitted(admission, result.getOrder());
+            }
+            return admitted(admission, orderService.createOrder(order));
+        } catch (OrderIdempotencyService.StillRunningException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
+        } finally {
+            orderAdmissionService.release(admission);
         }
     }
 
+    // Live per-status counts and the admission settings they are checked against
+    @GetMapping("/backlog")
+    public ResponseEntity<KitchenBacklogView> getBacklog() {
+        return ResponseEntity.ok(orderAdmissionService.getBacklog());
+    }
+
+    // Peak-time intake: the order is journaled and queued, then committed in a batch; poll the status URL
+    @PostMapping("/intake")
+    public ResponseEntity<?> submitOrder(@RequestBody Order order, HttpServletRequest request) {
+        if (!orderIntakeService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        long retryAfter = checkOrderRateLimits(order, request);
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .build();
+        }
+
+        // Same kitchen backlog check as POST /api/orders, before the order is journaled
+        AdmissionDecision admission = orderAdmissionService.admit();
+        if (admission.isRejected()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfterSeconds()))
+                    .body(admission);
+        }
+        try {
+            if (admission.getScheduledFor() != null) {
+                order.setScheduledFor(admission.getScheduledFor());
+            }
+            IntakeStatus status = orderIntakeService.submit(order);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/orders/intake/" + status.getIntakeId()))
+                    .header(QUEUE_POSITION_HEADER, String.valueOf(admission.getQueuePosition()))
+                    .header(ESTIMATED_WAIT_HEADER, String.valueOf(admission.getEstimatedWaitSeconds()))
+                    .body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            orderAdmissionService.release(admission);
+        }
+    }
+
+    // Sheds floods per client ip and per user before any other work; seconds to wait, or 0
+    private long checkOrderRateLimits(Order order, HttpServletRequest request) {
+        long retryAfter = rateLimiters.check("create-order-ip", rateLimiters.clientIp(request));
+        if (retryAfter == 0 && order.getUserId() != null) {
+            retryAfter = rateLimiters.check("create-order-user", String.valueOf(order.getUserId()));
+        }
+        return retryAfter;
+    }
+
+    private static ResponseEntity<Order> admitted(AdmissionDecision admission, Order order) {
+        return ResponseEntity.ok()
+                .header(QUEUE_POSITION_HEADER, String.valueOf(admission.getQueuePosition()))
+                .header(ESTIMATED_WAIT_HEADER, String.valueOf(admission.getEstimatedWaitSeconds()))
+                .body(order);
+    }
+
+    @GetMapping("/intake/{intakeId}")
+    public ResponseEntity<IntakeStatus> getIntakeStatus(@PathVariable String intakeId) {
+        return orderIntakeService.getStatus(intakeId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // List view: summary rows only, use GET /{id} for the full order with items
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
+    public ResponseEntity<List<OrderSummary>> getAllOrders() {
+        List<OrderSummary> orders = orderService.getAllOrderSummaries();
         return ResponseEntity.ok(orders);
     }
 
+    // What to cook next: live orders in one status, oldest first, without touching historical orders
+    @GetMapping("/queue")
+    public ResponseEntity<KitchenQueuePage> getKitchenQueue(
+            @RequestParam(defaultValue = "PENDING") OrderStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > 500) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(orderService.getKitchenQueue(status, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Accepted orders still not ready past the SLA target, oldest first
+    @GetMapping("/sla/breaches")
+    public ResponseEntity<List<OrderSummary>> getSlaBreaches() {
+        return ResponseEntity.ok(orderSlaMonitor.getBreaches());
+    }
+
+    // Load on the admin endpoint bulkheads (active, queued, rejected per group)
+    @GetMapping("/bulkheads")
+    public ResponseEntity<Collection<Bulkhead>> getBulkheads() {
+        return ResponseEntity.ok(bulkheadFilter.getBulkheads());
+    }
+
+    // Leased background jobs as seen from this node: run counts, durations and the roles it holds
+    @GetMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> getJobs() {
+        return ResponseEntity.ok(Map.of(
+                "owner", leasedJobs.getOwner(),
+                "jobs", leasedJobs.getStats(),
+                "leaderRoles", leasedJobs.getLeaderRoles()));
+    }
+
+    // Summary rows by default; includeItems=true returns orders with their items and menu item names
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUserId(@PathVariable Long userId) {
-        List<Order> orders = orderService.getOrdersByUserId(userId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<?>> getOrdersByUserId(@PathVariable Long userId,
+                                                     @RequestParam(defaultValue = "false") boolean includeItems) {
+        if (includeItems) {
+            return ResponseEntity.ok(orderService.getOrderHistoryByUserId(userId));
+        }
+        return ResponseEntity.ok(orderService.getOrderSummariesByUserId(userId));
     }
 
     @PutMapping("/{orderId}/status")
@@ -52,6 +268,29 @@ public class OrderController {
         }
     }
 
+    // Streams orders placed between from (inclusive) and to (exclusive) as json, ndjson or csv
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate start = from != null ? from : end.minusYears(1);
+
+        StreamingResponseBody body = out -> orderExportService.exportOrders(
+                out, exportFormat, start.atStartOfDay(), end.atStartOfDay());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
         try {
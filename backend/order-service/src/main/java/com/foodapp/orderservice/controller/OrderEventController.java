@@ -0,0 +1,95 @@
+package com.foodapp.orderservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodapp.orderservice.eventlog.ConsumerOffsetStore;
+import com.foodapp.orderservice.eventlog.EventRecord;
+import com.foodapp.orderservice.eventlog.OrderEventLog;
+import com.foodapp.orderservice.service.OrderOutboxRelay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/orders/events")
+@CrossOrigin(origins = "http://localhost:3000")
+public class OrderEventController {
+
+    private static final int MAX_BATCH = 1000;
+
+    @Autowired
+    private OrderEventLog orderEventLog;
+
+    @Autowired
+    private ConsumerOffsetStore consumerOffsetStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderOutboxRelay orderOutboxRelay;
+
+    // Replay events from an offset, or from a consumer's committed offset when only consumer is given.
+    // writer=false means another node relays new events; this node's log only has what it relayed before.
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> readEvents(@RequestParam(required = false) Long fromOffset,
+                                                          @RequestParam(required = false) String consumer,
+                                                          @RequestParam(defaultValue = "100") int limit) throws IOException {
+        if (!orderEventLog.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (consumer != null && !ConsumerOffsetStore.isValidName(consumer)) {
+            return ResponseEntity.badRequest().build();
+        }
+        long from = fromOffset != null ? fromOffset
+                : consumer != null ? consumerOffsetStore.get(consumer).orElse(orderEventLog.getStartOffset())
+                : orderEventLog.getStartOffset();
+
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (EventRecord record : orderEventLog.read(from, Math.max(1, Math.min(limit, MAX_BATCH)))) {
+            Map<String, Object> event = new HashMap<>();
+            event.put("offset", record.getOffset());
+            event.put("timestamp", record.getTimestamp());
+            event.put("event", objectMapper.readValue(record.getPayload(), JsonNode.class));
+            events.add(event);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("startOffset", orderEventLog.getStartOffset());
+        response.put("endOffset", orderEventLog.getEndOffset());
+        response.put("nextOffset", events.isEmpty() ? Math.max(from, orderEventLog.getStartOffset())
+                : (long) events.get(events.size() - 1).get("offset") + 1);
+        response.put("events", events);
+        response.put("writer", orderOutboxRelay.isWriter());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/consumers/{consumer}")
+    public ResponseEntity<Map<String, Object>> getConsumerOffset(@PathVariable String consumer) {
+        if (!ConsumerOffsetStore.isValidName(consumer)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return consumerOffsetStore.get(consumer)
+                .map(offset -> ResponseEntity.ok(Map.<String, Object>of("consumer", consumer, "offset", offset)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Commit the next offset a consumer wants to read
+    @PutMapping("/consumers/{consumer}")
+    public ResponseEntity<Map<String, Object>> commitConsumerOffset(@PathVariable String consumer,
+                                                                    @RequestBody Map<String, Long> request) {
+        Long offset = request.get("offset");
+        if (!ConsumerOffsetStore.isValidName(consumer) || offset == null || offset < 0
+                || offset > orderEventLog.getEndOffset()) {
+            return ResponseEntity.badRequest().build();
+        }
+        consumerOffsetStore.commit(consumer, offset);
+        return ResponseEntity.ok(Map.of("consumer", consumer, "offset", offset));
+    }
+}
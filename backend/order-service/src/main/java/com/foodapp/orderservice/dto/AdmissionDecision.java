@@ -0,0 +1,48 @@
+package com.foodapp.orderservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of admission control for a new order. QUEUED and SCHEDULED orders are stored as usual;
+ * only REJECTED ones are turned away, with {@code retryAfterSeconds} set.
+ */
+public class AdmissionDecision {
+
+    public enum Outcome { ADMITTED, QUEUED, SCHEDULED, REJECTED }
+
+    private Outcome outcome;
+    // Active orders in the kitchen, including this one once it is admitted
+    private long queuePosition;
+    private long estimatedWaitSeconds;
+    private LocalDateTime scheduledFor;
+    private long retryAfterSeconds;
+
+    // Default constructor
+    public AdmissionDecision() {}
+
+    public AdmissionDecision(Outcome outcome, long queuePosition, long estimatedWaitSeconds) {
+        this.outcome = outcome;
+        this.queuePosition = queuePosition;
+        this.estimatedWaitSeconds = estimatedWaitSeconds;
+    }
+
+    public boolean isRejected() {
+        return outcome == Outcome.REJECTED;
+    }
+
+    // Getters and Setters
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+
+    public long getQueuePosition() { return queuePosition; }
+    public void setQueuePosition(long queuePosition) { this.queuePosition = queuePosition; }
+
+    public long getEstimatedWaitSeconds() { return estimatedWaitSeconds; }
+    public void setEstimatedWaitSeconds(long estimatedWaitSeconds) { this.estimatedWaitSeconds = estimatedWaitSeconds; }
+
+    public LocalDateTime getScheduledFor() { return scheduledFor; }
+    public void setScheduledFor(LocalDateTime scheduledFor) { this.scheduledFor = scheduledFor; }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+    public void setRetryAfterSeconds(long retryAfterSeconds) { this.retryAfterSeconds = retryAfterSeconds; }
+}
@@ -0,0 +1,43 @@
+package com.foodapp.orderservice.dto;
+
+/**
+ * Progress of an order submitted through the intake queue: QUEUED until the writer commits it,
+ * then PERSISTED with its order id, or FAILED with the reason.
+ */
+public class IntakeStatus {
+
+    public enum State { QUEUED, PERSISTED, FAILED }
+
+    private String intakeId;
+    private State state;
+    private Long orderId;
+    private String error;
+    private long updatedAt;
+
+    // Default constructor
+    public IntakeStatus() {}
+
+    public IntakeStatus(String intakeId, State state, Long orderId, String error) {
+        this.intakeId = intakeId;
+        this.state = state;
+        this.orderId = orderId;
+        this.error = error;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    // Getters and Setters
+    public String getIntakeId() { return intakeId; }
+    public void setIntakeId(String intakeId) { this.intakeId = intakeId; }
+
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,69 @@
+package com.foodapp.orderservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Run counters of one leased background job on this node ({@code GET /api/orders/jobs}).
+ * Skipped runs are the ones where another node held the lease.
+ */
+public class JobStats {
+
+    private String name;
+    private long runs;
+    private long skipped;
+    private long failures;
+    private long leaseLost;
+    private long lastDurationMs;
+    private long maxDurationMs;
+    private long averageDurationMs;
+    private long lastFencingToken;
+    private LocalDateTime lastFinishedAt;
+
+    // Default constructor
+    public JobStats() {}
+
+    public JobStats(String name, long runs, long skipped, long failures, long leaseLost, long lastDurationMs,
+                    long maxDurationMs, long averageDurationMs, long lastFencingToken, LocalDateTime lastFinishedAt) {
+        this.name = name;
+        this.runs = runs;
+        this.skipped = skipped;
+        this.failures = failures;
+        this.leaseLost = leaseLost;
+        this.lastDurationMs = lastDurationMs;
+        this.maxDurationMs = maxDurationMs;
+        this.averageDurationMs = averageDurationMs;
+        this.lastFencingToken = lastFencingToken;
+        this.lastFinishedAt = lastFinishedAt;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getRuns() { return runs; }
+    public void setRuns(long runs) { this.runs = runs; }
+
+    public long getSkipped() { return skipped; }
+    public void setSkipped(long skipped) { this.skipped = skipped; }
+
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+
+    public long getLeaseLost() { return leaseLost; }
+    public void setLeaseLost(long leaseLost) { this.leaseLost = leaseLost; }
+
+    public long getLastDurationMs() { return lastDurationMs; }
+    public void setLastDurationMs(long lastDurationMs) { this.lastDurationMs = lastDurationMs; }
+
+    public long getMaxDurationMs() { return maxDurationMs; }
+    public void setMaxDurationMs(long maxDurationMs) { this.maxDurationMs = maxDurationMs; }
+
+    public long getAverageDurationMs() { return averageDurationMs; }
+    public void setAverageDurationMs(long averageDurationMs) { this.averageDurationMs = averageDurationMs; }
+
+    public long getLastFencingToken() { return lastFencingToken; }
+    public void setLastFencingToken(long lastFencingToken) { this.lastFencingToken = lastFencingToken; }
+
+    public LocalDateTime getLastFinishedAt() { return lastFinishedAt; }
+    public void setLastFinishedAt(LocalDateTime lastFinishedAt) { this.lastFinishedAt = lastFinishedAt; }
+}
@@ -0,0 +1,40 @@
+package com.foodapp.orderservice.dto;
+
+import com.foodapp.orderservice.model.OrderStatus;
+
+import java.util.Map;
+
+/**
+ * Kitchen load as seen by admission control ({@code GET /api/orders/backlog}).
+ */
+public class KitchenBacklogView {
+
+    private Map<OrderStatus, Long> counts;
+    private long active;
+    private double throughputPerMinute;
+    private String mode;
+    private int backlogLimit;
+    private int hardLimit;
+
+    // Default constructor
+    public KitchenBacklogView() {}
+
+    // Getters and Setters
+    public Map<OrderStatus, Long> getCounts() { return counts; }
+    public void setCounts(Map<OrderStatus, Long> counts) { this.counts = counts; }
+
+    public long getActive() { return active; }
+    public void setActive(long active) { this.active = active; }
+
+    public double getThroughputPerMinute() { return throughputPerMinute; }
+    public void setThroughputPerMinute(double throughputPerMinute) { this.throughputPerMinute = throughputPerMinute; }
+
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public int getBacklogLimit() { return backlogLimit; }
+    public void setBacklogLimit(int backlogLimit) { this.backlogLimit = backlogLimit; }
+
+    public int getHardLimit() { return hardLimit; }
+    public void setHardLimit(int hardLimit) { this.hardLimit = hardLimit; }
+}
@@ -0,0 +1,44 @@
+package com.foodapp.orderservice.dto;
+
+import com.foodapp.orderservice.model.OrderStatus;
+
+import java.util.List;
+
+/**
+ * One page of a kitchen queue ({@code GET /api/orders/queue}), oldest order first.
+ */
+public class KitchenQueuePage {
+
+    private OrderStatus status;
+    private int page;
+    private int size;
+    private long total;
+    private List<OrderSummary> orders;
+
+    // Default constructor
+    public KitchenQueuePage() {}
+
+    public KitchenQueuePage(OrderStatus status, int page, int size, long total, List<OrderSummary> orders) {
+        this.status = status;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.orders = orders;
+    }
+
+    // Getters and Setters
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public List<OrderSummary> getOrders() { return orders; }
+    public void setOrders(List<OrderSummary> orders) { this.orders = orders; }
+}
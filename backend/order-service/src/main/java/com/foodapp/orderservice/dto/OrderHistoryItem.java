@@ -0,0 +1,40 @@
+package com.foodapp.orderservice.dto;
+
+/**
+ * Line of an {@link OrderHistoryView}; name and category are copied from menu-service when the
+ * order is first projected and are not changed by later menu edits.
+ */
+public class OrderHistoryItem {
+    private Long menuItemId;
+    private String menuItemName;
+    private String category;
+    private Integer quantity;
+    private Double price;
+
+    // Default constructor
+    public OrderHistoryItem() {}
+
+    public OrderHistoryItem(Long menuItemId, String menuItemName, String category, Integer quantity, Double price) {
+        this.menuItemId = menuItemId;
+        this.menuItemName = menuItemName;
+        this.category = category;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    // Getters and Setters
+    public Long getMenuItemId() { return menuItemId; }
+    public void setMenuItemId(Long menuItemId) { this.menuItemId = menuItemId; }
+
+    public String getMenuItemName() { return menuItemName; }
+    public void setMenuItemName(String menuItemName) { this.menuItemName = menuItemName; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+}
@@ -0,0 +1,50 @@
+package com.foodapp.orderservice.dto;
+
+import com.foodapp.orderservice.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order as stored in the {@code order_history} read model: the order row plus its items with
+ * their menu names, read back in one query.
+ */
+public class OrderHistoryView {
+    private Long id;
+    private Long userId;
+    private Double totalAmount;
+    private OrderStatus status;
+    private LocalDateTime orderDate;
+    private String deliveryAddress;
+    private int itemCount;
+    private List<OrderHistoryItem> orderItems = new ArrayList<>();
+
+    // Default constructor
+    public OrderHistoryView() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Double getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Double totalAmount) { this.totalAmount = totalAmount; }
+
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
+
+    public String getDeliveryAddress() { return deliveryAddress; }
+    public void setDeliveryAddress(String deliveryAddress) { this.deliveryAddress = deliveryAddress; }
+
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+
+    public List<OrderHistoryItem> getOrderItems() { return orderItems; }
+    public void setOrderItems(List<OrderHistoryItem> orderItems) { this.orderItems = orderItems; }
+}
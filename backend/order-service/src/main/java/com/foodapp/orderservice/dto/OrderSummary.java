@@ -0,0 +1,56 @@
+package com.foodapp.orderservice.dto;
+
+import com.foodapp.orderservice.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for order list screens, selected directly by JPQL.
+ * Carries the item count instead of the items themselves.
+ */
+public class OrderSummary {
+    private Long id;
+    private Long userId;
+    private Double totalAmount;
+    private OrderStatus status;
+    private LocalDateTime orderDate;
+    private String deliveryAddress;
+    private int itemCount;
+
+    // Default constructor
+    public OrderSummary() {}
+
+    // Constructor used by JPQL "SELECT new" projections
+    public OrderSummary(Long id, Long userId, Double totalAmount, OrderStatus status,
+                        LocalDateTime orderDate, String deliveryAddress, Long itemCount) {
+        this.id = id;
+        this.userId = userId;
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.orderDate = orderDate;
+        this.deliveryAddress = deliveryAddress;
+        this.itemCount = itemCount != null ? itemCount.intValue() : 0;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Double getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(Double totalAmount) { this.totalAmount = totalAmount; }
+
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
+
+    public String getDeliveryAddress() { return deliveryAddress; }
+    public void setDeliveryAddress(String deliveryAddress) { this.deliveryAddress = deliveryAddress; }
+
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+}
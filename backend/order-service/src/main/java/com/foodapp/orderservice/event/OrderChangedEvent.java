@@ -0,0 +1,30 @@
+package com.foodapp.orderservice.event;
+
+import com.foodapp.orderservice.dto.OrderSummary;
+import com.foodapp.orderservice.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link com.foodapp.orderservice.service.OrderService} whenever an order is created or
+ * its status changes; listeners that act after commit see the new state in the write model.
+ */
+public class OrderChangedEvent {
+    // Snapshot of the order as committed
+    private final OrderSummary order;
+    // Null when the order was just created
+    private final OrderStatus previousStatus;
+
+    public OrderChangedEvent(OrderSummary order, OrderStatus previousStatus) {
+        this.order = order;
+        this.previousStatus = previousStatus;
+    }
+
+    public OrderSummary getOrder() { return order; }
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+
+    public Long getOrderId() { return order.getId(); }
+    public Long getUserId() { return order.getUserId(); }
+    public OrderStatus getStatus() { return order.getStatus(); }
+    public LocalDateTime getOrderDate() { return order.getOrderDate(); }
+}
@@ -0,0 +1,71 @@
+package com.foodapp.orderservice.eventlog;
+
+import com.foodapp.orderservice.config.EventLogProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Committed read positions of named event log consumers, kept in {@code offsets.properties}
+ * next to the segments. A committed offset is the next offset the consumer wants to read.
+ */
+@Component
+public class ConsumerOffsetStore {
+
+    private static final Pattern CONSUMER_NAME = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final Properties offsets = new Properties();
+
+    @Autowired
+    private EventLogProperties properties;
+
+    private Path file;
+
+    @PostConstruct
+    public void load() throws IOException {
+        file = Paths.get(properties.getDir(), "offsets.properties");
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                offsets.load(in);
+            }
+        }
+    }
+
+    public static boolean isValidName(String consumer) {
+        return consumer != null && CONSUMER_NAME.matcher(consumer).matches();
+    }
+
+    public synchronized Optional<Long> get(String consumer) {
+        String value = offsets.getProperty(consumer);
+        return value != null ? Optional.of(Long.parseLong(value)) : Optional.empty();
+    }
+
+    public synchronized void commit(String consumer, long offset) {
+        if (!isValidName(consumer)) {
+            throw new IllegalArgumentException("Invalid consumer name");
+        }
+        offsets.setProperty(consumer, Long.toString(offset));
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling("offsets.properties.tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                offsets.store(out, "Event log consumer offsets");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.foodapp.orderservice.eventlog;
+
+/**
+ * One entry of the {@link OrderEventLog}: its log offset, append time and the raw event bytes.
+ */
+public class EventRecord {
+    private final long offset;
+    private final long timestamp;
+    private final byte[] payload;
+
+    public EventRecord(long offset, long timestamp, byte[] payload) {
+        this.offset = offset;
+        this.timestamp = timestamp;
+        this.payload = payload;
+    }
+
+    public long getOffset() { return offset; }
+    public long getTimestamp() { return timestamp; }
+    public byte[] getPayload() { return payload; }
+}
@@ -0,0 +1,178 @@
+package com.foodapp.orderservice.eventlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+
+/**
+ * A fixed-size, memory-mapped segment file of the event log, named after the offset of its first record.
+ *
+ * <p>Record layout: {@code int length | int crc32(payload) | long offset | long timestamp | payload}.
+ * The file is zero-filled when created, so a zero length marks the end of the written part; on open
+ * the segment is scanned and stops at the first zero length or checksum mismatch (a torn write).
+ */
+class LogSegment {
+
+    static final int HEADER_BYTES = 4 + 4 + 8 + 8;
+
+    // Every INDEX_INTERVAL-th record's position is kept so reads don't scan from the segment start
+    private static final int INDEX_INTERVAL = 64;
+
+    private final Path file;
+    private final long baseOffset;
+    private final MappedByteBuffer buffer;
+    private final NavigableMap<Long, Integer> index = new ConcurrentSkipListMap<>();
+
+    // Published after each append; readers only look below it
+    private volatile int writePosition;
+    private volatile long nextOffset;
+    private volatile long lastTimestamp;
+
+    private LogSegment(Path file, long baseOffset, MappedByteBuffer buffer) {
+        this.file = file;
+        this.baseOffset = baseOffset;
+        this.buffer = buffer;
+        this.nextOffset = baseOffset;
+    }
+
+    static LogSegment create(Path dir, long baseOffset, int size) throws IOException {
+        Path file = dir.resolve(fileName(baseOffset));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new LogSegment(file, baseOffset, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    static LogSegment open(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        long baseOffset = Long.parseLong(name.substring(0, name.length() - ".log".length()));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            LogSegment segment = new LogSegment(file, baseOffset, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            segment.recover();
+            return segment;
+        }
+    }
+
+    static String fileName(long baseOffset) {
+        return String.format("%020d.log", baseOffset);
+    }
+
+    static int recordSize(byte[] payload) {
+        return HEADER_BYTES + payload.length;
+    }
+
+    long getBaseOffset() { return baseOffset; }
+    long getNextOffset() { return nextOffset; }
+    long getLastTimestamp() { return lastTimestamp; }
+    int getWritePosition() { return writePosition; }
+    Path getFile() { return file; }
+
+    boolean hasRoomFor(byte[] payload) {
+        return writePosition + recordSize(payload) + 4 <= buffer.capacity();
+    }
+
+    boolean isEmpty() {
+        return nextOffset == baseOffset;
+    }
+
+    // Callers serialize appends
+    long append(byte[] payload, long timestamp) {
+        long offset = nextOffset;
+        int position = writePosition;
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer out = buffer.duplicate();
+        out.position(position + 4);
+        out.putInt((int) crc.getValue());
+        out.putLong(offset);
+        out.putLong(timestamp);
+        out.put(payload);
+        // Length last, so a crash mid-record leaves a zero length or a failing checksum behind
+        buffer.putInt(position, payload.length);
+
+        if ((offset - baseOffset) % INDEX_INTERVAL == 0) {
+            index.put(offset, position);
+        }
+        lastTimestamp = timestamp;
+        nextOffset = offset + 1;
+        writePosition = position + recordSize(payload);
+        return offset;
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    List<EventRecord> read(long fromOffset, int maxRecords) {
+        List<EventRecord> records = new ArrayList<>();
+        int limit = writePosition;
+        long end = nextOffset;
+        Map.Entry<Long, Integer> start = index.floorEntry(Math.max(fromOffset, baseOffset));
+        int position = start != null ? start.getValue() : 0;
+
+        ByteBuffer in = buffer.duplicate();
+        while (position < limit && records.size() < maxRecords) {
+            int length = in.getInt(position);
+            long offset = in.getLong(position + 8);
+            if (offset >= end) {
+                break;
+            }
+            if (offset >= fromOffset) {
+                byte[] payload = new byte[length];
+                in.position(position + HEADER_BYTES);
+                in.get(payload);
+                records.add(new EventRecord(offset, in.getLong(position + 16), payload));
+            }
+            position += HEADER_BYTES + length;
+        }
+        return records;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private void recover() {
+        int position = 0;
+        long offset = baseOffset;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()
+                    || buffer.getLong(position + 8) != offset) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            ByteBuffer in = buffer.duplicate();
+            in.position(position + HEADER_BYTES);
+            in.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            if ((offset - baseOffset) % INDEX_INTERVAL == 0) {
+                index.put(offset, position);
+            }
+            lastTimestamp = buffer.getLong(position + 16);
+            offset++;
+            position += HEADER_BYTES + length;
+        }
+        // Clear a torn record so the next append starts on a clean zero length
+        if (position + 4 <= buffer.capacity()) {
+            buffer.putInt(position, 0);
+        }
+        writePosition = position;
+        nextOffset = offset;
+    }
+}
@@ -0,0 +1,168 @@
+package com.foodapp.orderservice.eventlog;
+
+import com.foodapp.orderservice.config.EventLogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of order events on local disk, split into memory-mapped segment files.
+ * Offsets are dense and increase by one per event; any offset still retained can be replayed.
+ *
+ * <p>Fed by {@link com.foodapp.orderservice.service.OrderOutboxRelay}. Delivery is at-least-once:
+ * an event can appear twice if the relay stops between appending and clearing the outbox, so
+ * consumers should skip events whose {@code eventId} they have already seen.
+ */
+@Component
+public class OrderEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventLog.class);
+
+    private final NavigableMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    private EventLogProperties properties;
+
+    private Path dir;
+    private volatile LogSegment active;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        dir = Paths.get(properties.getDir());
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.getFileName().toString().endsWith(".log"))::iterator) {
+                LogSegment segment = LogSegment.open(file);
+                segments.put(segment.getBaseOffset(), segment);
+            }
+        }
+        active = segments.isEmpty() ? newSegment(0) : segments.lastEntry().getValue();
+        log.info("Order event log opened at {}: offsets {}..{}", dir, getStartOffset(), getEndOffset());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Appends the events in order and forces them to disk before returning.
+     *
+     * @return offset of the first appended event
+     */
+    public synchronized long append(List<byte[]> events) {
+        if (active == null) {
+            throw new IllegalStateException("Order event log is disabled");
+        }
+        long first = active.getNextOffset();
+        long now = System.currentTimeMillis();
+        try {
+            for (byte[] event : events) {
+                if (LogSegment.recordSize(event) + 4 > properties.getSegmentBytes()) {
+                    throw new IllegalArgumentException("Event of " + event.length + " bytes does not fit in a segment");
+                }
+                if (!active.hasRoomFor(event)) {
+                    active.flush();
+                    active = newSegment(active.getNextOffset());
+                }
+                active.append(event, now);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        active.flush();
+        return first;
+    }
+
+    /**
+     * Events from {@code fromOffset} on, at most {@code maxRecords}; offsets below the retained
+     * range start at the oldest retained event.
+     */
+    public List<EventRecord> read(long fromOffset, int maxRecords) {
+        if (!properties.isEnabled()) {
+            return Collections.emptyList();
+        }
+        List<EventRecord> records = new ArrayList<>();
+        Map.Entry<Long, LogSegment> floor = segments.floorEntry(fromOffset);
+        Long from = floor != null ? floor.getKey() : segments.isEmpty() ? null : segments.firstKey();
+        if (from == null) {
+            return records;
+        }
+        for (LogSegment segment : segments.tailMap(from, true).values()) {
+            records.addAll(segment.read(fromOffset, maxRecords - records.size()));
+            if (records.size() >= maxRecords) {
+                break;
+            }
+        }
+        return records;
+    }
+
+    // Oldest offset still retained
+    public long getStartOffset() {
+        return segments.isEmpty() ? 0 : segments.firstKey();
+    }
+
+    // Offset the next event will get
+    public long getEndOffset() {
+        LogSegment current = active;
+        return current != null ? current.getNextOffset() : 0;
+    }
+
+    /**
+     * Deletes the oldest closed segments while the log is over its size limit or they are past
+     * the retention age. The active segment is never deleted.
+     */
+    @Scheduled(fixedDelayString = "${app.event-log.retention-check-interval-ms:60000}")
+    public void enforceRetention() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - properties.getRetentionHours() * 3600_000L;
+        long totalBytes = 0;
+        for (LogSegment segment : segments.values()) {
+            totalBytes += segment.getWritePosition();
+        }
+        for (LogSegment segment : new ArrayList<>(segments.values())) {
+            if (segment == active) {
+                break;
+            }
+            boolean overSize = totalBytes > properties.getRetentionBytes();
+            boolean expired = segment.getLastTimestamp() < cutoff;
+            if (!overSize && !expired) {
+                break;
+            }
+            segments.remove(segment.getBaseOffset());
+            totalBytes -= segment.getWritePosition();
+            try {
+                segment.delete();
+                log.info("Deleted event log segment {} ({})", segment.getFile().getFileName(), overSize ? "size" : "age");
+            } catch (IOException e) {
+                log.warn("Could not delete event log segment {}: {}", segment.getFile(), e.getMessage());
+            }
+        }
+    }
+
+    private LogSegment newSegment(long baseOffset) throws IOException {
+        LogSegment segment = LogSegment.create(dir, baseOffset, properties.getSegmentBytes());
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+}
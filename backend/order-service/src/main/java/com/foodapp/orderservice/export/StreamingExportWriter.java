@@ -0,0 +1,143 @@
+package com.foodapp.orderservice.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes records to a response body one at a time as a JSON array, NDJSON or CSV, so memory use
+ * does not depend on how many records are exported. Output is flushed every {@code flushEvery}
+ * records; a slow client then blocks the writer instead of letting output pile up in memory.
+ */
+public class StreamingExportWriter implements Closeable {
+
+    private static final int DEFAULT_FLUSH_EVERY = 500;
+
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final List<String> columns;
+    private final OutputStream out;
+    private final JsonGenerator json;
+    private final Writer csv;
+    private final int flushEvery;
+    private long written;
+
+    /**
+     * @param columns record keys written as CSV columns, in order; ignored for JSON formats
+     */
+    public StreamingExportWriter(OutputStream out, ExportFormat format, ObjectMapper objectMapper,
+                                 List<String> columns) throws IOException {
+        this.out = out;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+        this.flushEvery = DEFAULT_FLUSH_EVERY;
+
+        if (format == ExportFormat.CSV) {
+            this.json = null;
+            this.csv = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writeCsvLine(columns);
+        } else {
+            this.csv = null;
+            this.json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.json.setCodec(objectMapper);
+            if (format == ExportFormat.JSON) {
+                this.json.writeStartArray();
+            } else {
+                this.json.setRootValueSeparator(null);
+            }
+        }
+    }
+
+    public void write(Map<String, ?> record) throws IOException {
+        switch (format) {
+            case JSON:
+                json.writeObject(record);
+                break;
+            case NDJSON:
+                json.writeObject(record);
+                json.writeRaw('\n');
+                break;
+            default:
+                writeCsvRecord(record);
+        }
+        if (++written % flushEvery == 0) {
+            flush();
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            if (format == ExportFormat.JSON) {
+                json.writeEndArray();
+            }
+            json.flush();
+        } else {
+            csv.flush();
+        }
+        out.flush();
+    }
+
+    private void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        } else {
+            csv.flush();
+        }
+        out.flush();
+    }
+
+    private void writeCsvRecord(Map<String, ?> record) throws IOException {
+        String[] values = new String[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = csvValue(record.get(columns.get(i)));
+        }
+        writeCsvLine(List.of(values));
+    }
+
+    private String csvValue(Object value) throws IOException {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Collection || value instanceof Map) {
+            return objectMapper.writeValueAsString(value);
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private void writeCsvLine(List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            csv.write(escapeCsv(values.get(i)));
+        }
+        csv.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
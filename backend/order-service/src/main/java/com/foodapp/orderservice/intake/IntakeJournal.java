@@ -0,0 +1,246 @@
+package com.foodapp.orderservice.intake;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of accepted intake orders, split into segment files of a fixed number of entries.
+ *
+ * <p>{@link #append} returns once the entry is on disk. Concurrent appends share fsyncs (group commit):
+ * the first waiter forces everything written so far and releases all callers it covered.
+ * A segment file is deleted once all its entries have been {@link #complete completed} and it is no
+ * longer the active one; whatever is left on disk at startup is handed back by {@link #open} for replay.
+ *
+ * <p>Record layout: {@code int length | int crc32(payload) | payload}.
+ */
+public class IntakeJournal {
+
+    private static final String SUFFIX = ".journal";
+
+    private final Path dir;
+    private final int segmentEntries;
+    private final Map<Long, AtomicInteger> pendingBySegment = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private FileChannel channel;
+    private long activeSegment;
+    private int activeEntries;
+    private long writtenSeq;
+
+    // Guarded by syncLock
+    private final Object syncLock = new Object();
+    private long durableSeq;
+    private boolean syncing;
+
+    public IntakeJournal(Path dir, int segmentEntries) {
+        this.dir = dir;
+        this.segmentEntries = segmentEntries;
+    }
+
+    /**
+     * Opens a fresh active segment and returns the entries left in older segments, oldest first.
+     * Reading a segment stops at its first torn or corrupt record.
+     */
+    public synchronized List<Entry> open() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).sorted().collect(Collectors.toList());
+        }
+
+        List<Entry> replay = new ArrayList<>();
+        long lastSegment = -1;
+        for (Path file : files) {
+            long segment = segmentOf(file);
+            lastSegment = Math.max(lastSegment, segment);
+            List<byte[]> payloads = readSegment(file);
+            if (payloads.isEmpty()) {
+                Files.delete(file);
+                continue;
+            }
+            pendingBySegment.put(segment, new AtomicInteger(payloads.size()));
+            for (byte[] payload : payloads) {
+                replay.add(new Entry(segment, payload));
+            }
+        }
+        startSegment(lastSegment + 1);
+        return replay;
+    }
+
+    /**
+     * Writes one entry and waits until it is durable.
+     *
+     * @return the segment holding the entry, to pass to {@link #complete} once it has been processed
+     */
+    public long append(byte[] payload) throws IOException {
+        long seq;
+        long segment;
+        synchronized (this) {
+            if (activeEntries >= segmentEntries) {
+                roll();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+            record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            activeEntries++;
+            segment = activeSegment;
+            pendingBySegment.computeIfAbsent(segment, s -> new AtomicInteger()).incrementAndGet();
+            seq = ++writtenSeq;
+        }
+        awaitDurable(seq);
+        return segment;
+    }
+
+    /**
+     * Marks one entry of {@code segment} as processed; fully processed closed segments are deleted.
+     */
+    public synchronized void complete(long segment) throws IOException {
+        AtomicInteger pending = pendingBySegment.get(segment);
+        if (pending != null && pending.decrementAndGet() <= 0 && segment != activeSegment) {
+            pendingBySegment.remove(segment);
+            Files.deleteIfExists(fileOf(segment));
+        }
+    }
+
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void awaitDurable(long seq) throws IOException {
+        while (true) {
+            synchronized (syncLock) {
+                while (syncing && durableSeq < seq) {
+                    try {
+                        syncLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for the intake journal");
+                    }
+                }
+                if (durableSeq >= seq) {
+                    return;
+                }
+                syncing = true;
+            }
+            try {
+                FileChannel target;
+                long upTo;
+                synchronized (this) {
+                    target = channel;
+                    upTo = writtenSeq;
+                }
+                try {
+                    target.force(false);
+                } catch (ClosedChannelException e) {
+                    // Rolled meanwhile; roll() forces a segment before closing it
+                }
+                synchronized (syncLock) {
+                    durableSeq = Math.max(durableSeq, upTo);
+                }
+            } finally {
+                synchronized (syncLock) {
+                    syncing = false;
+                    syncLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        long previous = activeSegment;
+        channel.force(false);
+        channel.close();
+        startSegment(previous + 1);
+        AtomicInteger pending = pendingBySegment.get(previous);
+        if (pending == null || pending.get() <= 0) {
+            pendingBySegment.remove(previous);
+            Files.deleteIfExists(fileOf(previous));
+        }
+    }
+
+    private void startSegment(long segment) throws IOException {
+        channel = FileChannel.open(fileOf(segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activeSegment = segment;
+        activeEntries = 0;
+    }
+
+    private static List<byte[]> readSegment(Path file) throws IOException {
+        List<byte[]> payloads = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            while (true) {
+                header.clear();
+                if (!readFully(in, header)) {
+                    break;
+                }
+                int length = header.getInt(0);
+                if (length <= 0 || length > in.size() - in.position()) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                if (!readFully(in, payload)) {
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload.array());
+                if ((int) crc.getValue() != header.getInt(4)) {
+                    break;
+                }
+                payloads.add(payload.array());
+            }
+        }
+        return payloads;
+    }
+
+    private static boolean readFully(FileChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path fileOf(long segment) {
+        return dir.resolve(String.format("%020d%s", segment, SUFFIX));
+    }
+
+    private static long segmentOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    public static class Entry {
+        private final long segment;
+        private final byte[] payload;
+
+        public Entry(long segment, byte[] payload) {
+            this.segment = segment;
+            this.payload = payload;
+        }
+
+        public long getSegment() { return segment; }
+        public byte[] getPayload() { return payload; }
+    }
+}
@@ -0,0 +1,76 @@
+package com.foodapp.orderservice.logging;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request a correlation id: the caller's {@code X-Request-Id} when it sent a usable one,
+ * otherwise a new one. The id is echoed in the response and kept in the MDC as {@code requestId}
+ * while the request is handled, so every log line it causes carries it.
+ *
+ * <p>The filter also decides, once per request, whether the request's debug logs are kept
+ * ({@code app.logging.debug-sample-rate}); see {@link SampledDebugFilter}.
+ *
+ * <p>Kept identical in order-service, user-service and menu-service, with order-service holding the
+ * canonical copy: change it first, carry the change over and run {@code backend/check-shared-copies.sh}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    // Ids from callers end up in log lines, so only short plain tokens are taken over
+    private static final Pattern USABLE_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    private static final String SAMPLED_ATTRIBUTE = CorrelationIdFilter.class.getName() + ".sampled";
+
+    @Value("${app.logging.debug-sample-rate:1.0}")
+    private double debugSampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Async dispatches (DeferredResult, streaming) keep the id and sampling decision of their request
+        String requestId = (String) request.getAttribute(MDC_KEY);
+        if (requestId == null) {
+            requestId = request.getHeader(HEADER);
+            if (requestId == null || !USABLE_ID.matcher(requestId).matches()) {
+                requestId = UUID.randomUUID().toString();
+            }
+            request.setAttribute(MDC_KEY, requestId);
+            request.setAttribute(SAMPLED_ATTRIBUTE, ThreadLocalRandom.current().nextDouble() < debugSampleRate);
+            response.setHeader(HEADER, requestId);
+        }
+
+        MDC.put(MDC_KEY, requestId);
+        if (Boolean.TRUE.equals(request.getAttribute(SAMPLED_ATTRIBUTE))) {
+            MDC.put(SampledDebugFilter.MDC_KEY, "true");
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+            MDC.remove(SampledDebugFilter.MDC_KEY);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.foodapp.orderservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Logback turbo filter for the prod profile (logback-spring.xml): DEBUG and TRACE events of the
+ * configured loggers are written for requests {@link CorrelationIdFilter} sampled, whatever the
+ * logger's level, and dropped everywhere else. Unsampled requests pay one level comparison and an
+ * MDC lookup per debug call instead of formatting and queueing the message.
+ *
+ * <p>Kept identical in order-service, user-service and menu-service, with order-service holding the
+ * canonical copy: change it first, carry the change over and run {@code backend/check-shared-copies.sh}.
+ */
+public class SampledDebugFilter extends TurboFilter {
+
+    public static final String MDC_KEY = "debugSampled";
+
+    private final List<String> loggers = new ArrayList<>();
+
+    // <logger>name</logger> in logback-spring.xml; covers the logger and its children
+    public void addLogger(String name) {
+        loggers.add(name.trim());
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.INFO) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return "true".equals(MDC.get(MDC_KEY)) ? FilterReply.ACCEPT : FilterReply.DENY;
+    }
+
+    private boolean matches(String name) {
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix) && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package com.foodapp.orderservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,7 +19,7 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> orderItems;
 
-    @Column(name = "total_amount", nullable = false)
+    @Column(name = "total_amount", nullable = false, columnDefinition = "decimal(10,2)")
     private Double totalAmount;
 
     @Enumerated(EnumType.STRING)
@@ -26,9 +28,23 @@ public class Order {
     @Column(name = "order_date")
     private LocalDateTime orderDate;
 
-    @Column(name = "delivery_address")
+    @Column(name = "delivery_address", columnDefinition = "text")
     private String deliveryAddress;
 
+    // Pickup slot assigned by admission control when the kitchen was overloaded; null means asap
+    @Column(name = "scheduled_for")
+    private LocalDateTime scheduledFor;
+
+    // Set for orders accepted through the async intake queue
+    @JsonIgnore
+    @Column(name = "intake_id", length = 36, unique = true)
+    private String intakeId;
+
+    // Client-supplied Idempotency-Key of the request that created the order, unique per user
+    @JsonIgnore
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
     // Constructors
     public Order() {
         this.orderDate = LocalDateTime.now();
@@ -55,4 +71,13 @@ public class Order {
 
     public String getDeliveryAddress() { return deliveryAddress; }
     public void setDeliveryAddress(String deliveryAddress) { this.deliveryAddress = deliveryAddress; }
-}
\ No newline at end of file
+
+    public LocalDateTime getScheduledFor() { return scheduledFor; }
+    public void setScheduledFor(LocalDateTime scheduledFor) { this.scheduledFor = scheduledFor; }
+
+    public String getIntakeId() { return intakeId; }
+    public void setIntakeId(String intakeId) { this.intakeId = intakeId; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+}
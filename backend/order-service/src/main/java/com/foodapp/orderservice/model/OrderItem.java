@@ -21,7 +21,7 @@ public class OrderItem {
     @Column(nullable = false)
     private Integer quantity;
 
-    @Column(nullable = false)
+    @Column(nullable = false, columnDefinition = "decimal(10,2)")
     private Double price;
 
     // Constructors
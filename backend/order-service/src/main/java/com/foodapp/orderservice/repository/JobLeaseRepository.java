@@ -0,0 +1,75 @@
+package com.foodapp.orderservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code job_lease} table and the per-shard {@code job_fence} table. Expiry is
+ * computed on the database clock so nodes with skewed clocks still agree on who holds a lease.
+ */
+@Repository
+public class JobLeaseRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public JobLeaseRepository(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    public void ensureExists(String name) {
+        jdbc.update("INSERT IGNORE INTO job_lease (name) VALUES (?)", name);
+    }
+
+    /**
+     * Takes the lease if it is free, expired or already ours, with a new fencing token.
+     *
+     * @return the new fencing token, or -1 if another owner holds the lease
+     */
+    public long tryAcquire(String name, String owner, long leaseMs) {
+        int updated = jdbc.update("UPDATE job_lease SET owner = ?, fencing_token = fencing_token + 1, "
+                        + "acquired_at = CURRENT_TIMESTAMP(3), expires_at = TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3)) "
+                        + "WHERE name = ? AND (owner IS NULL OR owner = ? OR expires_at <= CURRENT_TIMESTAMP(3))",
+                owner, leaseMs * 1000, name, owner);
+        if (updated == 0) {
+            return -1;
+        }
+        List<Long> token = jdbc.queryForList("SELECT fencing_token FROM job_lease WHERE name = ? AND owner = ?",
+                Long.class, name, owner);
+        return token.isEmpty() ? -1 : token.get(0);
+    }
+
+    /**
+     * Extends a lease we still hold under {@code fencingToken}; false once it expired or was taken over.
+     */
+    public boolean renew(String name, String owner, long fencingToken, long leaseMs) {
+        return jdbc.update("UPDATE job_lease SET expires_at = TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3)) "
+                        + "WHERE name = ? AND owner = ? AND fencing_token = ? AND expires_at > CURRENT_TIMESTAMP(3)",
+                leaseMs * 1000, name, owner, fencingToken) == 1;
+    }
+
+    public void release(String name, String owner, long fencingToken) {
+        jdbc.update("UPDATE job_lease SET owner = NULL, expires_at = CURRENT_TIMESTAMP(3) "
+                + "WHERE name = ? AND owner = ? AND fencing_token = ?", name, owner, fencingToken);
+    }
+
+    /**
+     * Records {@code fencingToken} as the latest to write for job {@code name} on the shard of the
+     * current transaction, and locks the row until that transaction ends.
+     *
+     * @return false if a newer token has already written there
+     */
+    public boolean fence(String name, long fencingToken) {
+        jdbc.update("INSERT IGNORE INTO job_fence (name) VALUES (?)", name);
+        Long latest = jdbc.queryForObject("SELECT fencing_token FROM job_fence WHERE name = ? FOR UPDATE", Long.class, name);
+        if (latest != null && latest > fencingToken) {
+            return false;
+        }
+        if (latest == null || latest < fencingToken) {
+            jdbc.update("UPDATE job_fence SET fencing_token = ? WHERE name = ?", fencingToken, name);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,151 @@
+package com.foodapp.orderservice.repository;
+
+import com.foodapp.orderservice.dto.OrderSummary;
+import com.foodapp.orderservice.model.Order;
+import com.foodapp.orderservice.model.OrderItem;
+import com.foodapp.orderservice.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC access to the monthly-partitioned {@code orders_archive} and {@code order_items_archive} tables.
+ * Archived orders are read back as detached {@link Order} objects with their items filled in.
+ */
+@Repository
+public class OrderArchiveRepository {
+
+    private static final String ORDER_COLUMNS = "id, user_id, total_amount, status, order_date, delivery_address";
+    private static final String ITEM_COLUMNS = "id, order_id, menu_item_id, quantity, price";
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+
+    public OrderArchiveRepository(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    // Ids of terminal-state orders placed before the cutoff, oldest first
+    public List<Long> findArchivableOrderIds(Collection<OrderStatus> statuses, LocalDateTime cutoff, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("statuses", statuses.stream().map(Enum::name).toArray())
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", limit);
+        return namedJdbc.queryForList(
+                "SELECT id FROM orders WHERE status IN (:statuses) AND order_date < :cutoff ORDER BY order_date LIMIT :limit",
+                params, Long.class);
+    }
+
+    // Distinct yyyymm archive months of the given orders, ascending
+    public List<Integer> findArchiveMonths(List<Long> orderIds) {
+        return namedJdbc.queryForList(
+                "SELECT DISTINCT EXTRACT(YEAR_MONTH FROM order_date) AS m FROM orders WHERE id IN (:ids) ORDER BY m",
+                new MapSqlParameterSource("ids", orderIds), Integer.class);
+    }
+
+    /**
+     * Splits a partition for {@code month} off {@code p_future} if the table has no boundary past it yet.
+     * DDL commits implicitly in MySQL, so call this outside the transaction that moves rows.
+     */
+    public void ensureMonthlyPartition(String table, int month) {
+        Integer highestBound = jdbc.queryForObject(
+                "SELECT MAX(CAST(PARTITION_DESCRIPTION AS UNSIGNED)) FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_DESCRIPTION <> 'MAXVALUE'",
+                Integer.class, table);
+        if (highestBound != null && month < highestBound) {
+            return;
+        }
+        int nextMonth = month % 100 == 12 ? (month / 100 + 1) * 100 + 1 : month + 1;
+        jdbc.execute("ALTER TABLE " + table + " REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p" + month + " VALUES LESS THAN (" + nextMonth + "), "
+                + "PARTITION p_future VALUES LESS THAN MAXVALUE)");
+    }
+
+    // Copies the orders and their items into the archive and deletes them from the hot tables
+    public int moveToArchive(List<Long> orderIds) {
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", orderIds);
+        namedJdbc.update("INSERT IGNORE INTO orders_archive (" + ORDER_COLUMNS + ", archive_month) "
+                + "SELECT " + ORDER_COLUMNS + ", EXTRACT(YEAR_MONTH FROM order_date) FROM orders WHERE id IN (:ids)", ids);
+        namedJdbc.update("INSERT IGNORE INTO order_items_archive (" + ITEM_COLUMNS + ", archive_month) "
+                + "SELECT oi.id, oi.order_id, oi.menu_item_id, oi.quantity, oi.price, EXTRACT(YEAR_MONTH FROM o.order_date) "
+                + "FROM order_items oi JOIN orders o ON oi.order_id = o.id WHERE o.id IN (:ids)", ids);
+        namedJdbc.update("DELETE FROM order_items WHERE order_id IN (:ids)", ids);
+        return namedJdbc.update("DELETE FROM orders WHERE id IN (:ids)", ids);
+    }
+
+    public Optional<Order> findById(Long id) {
+        List<Order> orders = jdbc.query("SELECT " + ORDER_COLUMNS + " FROM orders_archive WHERE id = ?",
+                (rs, rowNum) -> mapOrder(rs), id);
+        return withItems(orders).stream().findFirst();
+    }
+
+    // Archived orders of a user, newest first
+    public List<Order> findByUserIdOrderByOrderDateDesc(Long userId) {
+        List<Order> orders = jdbc.query("SELECT " + ORDER_COLUMNS + " FROM orders_archive WHERE user_id = ? ORDER BY order_date DESC",
+                (rs, rowNum) -> mapOrder(rs), userId);
+        return withItems(orders);
+    }
+
+    // Archived order summaries of a user, newest first
+    public List<OrderSummary> findSummariesByUserIdOrderByOrderDateDesc(Long userId) {
+        return jdbc.query("SELECT o.id, o.user_id, o.total_amount, o.status, o.order_date, o.delivery_address, "
+                        + "(SELECT COUNT(*) FROM order_items_archive oi WHERE oi.order_id = o.id) AS item_count "
+                        + "FROM orders_archive o WHERE o.user_id = ? ORDER BY o.order_date DESC",
+                (rs, rowNum) -> {
+                    Timestamp orderDate = rs.getTimestamp("order_date");
+                    return new OrderSummary(rs.getLong("id"), rs.getLong("user_id"), rs.getDouble("total_amount"),
+                            OrderStatus.valueOf(rs.getString("status")),
+                            orderDate != null ? orderDate.toLocalDateTime() : null,
+                            rs.getString("delivery_address"), rs.getLong("item_count"));
+                }, userId);
+    }
+
+    private List<Order> withItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        Map<Long, Order> byId = new LinkedHashMap<>();
+        for (Order order : orders) {
+            order.setOrderItems(new ArrayList<>());
+            byId.put(order.getId(), order);
+        }
+        namedJdbc.query("SELECT " + ITEM_COLUMNS + " FROM order_items_archive WHERE order_id IN (:ids)",
+                new MapSqlParameterSource("ids", byId.keySet()), rs -> {
+                    Order order = byId.get(rs.getLong("order_id"));
+                    OrderItem item = new OrderItem();
+                    item.setId(rs.getLong("id"));
+                    item.setOrder(order);
+                    item.setMenuItemId(rs.getLong("menu_item_id"));
+                    item.setQuantity(rs.getInt("quantity"));
+                    item.setPrice(rs.getDouble("price"));
+                    order.getOrderItems().add(item);
+                });
+        return orders;
+    }
+
+    private static Order mapOrder(ResultSet rs) throws SQLException {
+        Order order = new Order();
+        order.setId(rs.getLong("id"));
+        order.setUserId(rs.getLong("user_id"));
+        order.setTotalAmount(rs.getDouble("total_amount"));
+        order.setStatus(OrderStatus.valueOf(rs.getString("status")));
+        Timestamp orderDate = rs.getTimestamp("order_date");
+        order.setOrderDate(orderDate != null ? orderDate.toLocalDateTime() : null);
+        order.setDeliveryAddress(rs.getString("delivery_address"));
+        return order;
+    }
+}
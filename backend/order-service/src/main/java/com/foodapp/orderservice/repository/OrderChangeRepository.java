@@ -0,0 +1,62 @@
+package com.foodapp.orderservice.repository;
+
+import com.foodapp.orderservice.dto.OrderSummary;
+import com.foodapp.orderservice.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Reads the {@code orders} rows written recently by any instance, through idx_orders_updated_at_id,
+ * so in-memory views can follow changes made on other nodes.
+ */
+@Repository
+public class OrderChangeRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public OrderChangeRepository(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    // Summary rows changed after the position (updatedAt, id), oldest change first
+    public List<Change> findChangedSince(Timestamp updatedAt, long id, int limit) {
+        return jdbc.query("SELECT o.id, o.user_id, o.total_amount, o.status, o.order_date, o.delivery_address, o.updated_at, "
+                        + "(SELECT COUNT(*) FROM order_items i WHERE i.order_id = o.id) AS item_count FROM orders o "
+                        + "WHERE o.updated_at > ? OR (o.updated_at = ? AND o.id > ?) "
+                        + "ORDER BY o.updated_at, o.id LIMIT ?",
+                (rs, rowNum) -> new Change(mapSummary(rs), rs.getTimestamp("updated_at")),
+                updatedAt, updatedAt, id, limit);
+    }
+
+    // The database clock minus lagMs; changes stamped before it have committed by now
+    public Timestamp settledThrough(long lagMs) {
+        return jdbc.queryForObject("SELECT TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3))", Timestamp.class, -lagMs * 1000);
+    }
+
+    private static OrderSummary mapSummary(ResultSet rs) throws SQLException {
+        Timestamp orderDate = rs.getTimestamp("order_date");
+        return new OrderSummary(rs.getLong("id"), rs.getLong("user_id"), rs.getDouble("total_amount"),
+                OrderStatus.valueOf(rs.getString("status")),
+                orderDate != null ? orderDate.toLocalDateTime() : null,
+                rs.getString("delivery_address"), rs.getLong("item_count"));
+    }
+
+    public static class Change {
+        private final OrderSummary order;
+        private final Timestamp updatedAt;
+
+        public Change(OrderSummary order, Timestamp updatedAt) {
+            this.order = order;
+            this.updatedAt = updatedAt;
+        }
+
+        public OrderSummary getOrder() { return order; }
+        public Timestamp getUpdatedAt() { return updatedAt; }
+    }
+}
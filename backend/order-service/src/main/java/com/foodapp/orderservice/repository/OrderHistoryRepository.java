@@ -0,0 +1,192 @@
+package com.foodapp.orderservice.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodapp.orderservice.dto.OrderHistoryItem;
+import com.foodapp.orderservice.dto.OrderHistoryView;
+import com.foodapp.orderservice.dto.OrderSummary;
+import com.foodapp.orderservice.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the {@code order_history} read model. Each row is a complete order document,
+ * so list screens are served by one indexed read without joining {@code order_items}.
+ */
+@Repository
+public class OrderHistoryRepository {
+
+    private static final TypeReference<List<OrderHistoryItem>> ITEM_LIST = new TypeReference<List<OrderHistoryItem>>() {};
+
+    private static final String SUMMARY_COLUMNS = "order_id, user_id, total_amount, status, order_date, delivery_address, item_count";
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public OrderHistoryRepository(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stores the document for an order, replacing any earlier version.
+     * {@code namesComplete = false} marks a document whose item names could not be looked up yet.
+     */
+    public void upsert(OrderHistoryView view, boolean namesComplete) {
+        jdbc.update("INSERT INTO order_history (" + SUMMARY_COLUMNS + ", items, names_complete) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE user_id = VALUES(user_id), total_amount = VALUES(total_amount), "
+                        + "status = VALUES(status), order_date = VALUES(order_date), delivery_address = VALUES(delivery_address), "
+                        + "item_count = VALUES(item_count), items = VALUES(items), names_complete = VALUES(names_complete)",
+                view.getId(), view.getUserId(), view.getTotalAmount(), view.getStatus().name(),
+                view.getOrderDate() != null ? Timestamp.valueOf(view.getOrderDate()) : null,
+                view.getDeliveryAddress(), view.getItemCount(), writeItems(view.getOrderItems()), namesComplete);
+    }
+
+    public Optional<OrderHistoryView> findById(Long orderId) {
+        return jdbc.query("SELECT " + SUMMARY_COLUMNS + ", items FROM order_history WHERE order_id = ?",
+                (rs, rowNum) -> mapView(rs), orderId).stream().findFirst();
+    }
+
+    // Documents of a user, newest first (idx_order_history_user_id_order_date)
+    public List<OrderHistoryView> findByUserIdOrderByOrderDateDesc(Long userId) {
+        return jdbc.query("SELECT " + SUMMARY_COLUMNS + ", items FROM order_history WHERE user_id = ? ORDER BY order_date DESC",
+                (rs, rowNum) -> mapView(rs), userId);
+    }
+
+    public List<OrderSummary> findSummariesByUserIdOrderByOrderDateDesc(Long userId) {
+        return jdbc.query("SELECT " + SUMMARY_COLUMNS + " FROM order_history WHERE user_id = ? ORDER BY order_date DESC",
+                (rs, rowNum) -> mapSummary(rs), userId);
+    }
+
+    // Admin listing, newest first (idx_order_history_order_date)
+    public List<OrderSummary> findAllSummariesOrderByOrderDateDesc() {
+        return jdbc.query("SELECT " + SUMMARY_COLUMNS + " FROM order_history ORDER BY order_date DESC",
+                (rs, rowNum) -> mapSummary(rs));
+    }
+
+    /**
+     * Orders of {@code sourceTable} ({@code orders} or {@code orders_archive}) written after the
+     * position {@code (updatedAt, id)} whose document is missing or has a stale status, oldest change
+     * first. Walks idx_*_updated_at_id from the position, so a pass only reads recently changed rows.
+     */
+    public List<ChangedOrder> findChangedSince(String sourceTable, Timestamp updatedAt, long id, int limit) {
+        return jdbc.query("SELECT o.id, o.user_id, o.updated_at FROM " + sourceTable + " o "
+                        + "LEFT JOIN order_history h ON h.order_id = o.id "
+                        + "WHERE (o.updated_at > ? OR (o.updated_at = ? AND o.id > ?)) "
+                        + "AND (h.order_id IS NULL OR h.status <> o.status) "
+                        + "ORDER BY o.updated_at, o.id LIMIT ?",
+                (rs, rowNum) -> new ChangedOrder(rs.getLong(1), rs.getLong(2), rs.getTimestamp(3)),
+                updatedAt, updatedAt, id, limit);
+    }
+
+    // Documents whose item names could not be looked up yet, as {orderId, userId} (idx_order_history_names_complete)
+    public List<long[]> findIncompleteNames(int limit) {
+        return jdbc.query("SELECT order_id, user_id FROM order_history WHERE names_complete = 0 LIMIT ?",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)}, limit);
+    }
+
+    public Optional<Checkpoint> findCheckpoint(String sourceTable) {
+        return jdbc.query("SELECT updated_through, last_id, caught_up FROM order_history_checkpoint WHERE source_table = ?",
+                (rs, rowNum) -> new Checkpoint(rs.getTimestamp(1), rs.getLong(2), rs.getBoolean(3)), sourceTable)
+                .stream().findFirst();
+    }
+
+    public void saveCheckpoint(String sourceTable, Checkpoint checkpoint) {
+        jdbc.update("INSERT INTO order_history_checkpoint (source_table, updated_through, last_id, caught_up) VALUES (?, ?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE updated_through = VALUES(updated_through), last_id = VALUES(last_id), "
+                        + "caught_up = VALUES(caught_up)",
+                sourceTable, checkpoint.getUpdatedThrough(), checkpoint.getLastId(), checkpoint.isCaughtUp());
+    }
+
+    // True once a catch-up pass has reached the end of every source table on this shard
+    public boolean isCaughtUp(int sourceTables) {
+        Integer caughtUp = jdbc.queryForObject("SELECT COUNT(*) FROM order_history_checkpoint WHERE caught_up = 1", Integer.class);
+        return caughtUp != null && caughtUp >= sourceTables;
+    }
+
+    /**
+     * The database clock minus {@code lagMs}: rows stamped before it belong to transactions that have
+     * committed by now, so the catch-up never moves its position past it.
+     */
+    public Timestamp settledThrough(long lagMs) {
+        return jdbc.queryForObject("SELECT TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3))", Timestamp.class, -lagMs * 1000);
+    }
+
+    private OrderHistoryView mapView(ResultSet rs) throws SQLException {
+        OrderSummary summary = mapSummary(rs);
+        OrderHistoryView view = new OrderHistoryView();
+        view.setId(summary.getId());
+        view.setUserId(summary.getUserId());
+        view.setTotalAmount(summary.getTotalAmount());
+        view.setStatus(summary.getStatus());
+        view.setOrderDate(summary.getOrderDate());
+        view.setDeliveryAddress(summary.getDeliveryAddress());
+        view.setItemCount(summary.getItemCount());
+        view.setOrderItems(readItems(rs.getString("items")));
+        return view;
+    }
+
+    private static OrderSummary mapSummary(ResultSet rs) throws SQLException {
+        Timestamp orderDate = rs.getTimestamp("order_date");
+        return new OrderSummary(rs.getLong("order_id"), rs.getLong("user_id"), rs.getDouble("total_amount"),
+                OrderStatus.valueOf(rs.getString("status")),
+                orderDate != null ? orderDate.toLocalDateTime() : null,
+                rs.getString("delivery_address"), (long) rs.getInt("item_count"));
+    }
+
+    private String writeItems(List<OrderHistoryItem> items) {
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order history items", e);
+        }
+    }
+
+    private List<OrderHistoryItem> readItems(String json) {
+        try {
+            return objectMapper.readValue(json, ITEM_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt order_history.items document", e);
+        }
+    }
+
+    public static class ChangedOrder {
+        private final long id;
+        private final long userId;
+        private final Timestamp updatedAt;
+
+        public ChangedOrder(long id, long userId, Timestamp updatedAt) {
+            this.id = id;
+            this.userId = userId;
+            this.updatedAt = updatedAt;
+        }
+
+        public long getId() { return id; }
+        public long getUserId() { return userId; }
+        public Timestamp getUpdatedAt() { return updatedAt; }
+    }
+
+    public static class Checkpoint {
+        private final Timestamp updatedThrough;
+        private final long lastId;
+        private final boolean caughtUp;
+
+        public Checkpoint(Timestamp updatedThrough, long lastId, boolean caughtUp) {
+            this.updatedThrough = updatedThrough;
+            this.lastId = lastId;
+            this.caughtUp = caughtUp;
+        }
+
+        public Timestamp getUpdatedThrough() { return updatedThrough; }
+        public long getLastId() { return lastId; }
+        public boolean isCaughtUp() { return caughtUp; }
+    }
+}
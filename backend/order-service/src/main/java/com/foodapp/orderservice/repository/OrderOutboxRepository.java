@@ -0,0 +1,85 @@
+package com.foodapp.orderservice.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.foodapp.orderservice.model.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code order_outbox} table. {@link #append} must run inside the transaction
+ * that changes the order so the event is stored if and only if the change commits.
+ */
+@Repository
+public class OrderOutboxRepository {
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final ObjectMapper objectMapper;
+
+    public OrderOutboxRepository(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbc);
+        this.objectMapper = objectMapper;
+    }
+
+    public void append(String eventType, Order order) {
+        ObjectNode payload = objectMapper.createObjectNode()
+                .put("status", order.getStatus() != null ? order.getStatus().name() : null)
+                .put("totalAmount", order.getTotalAmount())
+                .put("orderDate", order.getOrderDate() != null ? order.getOrderDate().toString() : null)
+                .put("itemCount", order.getOrderItems() != null ? order.getOrderItems().size() : 0);
+        try {
+            jdbc.update("INSERT INTO order_outbox (event_type, order_id, user_id, payload) VALUES (?, ?, ?, ?)",
+                    eventType, order.getId(), order.getUserId(), objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+
+    /**
+     * Oldest pending rows, locked for the calling transaction; rows locked by another relay are skipped.
+     */
+    public List<OutboxEntry> lockBatch(int limit) {
+        return jdbc.query("SELECT id, event_type, order_id, user_id, payload, created_at FROM order_outbox "
+                        + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> new OutboxEntry(rs.getLong("id"), rs.getString("event_type"), rs.getLong("order_id"),
+                        rs.getLong("user_id"), rs.getString("payload"), rs.getTimestamp("created_at").getTime()),
+                limit);
+    }
+
+    public int delete(List<Long> ids) {
+        return namedJdbc.update("DELETE FROM order_outbox WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    public static class OutboxEntry {
+        private final long id;
+        private final String eventType;
+        private final long orderId;
+        private final long userId;
+        private final String payload;
+        private final long createdAt;
+
+        public OutboxEntry(long id, String eventType, long orderId, long userId, String payload, long createdAt) {
+            this.id = id;
+            this.eventType = eventType;
+            this.orderId = orderId;
+            this.userId = userId;
+            this.payload = payload;
+            this.createdAt = createdAt;
+        }
+
+        public long getId() { return id; }
+        public String getEventType() { return eventType; }
+        public long getOrderId() { return orderId; }
+        public long getUserId() { return userId; }
+        public String getPayload() { return payload; }
+        public long getCreatedAt() { return createdAt; }
+    }
+}
@@ -1,10 +1,16 @@
 package com.foodapp.orderservice.repository;
 
+import com.foodapp.orderservice.dto.OrderSummary;
 import com.foodapp.orderservice.model.Order;
+import com.foodapp.orderservice.model.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -16,6 +22,55 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o ORDER BY o.orderDate DESC")
     List<Order> findAllByOrderByOrderDateDesc();
 
+    // Find all orders with their items, newest first (items fetched up front for cross-shard reads)
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems ORDER BY o.orderDate DESC")
+    List<Order> findAllWithItemsOrderByOrderDateDesc();
+
+    // Find a user's orders with their items, newest first
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.userId = :userId ORDER BY o.orderDate DESC")
+    List<Order> findByUserIdWithItemsOrderByOrderDateDesc(@Param("userId") Long userId);
+
+    // Find one order with its items
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.id = :id")
+    Optional<Order> findByIdWithItems(@Param("id") Long id);
+
+    // Summary rows for list views, newest first
+    @Query("SELECT new com.foodapp.orderservice.dto.OrderSummary(o.id, o.userId, o.totalAmount, o.status, o.orderDate, o.deliveryAddress, COUNT(i)) " +
+            "FROM Order o LEFT JOIN o.orderItems i " +
+            "GROUP BY o.id, o.userId, o.totalAmount, o.status, o.orderDate, o.deliveryAddress ORDER BY o.orderDate DESC")
+    List<OrderSummary> findAllSummariesOrderByOrderDateDesc();
+
+    // Summary rows for one user's order history, newest first
+    @Query("SELECT new com.foodapp.orderservice.dto.OrderSummary(o.id, o.userId, o.totalAmount, o.status, o.orderDate, o.deliveryAddress, COUNT(i)) " +
+            "FROM Order o LEFT JOIN o.orderItems i WHERE o.userId = :userId " +
+            "GROUP BY o.id, o.userId, o.totalAmount, o.status, o.orderDate, o.deliveryAddress ORDER BY o.orderDate DESC")
+    List<OrderSummary> findSummariesByUserIdOrderByOrderDateDesc(@Param("userId") Long userId);
+
+    // Summary rows of orders in the given statuses, oldest first; rebuilds the in-memory kitchen queue
+    @Query("SELECT new com.foodapp.orderservice.dto.OrderSummary(o.id, o.userId, o.totalAmount, o.status, o.orderDate, o.deliveryAddress, COUNT(i)) " +
+            "FROM Order o LEFT JOIN o.orderItems i WHERE o.status IN :statuses " +
+            "GROUP BY o.id, o.userId, o.totalAmount, o.status, o.orderDate, o.deliveryAddress ORDER BY o.orderDate, o.id")
+    List<OrderSummary> findSummariesByStatusInOrderByOrderDate(@Param("statuses") Collection<OrderStatus> statuses);
+
+    // Moves an order to a new status only if it is still in the expected one; 0 when it has already moved on
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to WHERE o.id = :id AND o.status = :from")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
+
     // Alternative method (simpler)
     List<Order> findAllByOrderByIdDesc();
-}
\ No newline at end of file
+
+    // {intakeId, id} pairs of intake orders that are already stored, used to skip journal replays
+    @Query("SELECT o.intakeId, o.id FROM Order o WHERE o.intakeId IN :intakeIds")
+    List<Object[]> findIdsByIntakeIdIn(@Param("intakeIds") Collection<String> intakeIds);
+
+    @Query("SELECT o.id FROM Order o WHERE o.userId = :userId AND o.idempotencyKey = :idempotencyKey")
+    Optional<Long> findIdByUserIdAndIdempotencyKey(@Param("userId") Long userId, @Param("idempotencyKey") String idempotencyKey);
+
+    // {status, count} pairs, used to seed and resync the in-memory kitchen backlog
+    @Query("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT o.id FROM Order o WHERE o.intakeId = :intakeId")
+    Optional<Long> findIdByIntakeId(@Param("intakeId") String intakeId);
+}
@@ -0,0 +1,63 @@
+package com.foodapp.orderservice.scheduling;
+
+/**
+ * A lease held by this node on one job, handed to the job while it runs. Jobs that work in batches
+ * call {@link #ensureHeld()} before each batch so a node that stalled past its lease stops instead of
+ * working alongside the new holder. Database writes that must not land after a newer holder's also call
+ * {@link LeasedJobScheduler#fence} inside their transaction, which compares {@link #getFencingToken()}
+ * with the latest token that wrote to that shard.
+ *
+ * <p>Validity is tracked on the local monotonic clock from the moment the lease was requested, which
+ * ends it no later than the database does.
+ */
+public class JobLease {
+
+    private final String name;
+    private final long fencingToken;
+    private final boolean unlimited;
+    private volatile long validUntilNanos;
+    private volatile boolean lost;
+
+    JobLease(String name, long fencingToken, long validUntilNanos) {
+        this.name = name;
+        this.fencingToken = fencingToken;
+        this.validUntilNanos = validUntilNanos;
+        this.unlimited = false;
+    }
+
+    private JobLease(String name) {
+        this.name = name;
+        this.fencingToken = 0;
+        this.unlimited = true;
+    }
+
+    // Used when leases are disabled
+    static JobLease unlimited(String name) {
+        return new JobLease(name);
+    }
+
+    public String getName() { return name; }
+    public long getFencingToken() { return fencingToken; }
+
+    boolean isUnlimited() {
+        return unlimited;
+    }
+
+    public boolean isHeld() {
+        return unlimited || (!lost && System.nanoTime() - validUntilNanos < 0);
+    }
+
+    public void ensureHeld() {
+        if (!isHeld()) {
+            throw new LeaseLostException("Lease on " + name + " (token " + fencingToken + ") is no longer held");
+        }
+    }
+
+    void extend(long untilNanos) {
+        validUntilNanos = untilNanos;
+    }
+
+    void markLost() {
+        lost = true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.foodapp.orderservice.scheduling;
+
+/**
+ * Thrown by {@link JobLease#ensureHeld()} once the node can no longer be sure it holds the lease;
+ * the job must stop before doing more work.
+ */
+public class LeaseLostException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public LeaseLostException(String message) {
+        super(message);
+    }
+}
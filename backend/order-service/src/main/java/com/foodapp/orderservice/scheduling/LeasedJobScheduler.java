@@ -0,0 +1,296 @@
+package com.foodapp.orderservice.scheduling;
+
+import com.foodapp.orderservice.config.JobLeaseProperties;
+import com.foodapp.orderservice.dto.JobStats;
+import com.foodapp.orderservice.repository.JobLeaseRepository;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Keeps cluster-wide background work to one order-service node at a time using lease rows in
+ * shard 0's {@code job_lease} table.
+ *
+ * <p>{@link #runExclusively} wraps one run of a periodic job: it takes the job's lease (skipping the
+ * run if another node holds it), renews it every third of the lease while the job runs and releases
+ * it afterwards. {@link #isLeader} is for standing roles that act on events rather than on a schedule:
+ * the role's lease is renewed in the background and only its holder should act.
+ */
+@Component
+public class LeasedJobScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasedJobScheduler.class);
+
+    private static final int LEASE_SHARD = 0;
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private final Map<String, JobLease> leadership = new ConcurrentHashMap<>();
+    private final Set<String> leaderRoles = ConcurrentHashMap.newKeySet();
+    private final Set<String> ensured = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService renewals;
+    private String owner;
+
+    @Autowired
+    private JobLeaseProperties properties;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${spring.application.name:order-service}")
+    private String applicationName;
+
+    @PostConstruct
+    public void start() {
+        owner = properties.getInstanceId() != null && !properties.getInstanceId().isBlank()
+                ? properties.getInstanceId()
+                : applicationName + "-" + UUID.randomUUID().toString().substring(0, 8);
+        renewals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewals.shutdownNow();
+        // Let another node take over right away instead of waiting for expiry
+        leadership.values().forEach(this::release);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Guards a write made under {@code lease}: call inside the write's shard transaction, before writing.
+     * Holds the shard's {@code job_fence} row for the job until the transaction ends.
+     *
+     * @throws LeaseLostException if a newer holder of the lease has already written to this shard
+     */
+    public void fence(JobLease lease) {
+        lease.ensureHeld();
+        if (lease.isUnlimited()) {
+            return;
+        }
+        if (!jobLeaseRepository.fence(lease.getName(), lease.getFencingToken())) {
+            lease.markLost();
+            throw new LeaseLostException("Lease on " + lease.getName() + " (token " + lease.getFencingToken()
+                    + ") was fenced off by a newer holder");
+        }
+    }
+
+    /**
+     * Runs {@code job} if this node gets the lease on {@code name}.
+     *
+     * @return false if the run was skipped because another node holds the lease
+     */
+    public boolean runExclusively(String name, Consumer<JobLease> job) {
+        Counters jobCounters = counters.computeIfAbsent(name, key -> new Counters());
+        if (!properties.isLeasesEnabled()) {
+            execute(name, jobCounters, JobLease.unlimited(name), job);
+            return true;
+        }
+
+        long leaseMs = properties.getLeaseMs();
+        JobLease lease;
+        try {
+            lease = acquire(name, leaseMs);
+        } catch (RuntimeException e) {
+            jobCounters.failures.increment();
+            log.warn("Could not take the lease on job {}: {}", name, e.getMessage());
+            return false;
+        }
+        if (lease == null) {
+            jobCounters.skipped.increment();
+            return false;
+        }
+
+        long renewEveryMs = Math.max(1, leaseMs / 3);
+        ScheduledFuture<?> renewal = renewals.scheduleWithFixedDelay(() -> renewQuietly(lease, leaseMs),
+                renewEveryMs, renewEveryMs, TimeUnit.MILLISECONDS);
+        try {
+            execute(name, jobCounters, lease, job);
+        } finally {
+            renewal.cancel(false);
+            release(lease);
+        }
+        return true;
+    }
+
+    /**
+     * True while this node holds the lease on {@code role}. The first call registers the role and
+     * tries to take it; after that the lease is renewed every {@code app.jobs.leader-renew-interval-ms}.
+     */
+    public boolean isLeader(String role) {
+        if (!properties.isLeasesEnabled()) {
+            return true;
+        }
+        if (leaderRoles.add(role)) {
+            maintain(role);
+        }
+        JobLease lease = leadership.get(role);
+        return lease != null && lease.isHeld();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.leader-renew-interval-ms:10000}")
+    public void maintainLeadership() {
+        if (properties.isLeasesEnabled()) {
+            leaderRoles.forEach(this::maintain);
+        }
+    }
+
+    public List<JobStats> getStats() {
+        List<JobStats> stats = new ArrayList<>();
+        new TreeMap<>(counters).forEach((name, c) -> stats.add(c.toStats(name)));
+        return stats;
+    }
+
+    public Map<String, Boolean> getLeaderRoles() {
+        Map<String, Boolean> roles = new TreeMap<>();
+        leaderRoles.forEach(role -> {
+            JobLease lease = leadership.get(role);
+            roles.put(role, !properties.isLeasesEnabled() || (lease != null && lease.isHeld()));
+        });
+        return roles;
+    }
+
+    private void execute(String name, Counters jobCounters, JobLease lease, Consumer<JobLease> job) {
+        long startedAt = System.nanoTime();
+        try {
+            job.accept(lease);
+        } catch (LeaseLostException e) {
+            jobCounters.leaseLost.increment();
+            log.warn("Job {} stopped early: {}", name, e.getMessage());
+        } catch (RuntimeException e) {
+            jobCounters.failures.increment();
+            log.warn("Job {} failed: {}", name, e.getMessage());
+        } finally {
+            jobCounters.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), lease.getFencingToken());
+        }
+    }
+
+    private void maintain(String role) {
+        long leaseMs = properties.getLeaderLeaseMs();
+        JobLease current = leadership.get(role);
+        try {
+            if (current != null && current.isHeld() && renew(current, leaseMs)) {
+                return;
+            }
+            JobLease acquired = acquire(role, leaseMs);
+            if (acquired != null) {
+                leadership.put(role, acquired);
+                if (current == null || !current.isHeld()) {
+                    log.info("This node now holds the {} role (token {})", role, acquired.getFencingToken());
+                }
+            } else if (leadership.remove(role) != null) {
+                log.info("Another node took over the {} role", role);
+            }
+        } catch (RuntimeException e) {
+            // Keep the current lease; it runs out on its own if renewals keep failing
+            log.warn("Renewing the {} role failed: {}", role, e.getMessage());
+        }
+    }
+
+    private JobLease acquire(String name, long leaseMs) {
+        if (ensured.add(name)) {
+            try {
+                shardRouter.writeToShard(LEASE_SHARD, () -> {
+                    jobLeaseRepository.ensureExists(name);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                ensured.remove(name);
+                throw e;
+            }
+        }
+        long requestedAt = System.nanoTime();
+        long token = shardRouter.writeToShard(LEASE_SHARD, () -> jobLeaseRepository.tryAcquire(name, owner, leaseMs));
+        return token < 0 ? null : new JobLease(name, token, requestedAt + TimeUnit.MILLISECONDS.toNanos(leaseMs));
+    }
+
+    private boolean renew(JobLease lease, long leaseMs) {
+        long requestedAt = System.nanoTime();
+        boolean renewed = shardRouter.writeToShard(LEASE_SHARD,
+                () -> jobLeaseRepository.renew(lease.getName(), owner, lease.getFencingToken(), leaseMs));
+        if (renewed) {
+            lease.extend(requestedAt + TimeUnit.MILLISECONDS.toNanos(leaseMs));
+        } else {
+            lease.markLost();
+        }
+        return renewed;
+    }
+
+    private void renewQuietly(JobLease lease, long leaseMs) {
+        try {
+            if (!renew(lease, leaseMs)) {
+                log.warn("Lease on job {} was taken over while it ran", lease.getName());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Renewing the lease on job {} failed: {}", lease.getName(), e.getMessage());
+        }
+    }
+
+    private void release(JobLease lease) {
+        try {
+            shardRouter.writeToShard(LEASE_SHARD, () -> {
+                jobLeaseRepository.release(lease.getName(), owner, lease.getFencingToken());
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Releasing the lease on {} failed, it expires on its own: {}", lease.getName(), e.getMessage());
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder leaseLost = new LongAdder();
+        private final LongAdder totalDurationMs = new LongAdder();
+        private volatile long lastDurationMs;
+        private volatile long maxDurationMs;
+        private volatile long lastFencingToken;
+        private volatile LocalDateTime lastFinishedAt;
+
+        private void record(long durationMs, long fencingToken) {
+            runs.increment();
+            totalDurationMs.add(durationMs);
+            lastDurationMs = durationMs;
+            maxDurationMs = Math.max(maxDurationMs, durationMs);
+            lastFencingToken = fencingToken;
+            lastFinishedAt = LocalDateTime.now();
+        }
+
+        private JobStats toStats(String name) {
+            long runCount = runs.sum();
+            return new JobStats(name, runCount, skipped.sum(), failures.sum(), leaseLost.sum(), lastDurationMs,
+                    maxDurationMs, runCount > 0 ? totalDurationMs.sum() / runCount : 0, lastFencingToken, lastFinishedAt);
+        }
+    }
+}
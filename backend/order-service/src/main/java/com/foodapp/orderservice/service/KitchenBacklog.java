@@ -0,0 +1,181 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.event.OrderChangedEvent;
+import com.foodapp.orderservice.model.OrderStatus;
+import com.foodapp.orderservice.repository.OrderRepository;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live count of orders per {@link OrderStatus}, kept in memory from committed order events so
+ * admission control can check the kitchen backlog without querying the database.
+ *
+ * <p>Counts are seeded from the database at startup and recomputed every
+ * {@code app.admission.resync-interval-ms} to correct drift from lost events or other instances
+ * writing to the same database. While the {@link KitchenQueue} is ready, the counts of the live
+ * statuses come from its queues instead, which follow changes made on every instance within seconds.
+ * Orders leaving the active statuses feed a smoothed estimate of how many orders the kitchen
+ * completes per minute.
+ */
+@Component
+public class KitchenBacklog {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenBacklog.class);
+
+    // Orders the kitchen still has to work on
+    public static final Set<OrderStatus> ACTIVE = EnumSet.of(OrderStatus.PENDING, OrderStatus.ACCEPTED, OrderStatus.PREPARING);
+
+    private static final double SMOOTHING = 0.2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(OrderStatus.values().length);
+    private final LongAdder completed = new LongAdder();
+
+    // Changes seen while a resync query runs; they are added on top of what the query returns
+    private volatile AtomicLongArray resyncDeltas;
+
+    // Smoothed orders per minute leaving the active statuses, negative until first measured
+    private volatile double throughputPerMinute = -1;
+
+    private volatile boolean seeded;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private KitchenQueue kitchenQueue;
+
+    @Value("${app.admission.throughput-sample-interval-ms:15000}")
+    private long sampleIntervalMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        resync();
+    }
+
+    @Scheduled(initialDelayString = "${app.admission.resync-interval-ms:300000}",
+            fixedDelayString = "${app.admission.resync-interval-ms:300000}")
+    public void resync() {
+        AtomicLongArray deltas = new AtomicLongArray(counts.length());
+        resyncDeltas = deltas;
+        try {
+            long[] stored = new long[counts.length()];
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                List<Object[]> rows = shardRouter.readFromShard(shard, orderRepository::countByStatus);
+                for (Object[] row : rows) {
+                    if (row[0] != null) {
+                        stored[((OrderStatus) row[0]).ordinal()] += ((Number) row[1]).longValue();
+                    }
+                }
+            }
+            for (int i = 0; i < stored.length; i++) {
+                counts.set(i, stored[i] + deltas.get(i));
+            }
+            if (!seeded) {
+                seeded = true;
+                log.info("Kitchen backlog seeded: {} active orders", getActiveCount());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Kitchen backlog resync failed: {}", e.getMessage());
+        } finally {
+            resyncDeltas = null;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        OrderStatus from = event.getPreviousStatus();
+        OrderStatus to = event.getStatus();
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            add(from, -1);
+        }
+        if (to != null) {
+            add(to, 1);
+        }
+        if (from != null && ACTIVE.contains(from) && !ACTIVE.contains(to)) {
+            completed.increment();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.admission.throughput-sample-interval-ms:15000}")
+    public void sampleThroughput() {
+        long local = completed.sumThenReset();
+        long seenByQueue = kitchenQueue.takeCompleted();
+        // The queue also sees orders completed through other instances
+        long done = kitchenQueue.isReady() ? seenByQueue : local;
+        // An idle kitchen says nothing about how fast it cooks, so keep the last estimate
+        if (done == 0 && getActiveCount() == 0) {
+            return;
+        }
+        double perMinute = done * 60000.0 / sampleIntervalMs;
+        double previous = throughputPerMinute;
+        throughputPerMinute = previous < 0 ? perMinute : previous + SMOOTHING * (perMinute - previous);
+    }
+
+    public long getCount(OrderStatus status) {
+        if (KitchenQueue.LIVE.contains(status) && kitchenQueue.isReady()) {
+            return kitchenQueue.size(status);
+        }
+        return Math.max(0, counts.get(status.ordinal()));
+    }
+
+    // PENDING + ACCEPTED + PREPARING
+    public long getActiveCount() {
+        long active = 0;
+        for (OrderStatus status : ACTIVE) {
+            active += getCount(status);
+        }
+        return active;
+    }
+
+    public Map<OrderStatus, Long> getCounts() {
+        Map<OrderStatus, Long> snapshot = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            snapshot.put(status, getCount(status));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Measured orders completed per minute, or {@code fallback} while nothing has been measured
+     * or the kitchen has stalled.
+     */
+    public double getThroughputPerMinute(double fallback) {
+        double measured = throughputPerMinute;
+        return measured > 0 ? measured : fallback;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    private void add(OrderStatus status, long delta) {
+        counts.addAndGet(status.ordinal(), delta);
+        AtomicLongArray deltas = resyncDeltas;
+        if (deltas != null) {
+            deltas.addAndGet(status.ordinal(), delta);
+        }
+    }
+}
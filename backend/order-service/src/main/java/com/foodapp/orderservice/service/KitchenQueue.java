@@ -0,0 +1,360 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.dto.OrderSummary;
+import com.foodapp.orderservice.event.OrderChangedEvent;
+import com.foodapp.orderservice.model.OrderStatus;
+import com.foodapp.orderservice.repository.OrderChangeRepository;
+import com.foodapp.orderservice.repository.OrderChangeRepository.Change;
+import com.foodapp.orderservice.repository.OrderRepository;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory index of the orders the kitchen still has to deal with, one queue per live status,
+ * each oldest {@code orderDate} first. Kitchen screens page through it instead of loading every order.
+ *
+ * <p>Each queue is a doubly linked list and every order is also indexed by id, so a status change
+ * unlinks the order and links it into the next queue without searching. New entries are placed by
+ * walking back from the tail; since orders move through the kitchen roughly in the order they were
+ * placed that walk is normally zero or one step.
+ *
+ * <p>The index is rebuilt from the database at startup and every {@code app.kitchen.rebuild-interval-ms}.
+ * In between it applies this node's committed {@link OrderChangedEvent}s right away, and every
+ * {@code app.kitchen.follow-interval-ms} re-reads the orders any node changed in the last
+ * {@code app.kitchen.follow-window-ms} (by {@code updated_at}), so changes made on other instances show up
+ * within seconds.
+ *
+ * <p>A followed row may have been read before a newer change was applied here, so every local change and
+ * every rebuild takes a number from a sequence, and each page of followed rows remembers the number
+ * current when it was queried. A row whose order changed locally, or that was read before the latest
+ * rebuild, after that number is skipped as stale; the next read inside the window brings the current state.
+ * That way an order never moves back to an older status, and its completion is counted once.
+ */
+@Component
+public class KitchenQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenQueue.class);
+
+    // Statuses with a queue; DELIVERED and REJECTED orders leave the index
+    public static final Set<OrderStatus> LIVE = EnumSet.of(OrderStatus.PENDING, OrderStatus.ACCEPTED,
+            OrderStatus.PREPARING, OrderStatus.READY);
+
+    static final Comparator<OrderSummary> OLDEST_FIRST = Comparator
+            .comparing(OrderSummary::getOrderDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(OrderSummary::getId);
+
+    private final Object lock = new Object();
+    private final Map<Long, Node> byId = new HashMap<>();
+    private final Lane[] lanes = new Lane[OrderStatus.values().length];
+
+    // Orders seen leaving the active statuses, on any node; read by KitchenBacklog for its throughput estimate
+    private final LongAdder completed = new LongAdder();
+
+    // Changes applied while a rebuild runs, reapplied on top of what it loaded
+    private List<Pending> duringRebuild;
+
+    // Guarded by lock: numbers local changes and rebuilds, see the class comment
+    private long changeSeq;
+    private long rebuiltAtSeq;
+    // Sequence number of each order's latest local change, kept until every follow pass started after it
+    private final Map<Long, Long> localChanges = new HashMap<>();
+
+    private volatile boolean ready;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderChangeRepository orderChangeRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${app.kitchen.follow-window-ms:10000}")
+    private long followWindowMs;
+
+    @Value("${app.kitchen.follow-batch-size:500}")
+    private int followBatchSize;
+
+    public KitchenQueue() {
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.kitchen.rebuild-interval-ms:300000}",
+            fixedDelayString = "${app.kitchen.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        long snapshotSeq;
+        synchronized (lock) {
+            duringRebuild = new ArrayList<>();
+            snapshotSeq = ++changeSeq;
+        }
+        List<OrderSummary> live;
+        try {
+            live = shardRouter.gather(() -> orderRepository.findSummariesByStatusInOrderByOrderDate(LIVE), OLDEST_FIRST);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                duringRebuild = null;
+            }
+            log.warn("Kitchen queue rebuild failed, queue reads fall back to the database: {}", e.getMessage());
+            return;
+        }
+
+        synchronized (lock) {
+            byId.clear();
+            for (Lane lane : lanes) {
+                lane.clear();
+            }
+            // Already sorted, so every order goes straight to the tail of its queue
+            for (OrderSummary order : live) {
+                Node node = new Node(order);
+                byId.put(order.getId(), node);
+                lanes[order.getStatus().ordinal()].append(node);
+            }
+            rebuiltAtSeq = snapshotSeq;
+            // Already counted when first applied
+            for (Pending pending : duringRebuild) {
+                apply(pending.event, pending.readSeq, false);
+            }
+            duringRebuild = null;
+            ready = true;
+        }
+        log.info("Kitchen queue rebuilt with {} live orders", live.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        synchronized (lock) {
+            localChanges.put(event.getOrderId(), ++changeSeq);
+            if (duringRebuild != null) {
+                duringRebuild.add(new Pending(event, Long.MAX_VALUE));
+            }
+            apply(event, Long.MAX_VALUE, true);
+        }
+    }
+
+    /**
+     * Applies the orders changed on any node within the follow window, shard by shard.
+     */
+    @Scheduled(initialDelayString = "${app.kitchen.follow-interval-ms:2000}",
+            fixedDelayString = "${app.kitchen.follow-interval-ms:2000}")
+    public void followChanges() {
+        long startSeq;
+        synchronized (lock) {
+            startSeq = changeSeq;
+        }
+        if (ready) {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                try {
+                    followShard(shard);
+                } catch (RuntimeException e) {
+                    log.warn("Kitchen queue could not read changes from shard {}: {}", shard, e.getMessage());
+                }
+            }
+        }
+        synchronized (lock) {
+            // Every later pass reads after these changes
+            localChanges.values().removeIf(seq -> seq <= startSeq);
+        }
+    }
+
+    private void followShard(int shard) {
+        Timestamp since = shardRouter.readFromShard(shard, () -> orderChangeRepository.settledThrough(followWindowMs));
+        long afterId = 0;
+        List<Change> page;
+        do {
+            Timestamp fromTime = since;
+            long fromId = afterId;
+            long readSeq;
+            synchronized (lock) {
+                readSeq = changeSeq;
+            }
+            page = shardRouter.readFromShard(shard, () -> orderChangeRepository.findChangedSince(fromTime, fromId, followBatchSize));
+            synchronized (lock) {
+                for (Change change : page) {
+                    OrderChangedEvent event = new OrderChangedEvent(change.getOrder(), null);
+                    if (duringRebuild != null) {
+                        duringRebuild.add(new Pending(event, readSeq));
+                    }
+                    apply(event, readSeq, true);
+                }
+            }
+            if (!page.isEmpty()) {
+                Change last = page.get(page.size() - 1);
+                since = last.getUpdatedAt();
+                afterId = last.getOrder().getId();
+            }
+        } while (page.size() == followBatchSize);
+    }
+
+    // Orders that left the active statuses since the last call
+    public long takeCompleted() {
+        return completed.sumThenReset();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size(OrderStatus status) {
+        synchronized (lock) {
+            return lanes[status.ordinal()].size;
+        }
+    }
+
+    /**
+     * Copies of the orders at positions {@code [page * size, page * size + size)} of a status queue.
+     */
+    public List<OrderSummary> page(OrderStatus status, int page, int size) {
+        List<OrderSummary> result = new ArrayList<>(size);
+        synchronized (lock) {
+            Node node = lanes[status.ordinal()].head;
+            for (long skip = (long) page * size; node != null && skip > 0; skip--) {
+                node = node.next;
+            }
+            for (; node != null && result.size() < size; node = node.next) {
+                result.add(copy(node.order));
+            }
+        }
+        return result;
+    }
+
+    // readSeq is the sequence number current when the change was read, Long.MAX_VALUE for local changes
+    private void apply(OrderChangedEvent event, long readSeq, boolean countCompletion) {
+        if (readSeq < rebuiltAtSeq || localChanges.getOrDefault(event.getOrderId(), Long.MIN_VALUE) > readSeq) {
+            return;
+        }
+        OrderStatus status = event.getStatus();
+        Node node = byId.get(event.getOrderId());
+        if (countCompletion && node != null && status != node.order.getStatus()
+                && KitchenBacklog.ACTIVE.contains(node.order.getStatus()) && !KitchenBacklog.ACTIVE.contains(status)) {
+            completed.increment();
+        }
+        if (status == null || !LIVE.contains(status)) {
+            if (node != null) {
+                lanes[node.order.getStatus().ordinal()].unlink(node);
+                byId.remove(event.getOrderId());
+            }
+            return;
+        }
+        if (node == null) {
+            node = new Node(copy(event.getOrder()));
+            byId.put(event.getOrderId(), node);
+        } else if (node.order.getStatus() == status) {
+            return;
+        } else {
+            lanes[node.order.getStatus().ordinal()].unlink(node);
+            node.order.setStatus(status);
+        }
+        lanes[status.ordinal()].insert(node);
+    }
+
+    private static OrderSummary copy(OrderSummary order) {
+        return new OrderSummary(order.getId(), order.getUserId(), order.getTotalAmount(), order.getStatus(),
+                order.getOrderDate(), order.getDeliveryAddress(), (long) order.getItemCount());
+    }
+
+    private static final class Pending {
+        private final OrderChangedEvent event;
+        private final long readSeq;
+
+        private Pending(OrderChangedEvent event, long readSeq) {
+            this.event = event;
+            this.readSeq = readSeq;
+        }
+    }
+
+    private static final class Node {
+        private final OrderSummary order;
+        private Node prev;
+        private Node next;
+
+        private Node(OrderSummary order) {
+            this.order = order;
+        }
+    }
+
+    private static final class Lane {
+        private Node head;
+        private Node tail;
+        private int size;
+
+        private void append(Node node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail != null) {
+                tail.next = node;
+            } else {
+                head = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        // Keeps the lane sorted; scans from the tail because most inserts belong there
+        private void insert(Node node) {
+            Node after = tail;
+            while (after != null && OLDEST_FIRST.compare(after.order, node.order) > 0) {
+                after = after.prev;
+            }
+            if (after == tail) {
+                append(node);
+                return;
+            }
+            Node before = after != null ? after.next : head;
+            node.prev = after;
+            node.next = before;
+            before.prev = node;
+            if (after != null) {
+                after.next = node;
+            } else {
+                head = node;
+            }
+            size++;
+        }
+
+        private void unlink(Node node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        private void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
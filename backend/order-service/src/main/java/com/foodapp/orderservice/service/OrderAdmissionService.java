@@ -0,0 +1,93 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.config.AdmissionProperties;
+import com.foodapp.orderservice.dto.AdmissionDecision;
+import com.foodapp.orderservice.dto.AdmissionDecision.Outcome;
+import com.foodapp.orderservice.dto.KitchenBacklogView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a new order may enter the kitchen. Below {@code backlog-limit} active orders
+ * everything is admitted; above it the configured mode rejects, queues or schedules the order for
+ * a later pickup, and above {@code hard-limit} every mode rejects. Rejections happen before any
+ * database work, so an overloaded kitchen does not also slow down order placement.
+ *
+ * <p>Callers must {@link #release} every decision that was not rejected once the order has been
+ * stored (or failed), so that concurrent requests see each other before their commit lands in
+ * {@link KitchenBacklog}.
+ */
+@Service
+public class OrderAdmissionService {
+
+    // Admitted orders whose insert has not committed yet
+    private final AtomicLong inFlight = new AtomicLong();
+
+    @Autowired
+    private KitchenBacklog kitchenBacklog;
+
+    @Autowired
+    private AdmissionProperties properties;
+
+    public AdmissionDecision admit() {
+        long position = kitchenBacklog.getActiveCount() + inFlight.incrementAndGet();
+        long waitSeconds = estimateWaitSeconds(position);
+        // Counts are unknown until seeded, so let orders through rather than guess
+        if (!properties.isEnabled() || !kitchenBacklog.isSeeded() || position <= properties.getBacklogLimit()) {
+            return new AdmissionDecision(Outcome.ADMITTED, position, waitSeconds);
+        }
+
+        if (position > properties.getHardLimit() || properties.getMode() == AdmissionProperties.Mode.REJECT) {
+            inFlight.decrementAndGet();
+            AdmissionDecision rejected = new AdmissionDecision(Outcome.REJECTED, position, waitSeconds);
+            rejected.setRetryAfterSeconds(retryAfterSeconds(position));
+            return rejected;
+        }
+        if (properties.getMode() == AdmissionProperties.Mode.SCHEDULED_PICKUP) {
+            AdmissionDecision scheduled = new AdmissionDecision(Outcome.SCHEDULED, position, waitSeconds);
+            scheduled.setScheduledFor(nextPickupSlot(LocalDateTime.now().plusSeconds(waitSeconds)));
+            return scheduled;
+        }
+        return new AdmissionDecision(Outcome.QUEUED, position, waitSeconds);
+    }
+
+    public void release(AdmissionDecision decision) {
+        if (decision != null && !decision.isRejected()) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public KitchenBacklogView getBacklog() {
+        KitchenBacklogView view = new KitchenBacklogView();
+        view.setCounts(kitchenBacklog.getCounts());
+        view.setActive(kitchenBacklog.getActiveCount());
+        view.setThroughputPerMinute(kitchenBacklog.getThroughputPerMinute(properties.getFallbackThroughputPerMinute()));
+        view.setMode(properties.isEnabled() ? properties.getMode().name() : "DISABLED");
+        view.setBacklogLimit(properties.getBacklogLimit());
+        view.setHardLimit(properties.getHardLimit());
+        return view;
+    }
+
+    private long estimateWaitSeconds(long position) {
+        double perMinute = kitchenBacklog.getThroughputPerMinute(properties.getFallbackThroughputPerMinute());
+        return (long) Math.ceil(position * 60.0 / perMinute);
+    }
+
+    // Time until the backlog is expected to drop back under the limit
+    private long retryAfterSeconds(long position) {
+        long excess = position - properties.getBacklogLimit();
+        return Math.max(1, Math.min(estimateWaitSeconds(excess), properties.getMaxRetryAfterSeconds()));
+    }
+
+    private LocalDateTime nextPickupSlot(LocalDateTime ready) {
+        int slot = Math.max(1, properties.getPickupSlotMinutes());
+        LocalDateTime hour = ready.truncatedTo(ChronoUnit.HOURS);
+        long minutes = ChronoUnit.MINUTES.between(hour, ready);
+        long slotStart = (minutes / slot + 1) * slot;
+        return hour.plusMinutes(slotStart);
+    }
+}
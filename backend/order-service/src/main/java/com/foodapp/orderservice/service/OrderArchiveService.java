@@ -0,0 +1,98 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.model.OrderStatus;
+import com.foodapp.orderservice.repository.OrderArchiveRepository;
+import com.foodapp.orderservice.scheduling.JobLease;
+import com.foodapp.orderservice.scheduling.LeasedJobScheduler;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves DELIVERED and REJECTED orders older than {@code app.archive.min-age-days} out of the hot
+ * {@code orders}/{@code order_items} tables into the monthly-partitioned archive tables.
+ * Runs on one node at a time under the {@value #JOB} lease.
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    static final String JOB = "order-archive";
+
+    private static final Set<OrderStatus> TERMINAL_STATUSES = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.REJECTED);
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private LeasedJobScheduler leasedJobs;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.min-age-days:90}")
+    private int minAgeDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            leasedJobs.runExclusively(JOB, this::archiveOldOrders);
+        }
+    }
+
+    /**
+     * @return number of orders archived across all shards
+     * @throws com.foodapp.orderservice.scheduling.LeaseLostException if {@code lease} ran out; finished batches stay archived
+     */
+    public int archiveOldOrders(JobLease lease) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int archived = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            archived += archiveShard(shard, cutoff, lease);
+        }
+        if (archived > 0) {
+            log.info("Archived {} orders placed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveShard(int shard, LocalDateTime cutoff, JobLease lease) {
+        int archived = 0;
+        while (true) {
+            lease.ensureHeld();
+            List<Long> orderIds = shardRouter.readFromShard(shard,
+                    () -> orderArchiveRepository.findArchivableOrderIds(TERMINAL_STATUSES, cutoff, batchSize));
+            if (orderIds.isEmpty()) {
+                return archived;
+            }
+            List<Integer> months = shardRouter.readFromShard(shard, () -> orderArchiveRepository.findArchiveMonths(orderIds));
+            shardRouter.writeToShard(shard, () -> {
+                for (int month : months) {
+                    orderArchiveRepository.ensureMonthlyPartition("orders_archive", month);
+                    orderArchiveRepository.ensureMonthlyPartition("order_items_archive", month);
+                }
+                return null;
+            });
+            archived += shardRouter.writeToShard(shard, () -> {
+                leasedJobs.fence(lease);
+                return orderArchiveRepository.moveToArchive(orderIds);
+            });
+        }
+    }
+}
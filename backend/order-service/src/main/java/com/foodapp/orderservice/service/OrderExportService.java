@@ -0,0 +1,140 @@
+package com.foodapp.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodapp.orderservice.export.ExportFormat;
+import com.foodapp.orderservice.export.StreamingExportWriter;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams orders (hot and archived) with their items straight from a MySQL result set into the
+ * response, one order at a time. No entities are loaded and nothing is collected into a list, so
+ * memory use stays the same however many orders are exported. Admin-only, so it is created on the
+ * first export rather than at startup.
+ */
+@Service
+@Lazy
+public class OrderExportService {
+
+    static final List<String> COLUMNS = Arrays.asList(
+            "id", "userId", "totalAmount", "status", "orderDate", "deliveryAddress", "orderItems");
+
+    // Connector/J streams rows one by one instead of buffering the whole result set
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final String EXPORT_SQL =
+            "SELECT o.id, o.user_id, o.total_amount, o.status, o.order_date, o.delivery_address, "
+                    + "oi.id AS item_id, oi.menu_item_id, oi.quantity, oi.price "
+                    + "FROM %s o LEFT JOIN %s oi ON oi.order_id = o.id "
+                    + "WHERE o.order_date >= ? AND o.order_date < ? ORDER BY o.id";
+
+    private final JdbcTemplate streamingJdbc;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public OrderExportService(DataSource dataSource) {
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(STREAMING_FETCH_SIZE);
+    }
+
+    /**
+     * Writes every order placed in {@code [from, to)} to {@code out}; returns the number written.
+     */
+    public long exportOrders(OutputStream out, ExportFormat format, LocalDateTime from, LocalDateTime to) throws IOException {
+        try (StreamingExportWriter writer = new StreamingExportWriter(out, format, objectMapper, COLUMNS)) {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                shardRouter.readFromShard(shard, () -> {
+                    streamTable("orders", "order_items", writer, from, to);
+                    streamTable("orders_archive", "order_items_archive", writer, from, to);
+                    return null;
+                });
+            }
+            return writer.getWritten();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void streamTable(String ordersTable, String itemsTable, StreamingExportWriter writer,
+                             LocalDateTime from, LocalDateTime to) {
+        OrderRowGrouper grouper = new OrderRowGrouper(writer);
+        streamingJdbc.query(String.format(EXPORT_SQL, ordersTable, itemsTable), grouper,
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+        grouper.finish();
+    }
+
+    /**
+     * Collapses the consecutive joined rows of one order into a single record with its items.
+     */
+    private static final class OrderRowGrouper implements RowCallbackHandler {
+        private final StreamingExportWriter writer;
+        private Map<String, Object> current;
+        private List<Map<String, Object>> currentItems;
+
+        private OrderRowGrouper(StreamingExportWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong("id");
+            if (current == null || !current.get("id").equals(orderId)) {
+                finish();
+                current = new LinkedHashMap<>();
+                currentItems = new ArrayList<>();
+                current.put("id", orderId);
+                current.put("userId", rs.getLong("user_id"));
+                current.put("totalAmount", rs.getDouble("total_amount"));
+                current.put("status", rs.getString("status"));
+                Timestamp orderDate = rs.getTimestamp("order_date");
+                current.put("orderDate", orderDate != null ? orderDate.toLocalDateTime() : null);
+                current.put("deliveryAddress", rs.getString("delivery_address"));
+                current.put("orderItems", currentItems);
+            }
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("id", itemId);
+                item.put("menuItemId", rs.getLong("menu_item_id"));
+                item.put("quantity", rs.getInt("quantity"));
+                item.put("price", rs.getDouble("price"));
+                currentItems.add(item);
+            }
+        }
+
+        private void finish() {
+            if (current == null) {
+                return;
+            }
+            try {
+                writer.write(current);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            current = null;
+            currentItems = null;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.client.MenuCatalogClient;
+import com.foodapp.orderservice.client.MenuCatalogClient.MenuItemInfo;
+import com.foodapp.orderservice.dto.OrderHistoryItem;
+import com.foodapp.orderservice.dto.OrderHistoryView;
+import com.foodapp.orderservice.event.OrderChangedEvent;
+import com.foodapp.orderservice.model.Order;
+import com.foodapp.orderservice.model.OrderItem;
+import com.foodapp.orderservice.repository.OrderArchiveRepository;
+import com.foodapp.orderservice.repository.OrderHistoryRepository;
+import com.foodapp.orderservice.repository.OrderHistoryRepository.ChangedOrder;
+import com.foodapp.orderservice.repository.OrderHistoryRepository.Checkpoint;
+import com.foodapp.orderservice.repository.OrderRepository;
+import com.foodapp.orderservice.scheduling.JobLease;
+import com.foodapp.orderservice.scheduling.LeaseLostException;
+import com.foodapp.orderservice.scheduling.LeasedJobScheduler;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the {@code order_history} read model from order write events.
+ *
+ * <p>Events are applied after commit on a single background thread, so updates to one order are
+ * projected in the order they happened. Each projection re-reads the order from the write model
+ * and keeps the item names already snapshotted in the existing document. The queue is bounded;
+ * events that do not fit are dropped and left to the catch-up.
+ *
+ * <p>A scheduled catch-up pass projects orders whose event was lost (restart, crash, full queue)
+ * or whose names are still missing; it runs on one node at a time under the {@value #CATCH_UP_JOB}
+ * lease. It walks {@code orders} and {@code orders_archive} by {@code updated_at} from the position
+ * saved in {@code order_history_checkpoint}, so each pass only reads rows changed since the last one.
+ */
+@Service
+public class OrderHistoryProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderHistoryProjector.class);
+
+    static final String CATCH_UP_JOB = "order-history-catch-up";
+
+    private static final String[] SOURCE_TABLES = {"orders", "orders_archive"};
+
+    private ThreadPoolExecutor worker;
+
+    // Users with events not yet applied; their reads go to the write model until it catches up
+    private final Map<Long, Integer> pendingByUser = new ConcurrentHashMap<>();
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @Autowired
+    private MenuCatalogClient menuCatalogClient;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private LeasedJobScheduler leasedJobs;
+
+    @Value("${app.read-model.enabled:true}")
+    private boolean enabled;
+
+    // Set once a catch-up pass finds nothing left to project, i.e. existing orders have been backfilled
+    private volatile boolean backfilled;
+
+    @Value("${app.read-model.catch-up-batch-size:200}")
+    private int catchUpBatchSize;
+
+    @Value("${app.read-model.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Rows stamped later than this before now may belong to transactions that have not committed yet
+    @Value("${app.read-model.commit-lag-ms:60000}")
+    private long commitLagMs;
+
+    @PostConstruct
+    public void start() {
+        worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "order-history-projector");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * True when the read model can serve list screens: it is enabled and existing orders have been backfilled.
+     */
+    public boolean isReadable() {
+        return enabled && backfilled;
+    }
+
+    /**
+     * True when the read model is readable and every event for {@code userId} has been applied.
+     */
+    public boolean isCaughtUp(Long userId) {
+        return isReadable() && !pendingByUser.containsKey(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Long userId = event.getUserId();
+        pendingByUser.merge(userId, 1, Integer::sum);
+        try {
+            worker.execute(() -> {
+                try {
+                    project(event.getOrderId(), userId);
+                } catch (RuntimeException e) {
+                    // The catch-up pass picks the order up again
+                    log.warn("Projecting order {} failed: {}", event.getOrderId(), e.getMessage());
+                } finally {
+                    released(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The order's updated_at is past the catch-up position, so the next pass projects it
+            released(userId);
+            log.debug("Projector queue full, leaving order {} to the catch-up", event.getOrderId());
+        }
+    }
+
+    private void released(Long userId) {
+        pendingByUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    @Scheduled(initialDelayString = "${app.read-model.catch-up-initial-delay-ms:10000}",
+            fixedDelayString = "${app.read-model.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        if (!enabled) {
+            return;
+        }
+        if (!leasedJobs.runExclusively(CATCH_UP_JOB, this::catchUp) && !backfilled) {
+            // Another node is catching up; only find out whether the backfill is done
+            boolean upToDate = true;
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                upToDate &= shardRouter.readFromShard(shard, () -> orderHistoryRepository.isCaughtUp(SOURCE_TABLES.length));
+            }
+            if (upToDate) {
+                backfilled = true;
+                log.info("Order history read model is up to date; list screens now read from it");
+            }
+        }
+    }
+
+    private void catchUp(JobLease lease) {
+        int projected = 0;
+        boolean upToDate = true;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            for (String table : SOURCE_TABLES) {
+                CatchUpResult result = catchUp(lease, shard, table);
+                projected += result.projected;
+                upToDate &= result.caughtUp;
+            }
+            lease.ensureHeld();
+            for (long[] order : shardRouter.readFromShard(shard, () -> orderHistoryRepository.findIncompleteNames(catchUpBatchSize))) {
+                try {
+                    project(order[0], order[1], lease);
+                    projected++;
+                } catch (LeaseLostException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    log.warn("Catch-up projection of order {} failed: {}", order[0], e.getMessage());
+                }
+            }
+        }
+        if (projected > 0) {
+            log.info("Order history catch-up projected {} orders", projected);
+        }
+        if (upToDate && !backfilled) {
+            backfilled = true;
+            log.info("Order history read model is up to date; list screens now read from it");
+        }
+    }
+
+    /**
+     * Projects the rows of one table changed since its checkpoint, a page at a time, and moves the
+     * checkpoint past what was projected. A failed projection stops the table at the row before it,
+     * so the next pass retries from there.
+     */
+    private CatchUpResult catchUp(JobLease lease, int shard, String table) {
+        Checkpoint checkpoint = shardRouter.readFromShard(shard, () -> orderHistoryRepository.findCheckpoint(table))
+                .orElse(new Checkpoint(new Timestamp(0), 0, false));
+        Timestamp settled = shardRouter.readFromShard(shard, () -> orderHistoryRepository.settledThrough(commitLagMs));
+        CatchUpResult result = new CatchUpResult();
+        while (true) {
+            lease.ensureHeld();
+            Checkpoint from = checkpoint;
+            List<ChangedOrder> page = shardRouter.readFromShard(shard, () -> orderHistoryRepository.findChangedSince(
+                    table, from.getUpdatedThrough(), from.getLastId(), catchUpBatchSize));
+
+            ChangedOrder last = null;
+            boolean failed = false;
+            for (ChangedOrder order : page) {
+                try {
+                    project(order.getId(), order.getUserId(), lease);
+                    result.projected++;
+                    last = order;
+                } catch (LeaseLostException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    log.warn("Catch-up projection of order {} failed: {}", order.getId(), e.getMessage());
+                    failed = true;
+                    break;
+                }
+            }
+
+            boolean endReached = !failed && page.size() < catchUpBatchSize;
+            if (endReached) {
+                // Rows still in flight are stamped after the settled time, so resuming from it misses none
+                checkpoint = laterOf(checkpoint, new Checkpoint(settled, 0, true));
+            } else if (last != null) {
+                checkpoint = earlierOf(new Checkpoint(last.getUpdatedAt(), last.getId(), checkpoint.isCaughtUp()),
+                        new Checkpoint(settled, 0, checkpoint.isCaughtUp()));
+            }
+            if (checkpoint != from) {
+                Checkpoint save = checkpoint;
+                shardRouter.writeToShard(shard, () -> {
+                    leasedJobs.fence(lease);
+                    orderHistoryRepository.saveCheckpoint(table, save);
+                    return null;
+                });
+            }
+            // A full page of rows newer than the settled time is left for the next pass
+            if (endReached || failed || compare(checkpoint, from) == 0) {
+                result.caughtUp = endReached;
+                return result;
+            }
+        }
+    }
+
+    private static Checkpoint laterOf(Checkpoint a, Checkpoint b) {
+        return compare(a, b) >= 0 ? a : b;
+    }
+
+    private static Checkpoint earlierOf(Checkpoint a, Checkpoint b) {
+        return compare(a, b) <= 0 ? a : b;
+    }
+
+    private static int compare(Checkpoint a, Checkpoint b) {
+        int byTime = a.getUpdatedThrough().compareTo(b.getUpdatedThrough());
+        return byTime != 0 ? byTime : Long.compare(a.getLastId(), b.getLastId());
+    }
+
+    /**
+     * Rebuilds the document of one order from the write model (hot or archive table).
+     */
+    public void project(Long orderId, Long userId) {
+        project(orderId, userId, null);
+    }
+
+    // With a lease (catch-up), the upsert is fenced so a node that lost the lease cannot write an older document
+    private void project(Long orderId, Long userId, JobLease lease) {
+        Source source = shardRouter.readForUser(userId, () -> {
+            Optional<Order> order = orderRepository.findByIdWithItems(orderId).or(() -> orderArchiveRepository.findById(orderId));
+            return order.map(o -> new Source(o, orderHistoryRepository.findById(orderId))).orElse(null);
+        });
+        if (source == null) {
+            return;
+        }
+
+        // Names already in the document were taken at order time and are kept as they are
+        Map<Long, OrderHistoryItem> snapshotted = new HashMap<>();
+        source.existing.ifPresent(view -> view.getOrderItems().forEach(item -> snapshotted.put(item.getMenuItemId(), item)));
+
+        Set<Long> missing = new LinkedHashSet<>();
+        for (OrderItem item : source.items) {
+            OrderHistoryItem known = snapshotted.get(item.getMenuItemId());
+            if (known == null || known.getMenuItemName() == null) {
+                missing.add(item.getMenuItemId());
+            }
+        }
+        Optional<Map<Long, MenuItemInfo>> lookedUp = menuCatalogClient.findByIds(missing);
+        Map<Long, MenuItemInfo> menuItems = lookedUp.orElse(Collections.emptyMap());
+
+        List<OrderHistoryItem> items = new ArrayList<>(source.items.size());
+        for (OrderItem item : source.items) {
+            OrderHistoryItem known = snapshotted.get(item.getMenuItemId());
+            MenuItemInfo info = menuItems.get(item.getMenuItemId());
+            String name = known != null && known.getMenuItemName() != null ? known.getMenuItemName()
+                    : info != null ? info.getName() : null;
+            String category = known != null && known.getMenuItemName() != null ? known.getCategory()
+                    : info != null ? info.getCategory() : null;
+            items.add(new OrderHistoryItem(item.getMenuItemId(), name, category, item.getQuantity(), item.getPrice()));
+        }
+
+        OrderHistoryView view = new OrderHistoryView();
+        view.setId(source.order.getId());
+        view.setUserId(source.order.getUserId());
+        view.setTotalAmount(source.order.getTotalAmount());
+        view.setStatus(source.order.getStatus());
+        view.setOrderDate(source.order.getOrderDate());
+        view.setDeliveryAddress(source.order.getDeliveryAddress());
+        view.setItemCount(items.size());
+        view.setOrderItems(items);
+
+        // Items deleted from the menu have no name to find, so only a failed lookup leaves the document incomplete
+        boolean namesComplete = missing.isEmpty() || lookedUp.isPresent();
+        shardRouter.writeForUser(userId, () -> {
+            if (lease != null) {
+                leasedJobs.fence(lease);
+            }
+            orderHistoryRepository.upsert(view, namesComplete);
+            return null;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    private static class CatchUpResult {
+        private int projected;
+        private boolean caughtUp;
+    }
+
+    // Write-model state read in one transaction; items are copied out while the session is open
+    private static class Source {
+        private final Order order;
+        private final List<OrderItem> items;
+        private final Optional<OrderHistoryView> existing;
+
+        private Source(Order order, Optional<OrderHistoryView> existing) {
+            this.order = order;
+            this.items = order.getOrderItems() != null ? new ArrayList<>(order.getOrderItems()) : new ArrayList<>();
+            this.existing = existing;
+        }
+    }
+}
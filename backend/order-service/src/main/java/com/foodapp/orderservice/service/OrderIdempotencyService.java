@@ -0,0 +1,190 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.model.Order;
+import com.foodapp.orderservice.repository.OrderRepository;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes {@code POST /api/orders} safe to retry: a request carrying an {@code Idempotency-Key} the
+ * user already used gets the order that key created instead of a new one.
+ *
+ * <p>Recently used keys are answered from a bounded in-memory map. A duplicate that arrives while
+ * the first request is still running waits for it (single-flight) rather than racing it to the
+ * database; older keys, and keys used on another instance, are found through the unique
+ * {@code (user_id, idempotency_key)} column.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private final Map<String, CompletableFuture<Order>> inFlight = new ConcurrentHashMap<>();
+
+    // key -> {orderId, createdAt}, least recently used first
+    private final Map<String, long[]> recent = new LinkedHashMap<String, long[]>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.idempotency.cache-ttl-ms:600000}")
+    private long cacheTtlMs;
+
+    @Value("${app.idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    // The first request with a key did not finish within the wait timeout
+    public static class StillRunningException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public StillRunningException(String message) {
+            super(message);
+        }
+    }
+
+    public static class Result {
+        private final Order order;
+        private final boolean replayed;
+
+        private Result(Order order, boolean replayed) {
+            this.order = order;
+            this.replayed = replayed;
+        }
+
+        public Order getOrder() { return order; }
+        public boolean isReplayed() { return replayed; }
+    }
+
+    /**
+     * The order already created with this key, if it is in the recent-keys map. Cheap enough to
+     * call before admission control so replays are never turned away.
+     */
+    public Optional<Order> findRecent(Long userId, String key) {
+        Long orderId = recentOrderId(cacheKey(userId, key));
+        if (orderId == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(orderService.getOrderById(orderId));
+        } catch (RuntimeException e) {
+            // Not readable right now; createOnce looks the key up again
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Runs {@code create} unless {@code key} has already produced an order for {@code userId}.
+     *
+     * @throws StillRunningException if an earlier request with the same key is still running after the wait timeout
+     */
+    public Result createOnce(Long userId, String key, Supplier<Order> create) {
+        String cacheKey = cacheKey(userId, key);
+        CompletableFuture<Order> mine = new CompletableFuture<>();
+        CompletableFuture<Order> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            return new Result(await(running), true);
+        }
+
+        try {
+            Result result = createOrFind(userId, key, cacheKey, create);
+            remember(cacheKey, result.getOrder().getId());
+            mine.complete(result.getOrder());
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    private Result createOrFind(Long userId, String key, String cacheKey, Supplier<Order> create) {
+        Long orderId = recentOrderId(cacheKey);
+        if (orderId == null) {
+            orderId = findStored(userId, key);
+        }
+        if (orderId != null) {
+            return new Result(orderService.getOrderById(orderId), true);
+        }
+        try {
+            return new Result(create.get(), false);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the key first
+            Long stored = findStored(userId, key);
+            if (stored == null) {
+                throw e;
+            }
+            return new Result(orderService.getOrderById(stored), true);
+        }
+    }
+
+    private Long findStored(Long userId, String key) {
+        return shardRouter.readForUser(userId, () -> orderRepository.findIdByUserIdAndIdempotencyKey(userId, key))
+                .orElse(null);
+    }
+
+    private Long recentOrderId(String cacheKey) {
+        synchronized (recent) {
+            long[] entry = recent.get(cacheKey);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - entry[1] > cacheTtlMs) {
+                recent.remove(cacheKey);
+                return null;
+            }
+            return entry[0];
+        }
+    }
+
+    private void remember(String cacheKey, Long orderId) {
+        synchronized (recent) {
+            recent.put(cacheKey, new long[] {orderId, System.currentTimeMillis()});
+        }
+    }
+
+    private Order await(CompletableFuture<Order> future) {
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            throw new StillRunningException("Original request with this Idempotency-Key is still running");
+        }
+    }
+
+    private static String cacheKey(Long userId, String key) {
+        return userId + ":" + key;
+    }
+}
@@ -0,0 +1,353 @@
+package com.foodapp.orderservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.foodapp.orderservice.config.IntakeProperties;
+import com.foodapp.orderservice.dto.IntakeStatus;
+import com.foodapp.orderservice.dto.IntakeStatus.State;
+import com.foodapp.orderservice.intake.IntakeJournal;
+import com.foodapp.orderservice.model.Order;
+import com.foodapp.orderservice.model.OrderItem;
+import com.foodapp.orderservice.model.OrderStatus;
+import com.foodapp.orderservice.repository.OrderRepository;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Optional asynchronous intake for order bursts ({@code app.intake.enabled}).
+ *
+ * <p>A submitted order is validated, written to the {@link IntakeJournal} (fsyncs are shared between
+ * concurrent submissions) and queued; the caller gets its intake id right away. A single writer thread
+ * takes up to {@code batch-size} queued orders at a time and commits each shard's share in one
+ * transaction, so a burst costs one commit per batch instead of one per order. Journal entries are
+ * released only after their commit, and anything still in the journal at startup is replayed; the
+ * unique {@code orders.intake_id} keeps a replayed order from being inserted twice.
+ */
+@Service
+public class OrderIntakeService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntakeService.class);
+
+    private static final long MAX_RETRY_BACKOFF_MS = 30000;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Map<String, IntakeStatus> statuses = new ConcurrentHashMap<>();
+
+    @Autowired
+    private IntakeProperties properties;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Semaphore capacity;
+    private IntakeJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        capacity = new Semaphore(properties.getQueueCapacity());
+        journal = new IntakeJournal(Paths.get(properties.getJournalDir()), properties.getJournalSegmentEntries());
+        List<IntakeJournal.Entry> replay = journal.open();
+
+        running = true;
+        writer = new Thread(this::writeLoop, "order-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        for (IntakeJournal.Entry entry : replay) {
+            capacity.acquireUninterruptibly();
+            JsonNode record = objectMapper.readTree(entry.getPayload());
+            String intakeId = record.path("intakeId").asText();
+            statuses.put(intakeId, new IntakeStatus(intakeId, State.QUEUED, null, null));
+            queue.add(new Pending(intakeId, record.path("order").path("userId").asLong(), entry.getPayload(), entry.getSegment()));
+        }
+        if (!replay.isEmpty()) {
+            log.info("Replaying {} orders from the intake journal", replay.size());
+        }
+    }
+
+    /**
+     * Validates and durably queues an order.
+     *
+     * @throws IllegalArgumentException if the order is incomplete
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public IntakeStatus submit(Order order) throws IOException {
+        validate(order);
+        if (!running) {
+            throw new RejectedExecutionException("Order intake is not running");
+        }
+        if (!capacity.tryAcquire()) {
+            throw new RejectedExecutionException("Order intake queue is full");
+        }
+
+        String intakeId = UUID.randomUUID().toString();
+        try {
+            order.setId(null);
+            order.setStatus(OrderStatus.PENDING);
+            ObjectNode record = objectMapper.createObjectNode().put("intakeId", intakeId);
+            record.set("order", objectMapper.valueToTree(order));
+            byte[] payload = objectMapper.writeValueAsBytes(record);
+
+            long segment = journal.append(payload);
+            IntakeStatus status = new IntakeStatus(intakeId, State.QUEUED, null, null);
+            statuses.put(intakeId, status);
+            queue.add(new Pending(intakeId, order.getUserId(), payload, segment));
+            return status;
+        } catch (IOException | RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Status of an intake id; statuses no longer held in memory are looked up by the stored order.
+     */
+    public Optional<IntakeStatus> getStatus(String intakeId) {
+        IntakeStatus status = statuses.get(intakeId);
+        if (status != null) {
+            return Optional.of(status);
+        }
+        List<Long> orderIds = shardRouter.gather(
+                () -> orderRepository.findIdByIntakeId(intakeId).map(List::of).orElse(List.of()),
+                Comparator.<Long>naturalOrder());
+        return orderIds.stream().findFirst().map(id -> new IntakeStatus(intakeId, State.PERSISTED, id, null));
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictFinishedStatuses() {
+        long cutoff = System.currentTimeMillis() - properties.getStatusRetentionMs();
+        statuses.values().removeIf(status -> status.getState() != State.QUEUED && status.getUpdatedAt() < cutoff);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!running) {
+            return;
+        }
+        // Orders still queued stay in the journal and are replayed on the next start
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        journal.close();
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                Pending first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Pending> batch = new ArrayList<>(properties.getBatchSize());
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order intake writer error", e);
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) throws InterruptedException {
+        int shardCount = shardRouter.getShardCount();
+        Map<Integer, List<Pending>> byShard = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            int shard = ShardRouter.shardForUser(pending.userId, shardCount);
+            byShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(pending);
+        }
+
+        for (Map.Entry<Integer, List<Pending>> group : byShard.entrySet()) {
+            int shard = group.getKey();
+            List<Pending> orders = group.getValue();
+            Map<String, Long> orderIds;
+            boolean stopped = false;
+            try {
+                orderIds = persistWithRetry(shard, orders);
+            } catch (RuntimeException e) {
+                // A bad order fails the whole batch; commit one by one so only that order fails
+                log.warn("Intake batch of {} orders failed on shard {}, retrying individually: {}", orders.size(), shard, e.getMessage());
+                orderIds = new HashMap<>();
+                for (Pending pending : orders) {
+                    try {
+                        Map<String, Long> single = persistWithRetry(shard, List.of(pending));
+                        if (single == null) {
+                            // Shutting down; the orders stored so far are still reported below
+                            stopped = true;
+                            break;
+                        }
+                        orderIds.putAll(single);
+                    } catch (RuntimeException single) {
+                        finish(pending, State.FAILED, null, single.getMessage());
+                    }
+                }
+            }
+            if (orderIds == null) {
+                // Shutting down during a database outage; the journal still has these orders
+                return;
+            }
+            for (Pending pending : orders) {
+                Long orderId = orderIds.get(pending.intakeId);
+                if (orderId != null) {
+                    finish(pending, State.PERSISTED, orderId, null);
+                }
+            }
+            if (stopped) {
+                // The remaining shard groups were not written; the journal replays them on the next start
+                return;
+            }
+        }
+    }
+
+    private Map<String, Long> persistWithRetry(int shard, List<Pending> orders) throws InterruptedException {
+        long backoff = 500;
+        while (running) {
+            try {
+                return persist(shard, orders);
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                log.warn("Database unavailable for intake batch, retrying in {} ms: {}", backoff, e.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+        return null;
+    }
+
+    // One transaction for the whole group; orders already stored by an earlier attempt are skipped
+    private Map<String, Long> persist(int shard, List<Pending> orders) {
+        return shardRouter.writeToShard(shard, () -> {
+            Map<String, Long> orderIds = new HashMap<>();
+            List<String> intakeIds = orders.stream().map(p -> p.intakeId).collect(Collectors.toList());
+            for (Object[] row : orderRepository.findIdsByIntakeIdIn(intakeIds)) {
+                orderIds.put((String) row[0], (Long) row[1]);
+            }
+            for (Pending pending : orders) {
+                if (!orderIds.containsKey(pending.intakeId)) {
+                    // Decoded per attempt: a rolled back attempt leaves generated ids on the old objects
+                    Order saved = orderService.saveNewOrder(decode(pending));
+                    orderIds.put(pending.intakeId, saved.getId());
+                }
+            }
+            return orderIds;
+        });
+    }
+
+    private void finish(Pending pending, State state, Long orderId, String error) {
+        statuses.put(pending.intakeId, new IntakeStatus(pending.intakeId, state, orderId, error));
+        try {
+            journal.complete(pending.segment);
+        } catch (IOException e) {
+            log.warn("Could not release intake journal segment {}: {}", pending.segment, e.getMessage());
+        }
+        capacity.release();
+    }
+
+    private Order decode(Pending pending) {
+        try {
+            JsonNode record = objectMapper.readTree(pending.payload);
+            Order order = objectMapper.treeToValue(record.get("order"), Order.class);
+            order.setIntakeId(pending.intakeId);
+            return order;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void validate(Order order) {
+        if (order.getUserId() == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        if (order.getOrderItems() == null || order.getOrderItems().isEmpty()) {
+            throw new IllegalArgumentException("At least one order item is required");
+        }
+        for (OrderItem item : order.getOrderItems()) {
+            if (item.getMenuItemId() == null || item.getQuantity() == null || item.getQuantity() <= 0
+                    || item.getPrice() == null || item.getPrice() < 0) {
+                throw new IllegalArgumentException("Invalid order item");
+            }
+        }
+        if (order.getTotalAmount() == null || order.getTotalAmount() < 0) {
+            throw new IllegalArgumentException("totalAmount is required");
+        }
+        if (order.getDeliveryAddress() == null || order.getDeliveryAddress().trim().isEmpty()) {
+            throw new IllegalArgumentException("deliveryAddress is required");
+        }
+    }
+
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Pending {
+        private final String intakeId;
+        private final long userId;
+        private final byte[] payload;
+        private final long segment;
+
+        private Pending(String intakeId, long userId, byte[] payload, long segment) {
+            this.intakeId = intakeId;
+            this.userId = userId;
+            this.payload = payload;
+            this.segment = segment;
+        }
+    }
+}
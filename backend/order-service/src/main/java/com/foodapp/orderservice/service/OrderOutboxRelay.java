@@ -0,0 +1,108 @@
+package com.foodapp.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.foodapp.orderservice.config.EventLogProperties;
+import com.foodapp.orderservice.eventlog.OrderEventLog;
+import com.foodapp.orderservice.repository.OrderOutboxRepository;
+import com.foodapp.orderservice.repository.OrderOutboxRepository.OutboxEntry;
+import com.foodapp.orderservice.scheduling.LeasedJobScheduler;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains {@code order_outbox} on every shard into the {@link OrderEventLog} in batches.
+ * A batch is appended (and forced to disk) before its rows are deleted in the same shard
+ * transaction, so an event is never lost; a crash in between only repeats it.
+ *
+ * <p>Only the node holding the {@value #ROLE} lease drains, so the whole stream lands in one node's
+ * log in commit order instead of being split across replicas. The role stays with its node while that
+ * node keeps renewing it; {@code GET /api/orders/events} says whether the answering node is the writer.
+ */
+@Service
+public class OrderOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    public static final String ROLE = "order-event-relay";
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Autowired
+    private OrderEventLog orderEventLog;
+
+    @Autowired
+    private EventLogProperties properties;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LeasedJobScheduler leasedJobs;
+
+    public boolean isWriter() {
+        return orderEventLog.isEnabled() && leasedJobs.isLeader(ROLE);
+    }
+
+    @Scheduled(fixedDelayString = "${app.event-log.drain-interval-ms:200}")
+    public void drain() {
+        if (!isWriter()) {
+            return;
+        }
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try {
+                int moved;
+                do {
+                    moved = shardRouter.writeToShard(shard, this::drainBatch);
+                    // Stop as soon as the role moved, so two nodes never append at once for long
+                } while (moved == properties.getDrainBatchSize() && leasedJobs.isLeader(ROLE));
+            } catch (RuntimeException e) {
+                log.warn("Draining order outbox of shard {} failed: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    private int drainBatch() {
+        List<OutboxEntry> batch = orderOutboxRepository.lockBatch(properties.getDrainBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<byte[]> events = new ArrayList<>(batch.size());
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (OutboxEntry entry : batch) {
+            events.add(toEvent(entry));
+            ids.add(entry.getId());
+        }
+        orderEventLog.append(events);
+        orderOutboxRepository.delete(ids);
+        return batch.size();
+    }
+
+    private byte[] toEvent(OutboxEntry entry) {
+        try {
+            ObjectNode event = objectMapper.createObjectNode()
+                    .put("eventId", entry.getId())
+                    .put("type", entry.getEventType())
+                    .put("orderId", entry.getOrderId())
+                    .put("userId", entry.getUserId())
+                    .put("occurredAt", Instant.ofEpochMilli(entry.getCreatedAt()).toString());
+            event.set("data", objectMapper.readTree(entry.getPayload()));
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload for row " + entry.getId(), e);
+        }
+    }
+}
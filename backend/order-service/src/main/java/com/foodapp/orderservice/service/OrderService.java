@@ -1,14 +1,31 @@
 package com.foodapp.orderservice.service;
 
+import com.foodapp.orderservice.config.ReadYourWritesTracker;
+import com.foodapp.orderservice.dto.KitchenQueuePage;
+import com.foodapp.orderservice.dto.OrderHistoryItem;
+import com.foodapp.orderservice.dto.OrderHistoryView;
+import com.foodapp.orderservice.dto.OrderSummary;
+import com.foodapp.orderservice.event.OrderChangedEvent;
 import com.foodapp.orderservice.model.Order;
 import com.foodapp.orderservice.model.OrderItem;
 import com.foodapp.orderservice.model.OrderStatus;
+import com.foodapp.orderservice.repository.OrderArchiveRepository;
+import com.foodapp.orderservice.repository.OrderHistoryRepository;
+import com.foodapp.orderservice.repository.OrderOutboxRepository;
 import com.foodapp.orderservice.repository.OrderRepository;
+import com.foodapp.orderservice.sharding.ShardRouter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Comparator;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class OrderService {
@@ -16,37 +33,214 @@ public class OrderService {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @Autowired
+    private OrderHistoryProjector orderHistoryProjector;
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private KitchenQueue kitchenQueue;
+
+    @Transactional
     public Order createOrder(Order order) {
+        shardRouter.bindUser(order.getUserId());
+        return saveNewOrder(order);
+    }
+
+    /**
+     * Inserts a new order with its outbox event in the caller's transaction, which must already be
+     * on the user's shard; shared by {@link #createOrder} and the batched intake writer.
+     */
+    @Transactional
+    public Order saveNewOrder(Order order) {
         // Set order reference for each order item
         if (order.getOrderItems() != null) {
             for (OrderItem item : order.getOrderItems()) {
                 item.setOrder(order);
             }
         }
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        orderOutboxRepository.append("ORDER_CREATED", savedOrder);
+        readYourWrites.recordWrite(savedOrder.getUserId());
+        eventPublisher.publishEvent(new OrderChangedEvent(toSummary(savedOrder), null));
+        return savedOrder;
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
-        // Get all orders and sort by order date descending
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream()
-                .sorted(Comparator.comparing(Order::getOrderDate).reversed())
-                .collect(Collectors.toList());
+        // Get all orders sorted by order date descending, merged across shards
+        return shardRouter.gather(orderRepository::findAllWithItemsOrderByOrderDateDesc,
+                Comparator.comparing(Order::getOrderDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed());
     }
 
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getAllOrderSummaries() {
+        if (orderHistoryProjector.isReadable()) {
+            return shardRouter.gather(orderHistoryRepository::findAllSummariesOrderByOrderDateDesc,
+                    Comparator.comparing(OrderSummary::getOrderDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed());
+        }
+        return shardRouter.gather(orderRepository::findAllSummariesOrderByOrderDateDesc,
+                Comparator.comparing(OrderSummary::getOrderDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed());
+    }
+
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserIdOrderByOrderDateDesc(userId);
+        readYourWrites.routeReadsFor(userId);
+        shardRouter.bindUser(userId);
+        List<Order> orders = new ArrayList<>(orderRepository.findByUserIdWithItemsOrderByOrderDateDesc(userId));
+        // Archived orders are older than anything left in the hot table
+        orders.addAll(orderArchiveRepository.findByUserIdOrderByOrderDateDesc(userId));
+        return orders;
+    }
+
+    /**
+     * Orders of a user with item names from the read model; while it is behind for this user the
+     * orders come from the write model and take names from whatever documents already exist.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderHistoryView> getOrderHistoryByUserId(Long userId) {
+        readYourWrites.routeReadsFor(userId);
+        shardRouter.bindUser(userId);
+        List<OrderHistoryView> documents = orderHistoryRepository.findByUserIdOrderByOrderDateDesc(userId);
+        if (orderHistoryProjector.isCaughtUp(userId)) {
+            return documents;
+        }
+
+        Map<Long, OrderHistoryView> documentsById = new HashMap<>();
+        documents.forEach(view -> documentsById.put(view.getId(), view));
+        List<OrderHistoryView> views = new ArrayList<>();
+        for (Order order : getOrdersByUserId(userId)) {
+            views.add(toHistoryView(order, documentsById.get(order.getId())));
+        }
+        return views;
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrderSummariesByUserId(Long userId) {
+        readYourWrites.routeReadsFor(userId);
+        shardRouter.bindUser(userId);
+        if (orderHistoryProjector.isCaughtUp(userId)) {
+            return orderHistoryRepository.findSummariesByUserIdOrderByOrderDateDesc(userId);
+        }
+        List<OrderSummary> orders = new ArrayList<>(orderRepository.findSummariesByUserIdOrderByOrderDateDesc(userId));
+        orders.addAll(orderArchiveRepository.findSummariesByUserIdOrderByOrderDateDesc(userId));
+        return orders;
+    }
+
+    /**
+     * One page of the live orders in {@code status}, oldest first, from the in-memory kitchen queue;
+     * until that has been rebuilt the page is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public KitchenQueuePage getKitchenQueue(OrderStatus status, int page, int size) {
+        if (!KitchenQueue.LIVE.contains(status)) {
+            throw new IllegalArgumentException(status + " orders are not queued");
+        }
+        if (kitchenQueue.isReady()) {
+            return new KitchenQueuePage(status, page, size, kitchenQueue.size(status), kitchenQueue.page(status, page, size));
+        }
+        List<OrderSummary> orders = shardRouter.gather(
+                () -> orderRepository.findSummariesByStatusInOrderByOrderDate(Collections.singleton(status)),
+                KitchenQueue.OLDEST_FIRST);
+        int from = (int) Math.min((long) page * size, orders.size());
+        int to = Math.min(from + size, orders.size());
+        return new KitchenQueuePage(status, page, size, orders.size(), new ArrayList<>(orders.subList(from, to)));
     }
 
+    @Transactional
     public Order updateOrderStatus(Long orderId, OrderStatus status) {
+        shardRouter.bindShardOfOrder(orderId, () -> orderRepository.existsById(orderId));
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        orderOutboxRepository.append("ORDER_STATUS_CHANGED", savedOrder);
+        readYourWrites.recordWrite(savedOrder.getUserId());
+        eventPublisher.publishEvent(new OrderChangedEvent(toSummary(savedOrder), previousStatus));
+        return savedOrder;
+    }
+
+    /**
+     * Rejects an order that is still PENDING; empty if it was accepted (or otherwise moved on) first.
+     */
+    @Transactional
+    public Optional<Order> rejectIfPending(Long orderId) {
+        shardRouter.bindShardOfOrder(orderId, () -> orderRepository.existsById(orderId));
+        if (orderRepository.updateStatusIfCurrent(orderId, OrderStatus.PENDING, OrderStatus.REJECTED) == 0) {
+            return Optional.empty();
+        }
+        Order order = orderRepository.findByIdWithItems(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        orderOutboxRepository.append("ORDER_STATUS_CHANGED", order);
+        readYourWrites.recordWrite(order.getUserId());
+        eventPublisher.publishEvent(new OrderChangedEvent(toSummary(order), OrderStatus.PENDING));
+        return Optional.of(order);
+    }
+
+    /**
+     * Publishes ORDER_SLA_BREACHED for an order the kitchen has accepted but not finished;
+     * empty if it is no longer in ACCEPTED or PREPARING.
+     */
+    @Transactional
+    public Optional<Order> recordSlaBreach(Long orderId) {
+        shardRouter.bindShardOfOrder(orderId, () -> orderRepository.existsById(orderId));
+        Optional<Order> order = orderRepository.findByIdWithItems(orderId)
+                .filter(o -> o.getStatus() == OrderStatus.ACCEPTED || o.getStatus() == OrderStatus.PREPARING);
+        order.ifPresent(o -> orderOutboxRepository.append("ORDER_SLA_BREACHED", o));
+        return order;
     }
 
+    @Transactional(readOnly = true)
     public Order getOrderById(Long id) {
-        return orderRepository.findById(id)
+        return shardRouter.findByOrderId(id, () -> orderRepository.findByIdWithItems(id)
+                        .or(() -> orderArchiveRepository.findById(id)))
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
-}
\ No newline at end of file
+
+    private static OrderSummary toSummary(Order order) {
+        long itemCount = order.getOrderItems() != null ? order.getOrderItems().size() : 0;
+        return new OrderSummary(order.getId(), order.getUserId(), order.getTotalAmount(), order.getStatus(),
+                order.getOrderDate(), order.getDeliveryAddress(), itemCount);
+    }
+
+    private static OrderHistoryView toHistoryView(Order order, OrderHistoryView document) {
+        Map<Long, OrderHistoryItem> named = new HashMap<>();
+        if (document != null) {
+            document.getOrderItems().forEach(item -> named.put(item.getMenuItemId(), item));
+        }
+        OrderHistoryView view = new OrderHistoryView();
+        view.setId(order.getId());
+        view.setUserId(order.getUserId());
+        view.setTotalAmount(order.getTotalAmount());
+        view.setStatus(order.getStatus());
+        view.setOrderDate(order.getOrderDate());
+        view.setDeliveryAddress(order.getDeliveryAddress());
+        if (order.getOrderItems() != null) {
+            for (OrderItem item : order.getOrderItems()) {
+                OrderHistoryItem known = named.get(item.getMenuItemId());
+                view.getOrderItems().add(new OrderHistoryItem(item.getMenuItemId(),
+                        known != null ? known.getMenuItemName() : null, known != null ? known.getCategory() : null,
+                        item.getQuantity(), item.getPrice()));
+            }
+        }
+        view.setItemCount(view.getOrderItems().size());
+        return view;
+    }
+}
@@ -0,0 +1,233 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.config.SlaProperties;
+import com.foodapp.orderservice.dto.OrderSummary;
+import com.foodapp.orderservice.event.OrderChangedEvent;
+import com.foodapp.orderservice.model.OrderStatus;
+import com.foodapp.orderservice.repository.OrderRepository;
+import com.foodapp.orderservice.scheduling.LeasedJobScheduler;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import com.foodapp.orderservice.timer.HierarchicalTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one deadline per live order on a {@link HierarchicalTimingWheel}: PENDING orders are
+ * rejected once {@code app.sla.pending-timeout-minutes} have passed since they were placed, and
+ * ACCEPTED/PREPARING orders raise ORDER_SLA_BREACHED once {@code app.sla.ready-target-minutes}
+ * have passed without reaching READY.
+ *
+ * <p>Timers follow committed {@link OrderChangedEvent}s and are rebuilt from the live orders at
+ * startup, so nothing scans the orders table while running. A firing timer is only a hint: the
+ * action re-checks the order's status in the database before doing anything.
+ *
+ * <p>Only the holder of the {@value #ROLE} lease acts; timers firing on other nodes are dropped. A
+ * node's events only cover orders changed on that node, so the holder rebuilds its timers from the
+ * live orders when it takes the role and again every {@code app.sla.reconcile-interval-ms}.
+ */
+@Service
+public class OrderSlaMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSlaMonitor.class);
+
+    private static final Set<OrderStatus> TIMED = EnumSet.of(OrderStatus.PENDING, OrderStatus.ACCEPTED, OrderStatus.PREPARING);
+
+    static final String ROLE = "order-sla";
+
+    private static final long RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(1);
+
+    // Orders that breached the ready target and are still being worked on
+    private final Map<Long, OrderSummary> breaches = new ConcurrentHashMap<>();
+
+    private final Object rebuildLock = new Object();
+    private List<OrderChangedEvent> duringRebuild;
+
+    // Whether this node held the role at the last reconcile
+    private volatile boolean leading;
+
+    private ExecutorService actions;
+    private HierarchicalTimingWheel<Long> timers;
+
+    @Autowired
+    private SlaProperties properties;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private LeasedJobScheduler leasedJobs;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        actions = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-sla-actions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timers = new HierarchicalTimingWheel<>("order-sla-timer", properties.getTickMs(), properties.getWheelSize(), actions);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (timers == null) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            duringRebuild = new ArrayList<>();
+        }
+        List<OrderSummary> live = new ArrayList<>();
+        try {
+            live = shardRouter.gather(() -> orderRepository.findSummariesByStatusInOrderByOrderDate(TIMED),
+                    KitchenQueue.OLDEST_FIRST);
+            live.forEach(this::track);
+            Set<Long> liveIds = new HashSet<>();
+            live.forEach(order -> liveIds.add(order.getId()));
+            // Breaches resolved on other nodes
+            breaches.keySet().retainAll(liveIds);
+            log.debug("Scheduled SLA timers for {} live orders", live.size());
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding SLA timers failed, only orders changed from now on are timed: {}", e.getMessage());
+        } finally {
+            synchronized (rebuildLock) {
+                // Later events win over the rows the rebuild read
+                duringRebuild.forEach(event -> track(event.getOrder()));
+                duringRebuild = null;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sla.reconcile-interval-ms:60000}",
+            initialDelayString = "${app.sla.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (timers == null) {
+            return;
+        }
+        if (!leasedJobs.isLeader(ROLE)) {
+            leading = false;
+            return;
+        }
+        if (!leading) {
+            log.info("This node now acts on order SLAs, rebuilding timers from the live orders");
+            leading = true;
+        }
+        rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (timers == null) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            if (duringRebuild != null) {
+                duringRebuild.add(event);
+            }
+        }
+        track(event.getOrder());
+    }
+
+    public List<OrderSummary> getBreaches() {
+        return breaches.values().stream()
+                .sorted(KitchenQueue.OLDEST_FIRST)
+                .collect(Collectors.toList());
+    }
+
+    public int getTimerCount() {
+        return timers != null ? timers.size() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (timers != null) {
+            timers.shutdown();
+            actions.shutdown();
+        }
+    }
+
+    private void track(OrderSummary order) {
+        Long orderId = order.getId();
+        OrderStatus status = order.getStatus();
+        if (status == OrderStatus.PENDING) {
+            timers.schedule(orderId, deadline(order.getOrderDate(), properties.getPendingTimeoutMinutes()),
+                    () -> rejectExpired(orderId));
+        } else if (TIMED.contains(status)) {
+            // ACCEPTED -> PREPARING keeps the deadline; an order alerts once
+            if (!breaches.containsKey(orderId)) {
+                timers.schedule(orderId, deadline(order.getOrderDate(), properties.getReadyTargetMinutes()),
+                        () -> alertOverdue(order));
+            }
+        } else {
+            timers.cancel(orderId);
+            breaches.remove(orderId);
+        }
+    }
+
+    private void rejectExpired(Long orderId) {
+        if (!leasedJobs.isLeader(ROLE)) {
+            // The role holder times every live order through its reconcile
+            return;
+        }
+        try {
+            orderService.rejectIfPending(orderId)
+                    .ifPresent(order -> log.info("Order {} rejected after {} minutes pending", orderId, properties.getPendingTimeoutMinutes()));
+        } catch (RuntimeException e) {
+            log.warn("Auto-rejecting order {} failed, retrying: {}", orderId, e.getMessage());
+            timers.schedule(orderId, System.currentTimeMillis() + RETRY_DELAY_MS, () -> rejectExpired(orderId));
+        }
+    }
+
+    private void alertOverdue(OrderSummary order) {
+        Long orderId = order.getId();
+        if (!leasedJobs.isLeader(ROLE)) {
+            return;
+        }
+        try {
+            orderService.recordSlaBreach(orderId).ifPresent(current -> {
+                order.setStatus(current.getStatus());
+                breaches.put(orderId, order);
+                log.warn("Order {} is {} and not ready {} minutes after it was placed",
+                        orderId, current.getStatus(), properties.getReadyTargetMinutes());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Recording SLA breach of order {} failed, retrying: {}", orderId, e.getMessage());
+            timers.schedule(orderId, System.currentTimeMillis() + RETRY_DELAY_MS, () -> alertOverdue(order));
+        }
+    }
+
+    private static long deadline(LocalDateTime orderDate, int minutes) {
+        LocalDateTime placed = orderDate != null ? orderDate : LocalDateTime.now();
+        return placed.plusMinutes(minutes).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,43 @@
+package com.foodapp.orderservice.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds the shard the current thread's transaction should use.
+ * Read by {@link ShardRoutingDataSource} when the transaction opens its first connection.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {}
+
+    /**
+     * Binds {@code shard} to the current transaction. Must be called before its first query;
+     * the binding is cleared when the transaction completes.
+     */
+    static void bindToCurrentTransaction(int shard) {
+        CURRENT.set(shard);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    CURRENT.remove();
+                }
+            });
+        }
+    }
+
+    static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
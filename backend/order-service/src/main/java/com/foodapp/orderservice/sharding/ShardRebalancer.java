@@ -0,0 +1,131 @@
+package com.foodapp.orderservice.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves orders to the shard their user hashes to after shards have been added.
+ * Start the service with {@code --rebalance-shards} once the new shard urls are configured.
+ *
+ * <p>Each user's orders, archived orders and history documents are locked on the old shard
+ * ({@code SELECT ... FOR UPDATE}), copied with their original ids ({@code INSERT IGNORE}, so a rerun
+ * after a crash is safe) and then deleted by the copied ids in the same transaction that holds the
+ * locks, so a write racing the move waits for it instead of being lost. Users being moved may
+ * briefly see an incomplete history, so run it outside peak hours.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardRebalancer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private final ShardRoutingDataSource shards;
+
+    public ShardRebalancer(ShardRoutingDataSource shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("rebalance-shards")) {
+            rebalance();
+        }
+    }
+
+    /**
+     * @return number of orders moved
+     */
+    public int rebalance() {
+        int shardCount = shards.getShardCount();
+        int movedOrders = 0;
+        for (int source = 0; source < shardCount; source++) {
+            JdbcTemplate sourceJdbc = new JdbcTemplate(shards.getShard(source));
+            List<Long> userIds = sourceJdbc.queryForList("SELECT user_id FROM orders UNION SELECT user_id FROM orders_archive", Long.class);
+            int movedFromSource = 0;
+            for (Long userId : userIds) {
+                int target = ShardRouter.shardForUser(userId, shardCount);
+                if (target != source) {
+                    movedFromSource += moveUser(userId, shards.getShard(source), shards.getShard(target));
+                }
+            }
+            log.info("Rebalance: moved {} orders off shard {}", movedFromSource, source);
+            movedOrders += movedFromSource;
+        }
+        return movedOrders;
+    }
+
+    private int moveUser(Long userId, DataSource source, DataSource target) {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+
+        Integer moved = new TransactionTemplate(new DataSourceTransactionManager(source)).execute(sourceStatus -> {
+            List<Map<String, Object>> orders = sourceJdbc.queryForList("SELECT * FROM orders WHERE user_id = ? FOR UPDATE", userId);
+            List<Map<String, Object>> items = sourceJdbc.queryForList(
+                    "SELECT oi.* FROM order_items oi JOIN orders o ON oi.order_id = o.id WHERE o.user_id = ? FOR UPDATE", userId);
+            List<Map<String, Object>> archived = sourceJdbc.queryForList(
+                    "SELECT * FROM orders_archive WHERE user_id = ? FOR UPDATE", userId);
+            List<Map<String, Object>> archivedItems = sourceJdbc.queryForList(
+                    "SELECT oi.* FROM order_items_archive oi JOIN orders_archive o ON oi.order_id = o.id "
+                            + "WHERE o.user_id = ? FOR UPDATE", userId);
+            // Read model documents travel with the orders so their snapshotted item names are kept
+            List<Map<String, Object>> history = sourceJdbc.queryForList(
+                    "SELECT * FROM order_history WHERE user_id = ? FOR UPDATE", userId);
+            if (orders.isEmpty() && archived.isEmpty()) {
+                return 0;
+            }
+
+            new TransactionTemplate(new DataSourceTransactionManager(target)).executeWithoutResult(targetStatus -> {
+                copyRows(targetJdbc, "orders", orders);
+                copyRows(targetJdbc, "order_items", items);
+                copyRows(targetJdbc, "orders_archive", archived);
+                copyRows(targetJdbc, "order_items_archive", archivedItems);
+                copyRows(targetJdbc, "order_history", history);
+            });
+
+            // Only the rows copied above; anything written since is still locked out or left for a rerun
+            NamedParameterJdbcTemplate namedSource = new NamedParameterJdbcTemplate(sourceJdbc);
+            deleteRows(namedSource, "order_items", "id", items);
+            deleteRows(namedSource, "orders", "id", orders);
+            deleteRows(namedSource, "order_items_archive", "id", archivedItems);
+            deleteRows(namedSource, "orders_archive", "id", archived);
+            deleteRows(namedSource, "order_history", "order_id", history);
+            return orders.size() + archived.size();
+        });
+        return moved != null ? moved : 0;
+    }
+
+    private static void deleteRows(NamedParameterJdbcTemplate jdbc, String table, String keyColumn, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object> keys = rows.stream().map(row -> row.get(keyColumn)).collect(Collectors.toList());
+        jdbc.update("DELETE FROM " + table + " WHERE " + keyColumn + " IN (:keys)", new MapSqlParameterSource("keys", keys));
+    }
+
+    private static void copyRows(JdbcTemplate jdbc, String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = List.copyOf(rows.get(0).keySet());
+        String sql = "INSERT IGNORE INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        jdbc.batchUpdate(sql, rows.stream()
+                .map(row -> columns.stream().map(row::get).toArray())
+                .collect(Collectors.toList()));
+    }
+}
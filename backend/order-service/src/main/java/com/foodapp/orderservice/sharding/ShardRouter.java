@@ -0,0 +1,267 @@
+package com.foodapp.orderservice.sharding;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard serves an order operation. Orders live on the shard chosen by a jump
+ * consistent hash of their user id; ids are generated per shard as {@code shard + 1 + k * idStride}
+ * so an id points back to the shard that created it.
+ *
+ * <p>With sharding disabled every method runs its work inline against the single database.
+ */
+@Component
+public class ShardRouter {
+
+    private final ShardRoutingDataSource shards;
+    private final TransactionTemplate shardReadTransaction;
+    private final TransactionTemplate shardWriteTransaction;
+    private final ExecutorService scatterExecutor;
+    private final int idStride;
+
+    public ShardRouter(ObjectProvider<ShardRoutingDataSource> shards,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.sharding.id-stride:64}") int idStride,
+                       @Value("${app.sharding.scatter-threads:4}") int scatterThreads) {
+        this.shards = shards.getIfAvailable();
+        this.idStride = idStride;
+
+        this.shardReadTransaction = new TransactionTemplate(transactionManager);
+        this.shardReadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardReadTransaction.setReadOnly(true);
+
+        this.shardWriteTransaction = new TransactionTemplate(transactionManager);
+        this.shardWriteTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.scatterExecutor = this.shards != null && this.shards.getShardCount() > 1
+                ? Executors.newFixedThreadPool(Math.min(scatterThreads, this.shards.getShardCount()))
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return shards != null;
+    }
+
+    public int getShardCount() {
+        return shards != null ? shards.getShardCount() : 1;
+    }
+
+    /**
+     * Sends the current transaction to the shard that owns {@code userId}'s orders.
+     */
+    public void bindUser(Long userId) {
+        if (shards != null && userId != null) {
+            ShardContext.bindToCurrentTransaction(shardForUser(userId, shards.getShardCount()));
+        }
+    }
+
+    /**
+     * Sends the current transaction to the shard holding {@code orderId}, found by asking
+     * {@code exists} on the shard encoded in the id first and then on the others.
+     */
+    public void bindShardOfOrder(Long orderId, Supplier<Boolean> exists) {
+        if (shards == null) {
+            return;
+        }
+        for (int shard : probeOrder(orderId)) {
+            if (Boolean.TRUE.equals(readFromShard(shard, exists))) {
+                ShardContext.bindToCurrentTransaction(shard);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs {@code lookup} on the shard encoded in {@code orderId} first, then on the other shards
+     * (rows created before sharding or moved by the rebalancer), and returns the first hit.
+     */
+    public <T> Optional<T> findByOrderId(Long orderId, Supplier<Optional<T>> lookup) {
+        if (shards == null) {
+            return lookup.get();
+        }
+        for (int shard : probeOrder(orderId)) {
+            Optional<T> found = readFromShard(shard, lookup);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Runs {@code query} on every shard concurrently and merges the per-shard results, each already
+     * sorted by {@code order}, into one sorted list.
+     */
+    public <T> List<T> gather(Supplier<List<T>> query, Comparator<? super T> order) {
+        if (shards == null) {
+            return query.get();
+        }
+        if (scatterExecutor == null) {
+            return readFromShard(0, query);
+        }
+
+        List<Future<List<T>>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shards.getShardCount(); shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> readFromShard(target, query)));
+        }
+        List<List<T>> results = new ArrayList<>();
+        for (Future<List<T>> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while querying shards", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Shard query failed", e.getCause());
+            }
+        }
+        return mergeSorted(results, order);
+    }
+
+    /**
+     * Runs {@code work} in its own read-only transaction on {@code shard}.
+     */
+    public <T> T readFromShard(int shard, Supplier<T> work) {
+        return onShard(shard, shardReadTransaction, work);
+    }
+
+    /**
+     * Runs {@code work} in its own read-write transaction on {@code shard}; used by background jobs
+     * that have to visit every shard.
+     */
+    public <T> T writeToShard(int shard, Supplier<T> work) {
+        return onShard(shard, shardWriteTransaction, work);
+    }
+
+    /**
+     * Runs {@code work} in its own read-only transaction on the shard that owns {@code userId}'s orders.
+     */
+    public <T> T readForUser(Long userId, Supplier<T> work) {
+        return readFromShard(shardOfUser(userId), work);
+    }
+
+    /**
+     * Runs {@code work} in its own read-write transaction on the shard that owns {@code userId}'s orders.
+     */
+    public <T> T writeForUser(Long userId, Supplier<T> work) {
+        return writeToShard(shardOfUser(userId), work);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Shard encoded in an id generated with {@code auto_increment_offset = shard + 1}, or -1 for ids
+     * that cannot have come from the current topology.
+     */
+    int shardOfOrderId(Long orderId) {
+        if (orderId == null || orderId <= 0) {
+            return -1;
+        }
+        int shard = (int) ((orderId - 1) % idStride);
+        return shard < getShardCount() ? shard : -1;
+    }
+
+    private int shardOfUser(Long userId) {
+        return shards != null && userId != null ? shardForUser(userId, shards.getShardCount()) : 0;
+    }
+
+    private <T> T onShard(int shard, TransactionTemplate transaction, Supplier<T> work) {
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return transaction.execute(status -> work.get());
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    private List<Integer> probeOrder(Long orderId) {
+        List<Integer> probes = new ArrayList<>();
+        int home = shardOfOrderId(orderId);
+        if (home >= 0) {
+            probes.add(home);
+        }
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            if (shard != home) {
+                probes.add(shard);
+            }
+        }
+        return probes;
+    }
+
+    /**
+     * Jump consistent hash (Lamping and Veach): growing from N to N + 1 shards moves only the
+     * users that now belong to the new shard.
+     */
+    public static int shardForUser(long userId, int shardCount) {
+        long key = userId;
+        long bucket = -1;
+        long next = 0;
+        while (next < shardCount) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    static <T> List<T> mergeSorted(List<List<T>> sortedLists, Comparator<? super T> order) {
+        int total = 0;
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.head(), b.head()));
+        for (List<T> list : sortedLists) {
+            total += list.size();
+            if (!list.isEmpty()) {
+                heads.add(new Cursor<>(list));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            Cursor<T> cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor<T> {
+        private final List<T> list;
+        private int position;
+
+        private Cursor(List<T> list) {
+            this.list = list;
+        }
+
+        private T head() {
+            return list.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < list.size();
+        }
+    }
+}
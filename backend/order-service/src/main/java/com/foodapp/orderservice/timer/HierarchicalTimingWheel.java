@@ -0,0 +1,262 @@
+package com.foodapp.orderservice.timer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keyed one-shot timers on a hierarchical timing wheel (Varghese and Lauck; the layout follows
+ * Kafka's purgatory timer). Level 0 has {@code wheelSize} buckets of {@code tickMs}; each higher level
+ * is created on demand with buckets as wide as the whole level below, and its entries cascade down
+ * when their bucket comes due.
+ *
+ * <p>Scheduling and cancelling are O(1): an entry is linked into one bucket's list and found again
+ * through the key map. Only non-empty buckets are put on a {@link DelayQueue}, so the driver thread
+ * sleeps until the next bucket is due instead of ticking through empty ones. Expired actions are
+ * handed to {@code executor} so slow actions never hold up the wheel.
+ *
+ * @param <K> key identifying a timer; scheduling a key again replaces its previous timer
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final Executor executor;
+    private final DelayQueue<Bucket<K>> dueBuckets = new DelayQueue<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Level<K> root;
+    private final Thread driver;
+    private volatile boolean running = true;
+
+    public HierarchicalTimingWheel(String name, long tickMs, int wheelSize, Executor executor) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.executor = executor;
+        this.root = new Level<>(tickMs, wheelSize, System.currentTimeMillis(), dueBuckets);
+        this.driver = new Thread(this::drive, name);
+        this.driver.setDaemon(true);
+        this.driver.start();
+    }
+
+    /**
+     * Runs {@code action} at {@code deadlineMs} (epoch millis), or right away if that has passed.
+     */
+    public void schedule(K key, long deadlineMs, Runnable action) {
+        Entry<K> entry = new Entry<>(key, deadlineMs, action);
+        lock.lock();
+        try {
+            Entry<K> previous = entries.put(key, entry);
+            if (previous != null) {
+                previous.unlink();
+            }
+            addOrRun(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if a pending timer for {@code key} was cancelled
+     */
+    public boolean cancel(K key) {
+        lock.lock();
+        try {
+            Entry<K> entry = entries.remove(key);
+            if (entry == null) {
+                return false;
+            }
+            entry.unlink();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+        driver.interrupt();
+    }
+
+    private void drive() {
+        while (running) {
+            try {
+                Bucket<K> bucket = dueBuckets.poll(tickMs, TimeUnit.MILLISECONDS);
+                if (bucket == null) {
+                    continue;
+                }
+                lock.lock();
+                try {
+                    while (bucket != null) {
+                        root.advanceClock(bucket.getExpiration());
+                        Entry<K> entry;
+                        while ((entry = bucket.removeFirst()) != null) {
+                            addOrRun(entry);
+                        }
+                        bucket = dueBuckets.poll();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void addOrRun(Entry<K> entry) {
+        if (root.add(entry)) {
+            return;
+        }
+        // Due now: drop it from the key map unless it was replaced in the meantime
+        if (entries.get(entry.key) == entry) {
+            entries.remove(entry.key);
+        }
+        executor.execute(entry.action);
+    }
+
+    private static final class Level<K> {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long intervalMs;
+        private final DelayQueue<Bucket<K>> dueBuckets;
+        private final Bucket<K>[] buckets;
+        private long currentTime;
+        private Level<K> overflow;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMs, int wheelSize, long startMs, DelayQueue<Bucket<K>> dueBuckets) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.intervalMs = tickMs * wheelSize;
+            this.dueBuckets = dueBuckets;
+            this.buckets = (Bucket<K>[]) new Bucket<?>[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        // False when the entry is already due
+        private boolean add(Entry<K> entry) {
+            // Rounded up to a bucket boundary, so a bucket never comes due before its entries' deadlines
+            long expiration = (entry.deadlineMs + tickMs - 1) / tickMs * tickMs;
+            if (expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + intervalMs) {
+                long virtualId = expiration / tickMs;
+                Bucket<K> bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(entry);
+                // A bucket is reused once per rotation; queue it again when it starts a new one
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    dueBuckets.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(intervalMs, wheelSize, currentTime, dueBuckets);
+            }
+            return overflow.add(entry);
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket<K> implements Delayed {
+        // Sentinel of a circular doubly linked list
+        private final Entry<K> root = new Entry<>(null, -1, null);
+        private long expiration = -1;
+
+        private Bucket() {
+            root.next = root;
+            root.prev = root;
+        }
+
+        private void add(Entry<K> entry) {
+            entry.bucket = this;
+            entry.prev = root.prev;
+            entry.next = root;
+            root.prev.next = entry;
+            root.prev = entry;
+        }
+
+        private Entry<K> removeFirst() {
+            Entry<K> first = root.next;
+            if (first == root) {
+                expiration = -1;
+                return null;
+            }
+            first.unlink();
+            return first;
+        }
+
+        private boolean setExpiration(long expirationMs) {
+            boolean changed = expiration != expirationMs;
+            expiration = expirationMs;
+            return changed;
+        }
+
+        private long getExpiration() {
+            return expiration;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(0, expiration - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration, ((Bucket<?>) other).expiration);
+        }
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineMs;
+        private final Runnable action;
+        private Bucket<K> bucket;
+        private Entry<K> prev;
+        private Entry<K> next;
+
+        private Entry(K key, long deadlineMs, Runnable action) {
+            this.key = key;
+            this.deadlineMs = deadlineMs;
+            this.action = action;
+        }
+
+        private void unlink() {
+            if (bucket == null) {
+                return;
+            }
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+            bucket = null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- Fencing for writes made under a job lease (LeasedJobScheduler.fence). Every shard has its own row per
+-- job holding the highest fencing token that has written there; a write under an older token is
+-- rejected inside its own transaction, so a node that lost its lease cannot overwrite the new holder's work.
+
+CREATE TABLE `job_fence` (
+  `name` varchar(64) NOT NULL,
+  `fencing_token` bigint NOT NULL DEFAULT '0',
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,27 @@
+-- Baseline schema for order_service_db, taken from order_service_db_orders.sql and
+-- order_service_db_order_items.sql. Databases that were created by ddl-auto=update are
+-- baselined at this version (spring.flyway.baseline-on-migrate) so this script only runs
+-- on empty schemas.
+
+CREATE TABLE IF NOT EXISTS `orders` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `user_id` bigint NOT NULL,
+  `total_amount` decimal(10,2) NOT NULL,
+  `status` varchar(20) NOT NULL DEFAULT 'PENDING',
+  `order_date` timestamp NULL DEFAULT CURRENT_TIMESTAMP,
+  `delivery_address` text NOT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- order_items(order_id) is covered by this key; schemas created by Hibernate get the
+-- equivalent index implicitly through the foreign key.
+CREATE TABLE IF NOT EXISTS `order_items` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `order_id` bigint NOT NULL,
+  `menu_item_id` bigint NOT NULL,
+  `quantity` int NOT NULL,
+  `price` decimal(10,2) NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `order_id` (`order_id`),
+  CONSTRAINT `order_items_ibfk_1` FOREIGN KEY (`order_id`) REFERENCES `orders` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,5 @@
+-- OrderRepository.findByUserIdOrderByOrderDateDesc (GET /api/orders/user/{userId})
+CREATE INDEX `idx_orders_user_id_order_date` ON `orders` (`user_id`, `order_date`);
+
+-- Admin listings filtered by status and sorted by date
+CREATE INDEX `idx_orders_status_order_date` ON `orders` (`status`, `order_date`);
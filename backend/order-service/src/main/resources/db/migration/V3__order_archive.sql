@@ -0,0 +1,33 @@
+-- Cold storage for DELIVERED/REJECTED orders moved out of the hot tables by OrderArchiveService.
+-- Both tables are RANGE partitioned by the yyyymm of order_date; the archiver splits a new monthly
+-- partition off p_future before archiving into a month past the last boundary.
+
+CREATE TABLE `orders_archive` (
+  `id` bigint NOT NULL,
+  `user_id` bigint NOT NULL,
+  `total_amount` decimal(10,2) NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `order_date` timestamp NULL DEFAULT NULL,
+  `delivery_address` text NOT NULL,
+  `archive_month` int NOT NULL,
+  `archived_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`, `archive_month`),
+  KEY `idx_orders_archive_user_id_order_date` (`user_id`, `order_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci
+PARTITION BY RANGE (`archive_month`) (
+  PARTITION `p_future` VALUES LESS THAN MAXVALUE
+);
+
+CREATE TABLE `order_items_archive` (
+  `id` bigint NOT NULL,
+  `order_id` bigint NOT NULL,
+  `menu_item_id` bigint NOT NULL,
+  `quantity` int NOT NULL,
+  `price` decimal(10,2) NOT NULL,
+  `archive_month` int NOT NULL,
+  PRIMARY KEY (`id`, `archive_month`),
+  KEY `idx_order_items_archive_order_id` (`order_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci
+PARTITION BY RANGE (`archive_month`) (
+  PARTITION `p_future` VALUES LESS THAN MAXVALUE
+);
@@ -0,0 +1,20 @@
+-- Read model for order lists (OrderHistoryProjector): one denormalized row per order with the
+-- item names and categories snapshotted from menu-service when the order was first projected.
+-- Rows live on the same shard as the order and are rebuilt from the write model, never edited directly.
+
+CREATE TABLE `order_history` (
+  `order_id` bigint NOT NULL,
+  `user_id` bigint NOT NULL,
+  `total_amount` decimal(10,2) NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `order_date` timestamp NULL DEFAULT NULL,
+  `delivery_address` text NOT NULL,
+  `item_count` int NOT NULL,
+  `items` json NOT NULL,
+  `names_complete` tinyint(1) NOT NULL DEFAULT 1,
+  `projected_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`order_id`),
+  KEY `idx_order_history_user_id_order_date` (`user_id`, `order_date`),
+  KEY `idx_order_history_order_date` (`order_date`),
+  KEY `idx_order_history_names_complete` (`names_complete`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
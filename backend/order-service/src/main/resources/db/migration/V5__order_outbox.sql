@@ -0,0 +1,12 @@
+-- Transactional outbox: OrderService inserts one row per order change in the same transaction as the
+-- change itself; OrderOutboxRelay moves the rows into the local event log and deletes them.
+
+CREATE TABLE `order_outbox` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `event_type` varchar(40) NOT NULL,
+  `order_id` bigint NOT NULL,
+  `user_id` bigint NOT NULL,
+  `payload` json NOT NULL,
+  `created_at` timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
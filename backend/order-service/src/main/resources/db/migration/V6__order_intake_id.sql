@@ -0,0 +1,6 @@
+-- Orders accepted through the async intake queue (OrderIntakeService) carry the intake id handed to the
+-- client; the unique key makes replaying the intake journal after a crash insert each order only once.
+
+ALTER TABLE `orders`
+  ADD COLUMN `intake_id` varchar(36) NULL DEFAULT NULL,
+  ADD UNIQUE KEY `uk_orders_intake_id` (`intake_id`);
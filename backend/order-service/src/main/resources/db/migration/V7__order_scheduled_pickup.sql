@@ -0,0 +1,5 @@
+-- Orders admitted while the kitchen is overloaded can be pushed to a later pickup slot
+-- (OrderAdmissionService in scheduled-pickup mode); NULL means as soon as possible.
+
+ALTER TABLE `orders`
+  ADD COLUMN `scheduled_for` timestamp NULL DEFAULT NULL;
@@ -0,0 +1,6 @@
+-- Idempotency-Key sent with POST /api/orders; a retried request finds the order it already created.
+-- Keys are scoped per user, and a user's orders all live on one shard, so the unique key holds across shards.
+
+ALTER TABLE `orders`
+  ADD COLUMN `idempotency_key` varchar(64) NULL DEFAULT NULL,
+  ADD UNIQUE KEY `uk_orders_user_idempotency_key` (`user_id`, `idempotency_key`);
@@ -0,0 +1,12 @@
+-- Leases for cluster-wide background jobs (LeasedJobScheduler). Only shard 0's table is used.
+-- A node may run a job while it owns the row and expires_at is in the future; every acquisition
+-- increments fencing_token so work done under an older lease can be told apart.
+
+CREATE TABLE `job_lease` (
+  `name` varchar(64) NOT NULL,
+  `owner` varchar(128) DEFAULT NULL,
+  `fencing_token` bigint NOT NULL DEFAULT '0',
+  `acquired_at` timestamp(3) NULL DEFAULT NULL,
+  `expires_at` timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
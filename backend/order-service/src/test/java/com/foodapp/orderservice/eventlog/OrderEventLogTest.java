@@ -0,0 +1,136 @@
+package com.foodapp.orderservice.eventlog;
+
+import com.foodapp.orderservice.config.EventLogProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderEventLogTest {
+
+    private static final int SEGMENT_BYTES = 512;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rollsToNewSegmentsWithDenseOffsets() throws IOException {
+        OrderEventLog log = open();
+
+        long first = log.append(events(0, 10));
+        long next = log.append(events(10, 20));
+
+        assertThat(first).isZero();
+        assertThat(next).isEqualTo(10);
+        assertThat(log.getEndOffset()).isEqualTo(30);
+        // Each record is 24 header bytes plus the payload, so 512-byte segments hold about a dozen
+        assertThat(segmentFiles()).hasSizeGreaterThan(2);
+        assertThat(payloads(log.read(0, 100))).isEqualTo(texts(0, 30));
+        assertThat(offsets(log.read(17, 5))).containsExactly(17L, 18L, 19L, 20L, 21L);
+    }
+
+    @Test
+    void reopensWhereItLeftOff() throws IOException {
+        OrderEventLog before = open();
+        before.append(events(0, 30));
+
+        OrderEventLog after = open();
+
+        assertThat(after.getStartOffset()).isZero();
+        assertThat(after.getEndOffset()).isEqualTo(30);
+        assertThat(payloads(after.read(0, 100))).isEqualTo(texts(0, 30));
+        assertThat(after.append(events(30, 1))).isEqualTo(30);
+    }
+
+    @Test
+    void recoveryDropsATornRecordAndAppendsOverIt() throws IOException {
+        OrderEventLog before = open();
+        before.append(events(0, 5));
+        // Flip a payload byte of the last record, as if the crash hit before it was fully written
+        Path segment = segmentFiles().get(segmentFiles().size() - 1);
+        int lastRecord = 0;
+        for (int i = 0; i < 4; i++) {
+            lastRecord += LogSegment.HEADER_BYTES + text(i).length();
+        }
+        corrupt(segment, lastRecord + LogSegment.HEADER_BYTES);
+
+        OrderEventLog after = open();
+
+        assertThat(after.getEndOffset()).isEqualTo(4);
+        assertThat(payloads(after.read(0, 100))).isEqualTo(texts(0, 4));
+        assertThat(after.append(List.of(bytes("replacement")))).isEqualTo(4);
+        assertThat(payloads(after.read(4, 10))).containsExactly("replacement");
+    }
+
+    private OrderEventLog open() throws IOException {
+        EventLogProperties properties = new EventLogProperties();
+        properties.setEnabled(true);
+        properties.setDir(dir.toString());
+        properties.setSegmentBytes(SEGMENT_BYTES);
+        OrderEventLog log = new OrderEventLog();
+        ReflectionTestUtils.setField(log, "properties", properties);
+        log.open();
+        return log;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(".log")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void corrupt(Path file, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, position);
+            b.flip();
+            byte flipped = (byte) ~b.get();
+            channel.write(ByteBuffer.wrap(new byte[] {flipped}), position);
+        }
+    }
+
+    private static List<byte[]> events(int from, int count) {
+        List<byte[]> events = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            events.add(bytes(text(i)));
+        }
+        return events;
+    }
+
+    private static List<String> texts(int from, int to) {
+        List<String> texts = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            texts.add(text(i));
+        }
+        return texts;
+    }
+
+    private static String text(int i) {
+        return "{\"orderId\":" + i + ",\"status\":\"PENDING\"}";
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> payloads(List<EventRecord> records) {
+        return records.stream().map(r -> new String(r.getPayload(), StandardCharsets.UTF_8)).collect(Collectors.toList());
+    }
+
+    private static List<Long> offsets(List<EventRecord> records) {
+        return records.stream().map(EventRecord::getOffset).collect(Collectors.toList());
+    }
+}
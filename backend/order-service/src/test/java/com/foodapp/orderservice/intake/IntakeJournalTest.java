@@ -0,0 +1,148 @@
+package com.foodapp.orderservice.intake;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntakeJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysEntriesThatWereNotCompleted() throws IOException {
+        IntakeJournal before = new IntakeJournal(dir, 3);
+        assertThat(before.open()).isEmpty();
+        List<Long> segments = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            segments.add(before.append(bytes("order-" + i)));
+        }
+        // The first segment (orders 0..2) is fully processed, order 4 of the second one too
+        for (int i = 0; i < 3; i++) {
+            before.complete(segments.get(i));
+        }
+        before.complete(segments.get(4));
+        before.close();
+
+        IntakeJournal after = new IntakeJournal(dir, 3);
+        List<IntakeJournal.Entry> replay = after.open();
+
+        // Completion is counted per segment, so the rest of a partly processed segment comes back whole
+        assertThat(payloads(replay)).containsExactly("order-3", "order-4", "order-5", "order-6");
+        assertThat(replay.get(0).getSegment()).isEqualTo(segments.get(3));
+        assertThat(replay.get(3).getSegment()).isEqualTo(segments.get(6));
+        after.close();
+    }
+
+    @Test
+    void deletesSegmentsOnceCompletedAndClosed() throws IOException {
+        IntakeJournal journal = new IntakeJournal(dir, 2);
+        journal.open();
+        long first = journal.append(bytes("a"));
+        journal.append(bytes("b"));
+        long third = journal.append(bytes("c"));
+
+        assertThat(journalFiles()).hasSize(2);
+        journal.complete(first);
+        assertThat(journalFiles()).hasSize(2);
+        journal.complete(first);
+        assertThat(journalFiles()).hasSize(1);
+        // The active segment stays even when everything in it is done,
+        journal.complete(third);
+        assertThat(journalFiles()).hasSize(1);
+        journal.close();
+
+        // so its entries come back on the next start; the unique intake_id makes replaying them harmless
+        assertThat(payloads(new IntakeJournal(dir, 2).open())).containsExactly("c");
+    }
+
+    @Test
+    void replayStopsAtATornRecord() throws IOException {
+        IntakeJournal before = new IntakeJournal(dir, 10);
+        before.open();
+        before.append(bytes("kept-1"));
+        before.append(bytes("kept-2"));
+        before.append(bytes("torn"));
+        before.close();
+        Path segment = journalFiles().get(0);
+        // Cut the last record short, as if the crash hit during its write
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+
+        List<IntakeJournal.Entry> replay = new IntakeJournal(dir, 10).open();
+
+        assertThat(payloads(replay)).containsExactly("kept-1", "kept-2");
+    }
+
+    @Test
+    void replayStopsAtACorruptRecord() throws IOException {
+        IntakeJournal before = new IntakeJournal(dir, 10);
+        before.open();
+        before.append(bytes("kept"));
+        before.append(bytes("corrupt"));
+        before.append(bytes("after"));
+        before.close();
+        Path segment = journalFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // First payload byte of the second record
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), 8 + "kept".length() + 8);
+        }
+
+        List<IntakeJournal.Entry> replay = new IntakeJournal(dir, 10).open();
+
+        assertThat(payloads(replay)).containsExactly("kept");
+    }
+
+    @Test
+    void concurrentAppendsAreAllDurable() throws Exception {
+        IntakeJournal before = new IntakeJournal(dir, 50);
+        before.open();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Long>> appends = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            byte[] payload = bytes("order-" + i);
+            appends.add(pool.submit(() -> before.append(payload)));
+        }
+        for (Future<Long> append : appends) {
+            append.get();
+        }
+        pool.shutdown();
+        before.close();
+
+        List<IntakeJournal.Entry> replay = new IntakeJournal(dir, 50).open();
+
+        assertThat(replay).hasSize(200);
+        assertThat(payloads(replay)).doesNotHaveDuplicates();
+    }
+
+    private List<Path> journalFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> payloads(List<IntakeJournal.Entry> entries) {
+        return entries.stream().map(e -> new String(e.getPayload(), StandardCharsets.UTF_8)).collect(Collectors.toList());
+    }
+}
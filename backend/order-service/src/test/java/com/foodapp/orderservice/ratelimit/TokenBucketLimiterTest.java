@@ -0,0 +1,89 @@
+package com.foodapp.orderservice.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    @Test
+    void allowsTheBurstThenRejectsWithTheWaitForOneToken() {
+        // One token a second, so the test cannot earn an extra one while it runs
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 3, 100);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        long wait = limiter.tryAcquire("client");
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 1, 100);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void refillsAfterTheEmissionInterval() throws InterruptedException {
+        // One token every 100 ms
+        TokenBucketLimiter limiter = new TokenBucketLimiter(600, 1, 100);
+        assertThat(limiter.tryAcquire("client")).isZero();
+        long wait = limiter.tryAcquire("client");
+        assertThat(wait).isPositive();
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+    }
+
+    @Test
+    void rejectionsDoNotConsumeTokens() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(600, 1, 100);
+        limiter.tryAcquire("client");
+        long firstWait = limiter.tryAcquire("client");
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire("client");
+        }
+
+        TimeUnit.NANOSECONDS.sleep(firstWait + TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+    }
+
+    @Test
+    void evictsRefilledBuckets() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(600, 1, 10);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        TimeUnit.MILLISECONDS.sleep(150);
+
+        assertThat(limiter.evictIdle()).isEqualTo(2);
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    void newKeysShareAnOverflowBucketWhileTheMapIsFull() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, 2, 2);
+        // Junk keys fill the map, and their buckets are still refilling so a sweep cannot free them
+        limiter.tryAcquire("junk-1");
+        limiter.tryAcquire("junk-2");
+
+        assertThat(limiter.tryAcquire("victim")).isZero();
+        assertThat(limiter.tryAcquire("victim")).isZero();
+        assertThat(limiter.tryAcquire("victim")).isPositive();
+        // Other untracked keys draw on the same bucket
+        assertThat(limiter.tryAcquire("someone-else")).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+        // Tracked keys keep their own buckets
+        assertThat(limiter.tryAcquire("junk-1")).isZero();
+    }
+}
@@ -0,0 +1,187 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.dto.OrderSummary;
+import com.foodapp.orderservice.event.OrderChangedEvent;
+import com.foodapp.orderservice.model.OrderStatus;
+import com.foodapp.orderservice.repository.OrderChangeRepository;
+import com.foodapp.orderservice.repository.OrderChangeRepository.Change;
+import com.foodapp.orderservice.repository.OrderRepository;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KitchenQueueTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderChangeRepository changeRepository = mock(OrderChangeRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private KitchenQueue queue;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(shardRouter.getShardCount()).thenReturn(1);
+        when(shardRouter.gather(any(Supplier.class), any(Comparator.class))).thenAnswer(call -> {
+            List<OrderSummary> rows = new ArrayList<>(((Supplier<List<OrderSummary>>) call.getArgument(0)).get());
+            rows.sort(call.getArgument(1));
+            return rows;
+        });
+        when(shardRouter.readFromShard(anyInt(), any(Supplier.class)))
+                .thenAnswer(call -> ((Supplier<?>) call.getArgument(1)).get());
+        when(changeRepository.settledThrough(anyLong())).thenReturn(Timestamp.valueOf(NOON));
+        when(changeRepository.findChangedSince(any(), anyLong(), anyInt())).thenReturn(List.of());
+        when(orderRepository.findSummariesByStatusInOrderByOrderDate(any())).thenReturn(List.of());
+
+        queue = new KitchenQueue();
+        ReflectionTestUtils.setField(queue, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(queue, "orderChangeRepository", changeRepository);
+        ReflectionTestUtils.setField(queue, "shardRouter", shardRouter);
+        ReflectionTestUtils.setField(queue, "followWindowMs", 10000L);
+        ReflectionTestUtils.setField(queue, "followBatchSize", 500);
+    }
+
+    @Test
+    void rebuildQueuesLiveOrdersOldestFirst() {
+        when(orderRepository.findSummariesByStatusInOrderByOrderDate(any())).thenReturn(List.of(
+                order(3, OrderStatus.PENDING, 30), order(1, OrderStatus.PENDING, 10),
+                order(2, OrderStatus.ACCEPTED, 20), order(4, OrderStatus.PENDING, 10)));
+
+        queue.rebuild();
+
+        assertThat(queue.isReady()).isTrue();
+        // Same order date: id breaks the tie
+        assertThat(ids(queue.page(OrderStatus.PENDING, 0, 10))).containsExactly(1L, 4L, 3L);
+        assertThat(ids(queue.page(OrderStatus.ACCEPTED, 0, 10))).containsExactly(2L);
+        assertThat(queue.size(OrderStatus.PENDING)).isEqualTo(3);
+    }
+
+    @Test
+    void insertsOutOfOrderArrivalsInPlaceAndPages() {
+        queue.rebuild();
+        for (long id : new long[] {5, 1, 4, 2, 3}) {
+            queue.onOrderChanged(event(order(id, OrderStatus.PENDING, id * 10)));
+        }
+
+        assertThat(ids(queue.page(OrderStatus.PENDING, 0, 2))).containsExactly(1L, 2L);
+        assertThat(ids(queue.page(OrderStatus.PENDING, 1, 2))).containsExactly(3L, 4L);
+        assertThat(ids(queue.page(OrderStatus.PENDING, 2, 2))).containsExactly(5L);
+        assertThat(queue.page(OrderStatus.PENDING, 3, 2)).isEmpty();
+    }
+
+    @Test
+    void statusChangesMoveOrdersBetweenQueuesAndFinishedOrdersLeave() {
+        queue.rebuild();
+        for (long id = 1; id <= 3; id++) {
+            queue.onOrderChanged(event(order(id, OrderStatus.PENDING, id)));
+        }
+
+        // Unlinking the head, the middle and the tail
+        queue.onOrderChanged(event(order(1, OrderStatus.ACCEPTED, 1)));
+        queue.onOrderChanged(event(order(3, OrderStatus.ACCEPTED, 3)));
+        queue.onOrderChanged(event(order(2, OrderStatus.REJECTED, 2)));
+
+        assertThat(queue.size(OrderStatus.PENDING)).isZero();
+        assertThat(queue.page(OrderStatus.PENDING, 0, 10)).isEmpty();
+        assertThat(ids(queue.page(OrderStatus.ACCEPTED, 0, 10))).containsExactly(1L, 3L);
+        assertThat(queue.page(OrderStatus.ACCEPTED, 0, 10).get(0).getStatus()).isEqualTo(OrderStatus.ACCEPTED);
+        // Only the rejection left the active statuses
+        assertThat(queue.takeCompleted()).isEqualTo(1);
+        assertThat(queue.takeCompleted()).isZero();
+    }
+
+    @Test
+    void followsChangesMadeOnOtherInstances() {
+        queue.rebuild();
+        when(changeRepository.findChangedSince(any(), anyLong(), anyInt())).thenReturn(List.of(
+                change(order(7, OrderStatus.PENDING, 1))));
+
+        queue.followChanges();
+        queue.followChanges();
+
+        assertThat(ids(queue.page(OrderStatus.PENDING, 0, 10))).containsExactly(7L);
+    }
+
+    @Test
+    void skipsARowReadBeforeANewerLocalChange() {
+        queue.rebuild();
+        queue.onOrderChanged(event(order(1, OrderStatus.PREPARING, 1)));
+        // The local change to READY commits while the follow query still returns PREPARING
+        when(changeRepository.findChangedSince(any(), anyLong(), anyInt())).thenAnswer(call -> {
+            queue.onOrderChanged(event(order(1, OrderStatus.READY, 1)));
+            return List.of(change(order(1, OrderStatus.PREPARING, 1)));
+        });
+        queue.followChanges();
+
+        when(changeRepository.findChangedSince(any(), anyLong(), anyInt()))
+                .thenReturn(List.of(change(order(1, OrderStatus.READY, 1))));
+        queue.followChanges();
+
+        assertThat(ids(queue.page(OrderStatus.READY, 0, 10))).containsExactly(1L);
+        assertThat(queue.size(OrderStatus.PREPARING)).isZero();
+        assertThat(queue.takeCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    void staleRowDoesNotBringBackADeliveredOrder() {
+        queue.rebuild();
+        queue.onOrderChanged(event(order(1, OrderStatus.READY, 1)));
+        when(changeRepository.findChangedSince(any(), anyLong(), anyInt())).thenAnswer(call -> {
+            queue.onOrderChanged(event(order(1, OrderStatus.DELIVERED, 1)));
+            return List.of(change(order(1, OrderStatus.READY, 1)));
+        });
+
+        queue.followChanges();
+
+        assertThat(queue.size(OrderStatus.READY)).isZero();
+    }
+
+    @Test
+    void rebuildDoesNotCountAReplayedCompletionAgain() {
+        queue.rebuild();
+        queue.onOrderChanged(event(order(1, OrderStatus.PREPARING, 1)));
+        // The snapshot is read before the order moves on, and the move is replayed on top of it
+        when(orderRepository.findSummariesByStatusInOrderByOrderDate(any())).thenAnswer(call -> {
+            queue.onOrderChanged(event(order(1, OrderStatus.READY, 1)));
+            return List.of(order(1, OrderStatus.PREPARING, 1));
+        });
+
+        queue.rebuild();
+
+        assertThat(ids(queue.page(OrderStatus.READY, 0, 10))).containsExactly(1L);
+        assertThat(queue.takeCompleted()).isEqualTo(1);
+    }
+
+    private static OrderSummary order(long id, OrderStatus status, long minutesAfterNoon) {
+        return new OrderSummary(id, 100L + id, 12.5, status, NOON.plusMinutes(minutesAfterNoon), "Main St", 1L);
+    }
+
+    private static OrderChangedEvent event(OrderSummary order) {
+        return new OrderChangedEvent(order, null);
+    }
+
+    private static Change change(OrderSummary order) {
+        return new Change(order, Timestamp.valueOf(NOON));
+    }
+
+    private static List<Long> ids(List<OrderSummary> orders) {
+        return orders.stream().map(OrderSummary::getId).collect(Collectors.toList());
+    }
+}
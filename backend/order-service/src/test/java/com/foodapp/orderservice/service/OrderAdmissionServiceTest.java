@@ -0,0 +1,147 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.config.AdmissionProperties;
+import com.foodapp.orderservice.dto.AdmissionDecision;
+import com.foodapp.orderservice.dto.AdmissionDecision.Outcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderAdmissionServiceTest {
+
+    private final KitchenBacklog kitchenBacklog = mock(KitchenBacklog.class);
+    private final AdmissionProperties properties = new AdmissionProperties();
+    private OrderAdmissionService admission;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBacklogLimit(10);
+        properties.setHardLimit(20);
+        properties.setMaxRetryAfterSeconds(300);
+        properties.setPickupSlotMinutes(15);
+        when(kitchenBacklog.isSeeded()).thenReturn(true);
+        // One order every 10 seconds
+        when(kitchenBacklog.getThroughputPerMinute(anyDouble())).thenReturn(6.0);
+
+        admission = new OrderAdmissionService();
+        ReflectionTestUtils.setField(admission, "kitchenBacklog", kitchenBacklog);
+        ReflectionTestUtils.setField(admission, "properties", properties);
+    }
+
+    @Test
+    void admitsUpToTheBacklogLimit() {
+        when(kitchenBacklog.getActiveCount()).thenReturn(9L);
+
+        AdmissionDecision decision = admission.admit();
+
+        assertThat(decision.getOutcome()).isEqualTo(Outcome.ADMITTED);
+        assertThat(decision.getQueuePosition()).isEqualTo(10);
+        assertThat(decision.getEstimatedWaitSeconds()).isEqualTo(100);
+    }
+
+    @Test
+    void queuesPastTheBacklogLimit() {
+        properties.setMode(AdmissionProperties.Mode.QUEUE);
+        when(kitchenBacklog.getActiveCount()).thenReturn(10L);
+
+        AdmissionDecision decision = admission.admit();
+
+        assertThat(decision.getOutcome()).isEqualTo(Outcome.QUEUED);
+        assertThat(decision.isRejected()).isFalse();
+        assertThat(decision.getQueuePosition()).isEqualTo(11);
+        assertThat(decision.getEstimatedWaitSeconds()).isEqualTo(110);
+    }
+
+    @Test
+    void rejectsPastTheBacklogLimitInRejectMode() {
+        properties.setMode(AdmissionProperties.Mode.REJECT);
+        when(kitchenBacklog.getActiveCount()).thenReturn(10L);
+
+        AdmissionDecision decision = admission.admit();
+
+        assertThat(decision.isRejected()).isTrue();
+        // One order over the limit clears in one completion
+        assertThat(decision.getRetryAfterSeconds()).isEqualTo(10);
+    }
+
+    @Test
+    void schedulesPastTheBacklogLimitForTheNextPickupSlot() {
+        properties.setMode(AdmissionProperties.Mode.SCHEDULED_PICKUP);
+        when(kitchenBacklog.getActiveCount()).thenReturn(10L);
+
+        LocalDateTime before = LocalDateTime.now();
+        AdmissionDecision decision = admission.admit();
+        LocalDateTime after = LocalDateTime.now();
+
+        assertThat(decision.getOutcome()).isEqualTo(Outcome.SCHEDULED);
+        LocalDateTime slot = decision.getScheduledFor();
+        assertThat(slot.getMinute() % 15).isZero();
+        assertThat(slot.getSecond()).isZero();
+        assertThat(slot).isAfter(before.plusSeconds(110));
+        assertThat(slot).isBeforeOrEqualTo(after.plusSeconds(110).plusMinutes(15));
+    }
+
+    @Test
+    void rejectsPastTheHardLimitInEveryMode() {
+        when(kitchenBacklog.getActiveCount()).thenReturn(20L);
+        properties.setMaxRetryAfterSeconds(60);
+
+        for (AdmissionProperties.Mode mode : AdmissionProperties.Mode.values()) {
+            properties.setMode(mode);
+            AdmissionDecision decision = admission.admit();
+
+            assertThat(decision.isRejected()).as(mode.name()).isTrue();
+            assertThat(decision.getQueuePosition()).isEqualTo(21);
+            // 11 orders over the limit would take 110 seconds, capped at the maximum
+            assertThat(decision.getRetryAfterSeconds()).isEqualTo(60);
+        }
+    }
+
+    @Test
+    void countsAdmittedOrdersUntilTheyAreReleased() {
+        properties.setMode(AdmissionProperties.Mode.QUEUE);
+        when(kitchenBacklog.getActiveCount()).thenReturn(9L);
+
+        AdmissionDecision first = admission.admit();
+        AdmissionDecision second = admission.admit();
+        assertThat(first.getOutcome()).isEqualTo(Outcome.ADMITTED);
+        assertThat(second.getOutcome()).isEqualTo(Outcome.QUEUED);
+        assertThat(second.getQueuePosition()).isEqualTo(11);
+
+        admission.release(first);
+        admission.release(second);
+        assertThat(admission.admit().getQueuePosition()).isEqualTo(10);
+    }
+
+    @Test
+    void rejectedOrdersDoNotHoldAPlace() {
+        properties.setMode(AdmissionProperties.Mode.REJECT);
+        when(kitchenBacklog.getActiveCount()).thenReturn(10L);
+
+        AdmissionDecision rejected = admission.admit();
+        admission.release(rejected);
+        admission.release(null);
+
+        assertThat(admission.admit().getQueuePosition()).isEqualTo(11);
+    }
+
+    @Test
+    void admitsEverythingWhenDisabledOrNotSeeded() {
+        properties.setMode(AdmissionProperties.Mode.REJECT);
+        when(kitchenBacklog.getActiveCount()).thenReturn(500L);
+
+        properties.setEnabled(false);
+        assertThat(admission.admit().getOutcome()).isEqualTo(Outcome.ADMITTED);
+
+        properties.setEnabled(true);
+        when(kitchenBacklog.isSeeded()).thenReturn(false);
+        assertThat(admission.admit().getOutcome()).isEqualTo(Outcome.ADMITTED);
+    }
+}
@@ -0,0 +1,209 @@
+package com.foodapp.orderservice.service;
+
+import com.foodapp.orderservice.model.Order;
+import com.foodapp.orderservice.repository.OrderRepository;
+import com.foodapp.orderservice.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderIdempotencyServiceTest {
+
+    private static final Long USER = 7L;
+    private static final String KEY = "checkout-1";
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private OrderIdempotencyService idempotency;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(shardRouter.readForUser(anyLong(), any(Supplier.class)))
+                .thenAnswer(call -> ((Supplier<?>) call.getArgument(1)).get());
+        when(orderRepository.findIdByUserIdAndIdempotencyKey(anyLong(), any())).thenReturn(Optional.empty());
+        when(orderService.getOrderById(anyLong())).thenAnswer(call -> order(call.getArgument(0)));
+
+        idempotency = new OrderIdempotencyService();
+        ReflectionTestUtils.setField(idempotency, "orderService", orderService);
+        ReflectionTestUtils.setField(idempotency, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(idempotency, "shardRouter", shardRouter);
+        ReflectionTestUtils.setField(idempotency, "cacheSize", 100);
+        ReflectionTestUtils.setField(idempotency, "cacheTtlMs", 600000L);
+        ReflectionTestUtils.setField(idempotency, "waitTimeoutMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+        AtomicInteger creates = new AtomicInteger();
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Order> create = () -> {
+            creates.incrementAndGet();
+            creating.countDown();
+            await(release);
+            return order(11L);
+        };
+
+        Future<OrderIdempotencyService.Result> first = pool.submit(() -> idempotency.createOnce(USER, KEY, create));
+        assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Future<OrderIdempotencyService.Result>> duplicates = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            duplicates.add(pool.submit(() -> idempotency.createOnce(USER, KEY, create)));
+        }
+        // Let the duplicates reach the in-flight entry before the first request finishes
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).isReplayed()).isFalse();
+        assertThat(first.get().getOrder().getId()).isEqualTo(11L);
+        for (Future<OrderIdempotencyService.Result> duplicate : duplicates) {
+            OrderIdempotencyService.Result result = duplicate.get(5, TimeUnit.SECONDS);
+            assertThat(result.isReplayed()).isTrue();
+            assertThat(result.getOrder().getId()).isEqualTo(11L);
+        }
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    void duplicatesSeeTheFirstRequestFail() throws Exception {
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<OrderIdempotencyService.Result> first = pool.submit(() -> idempotency.createOnce(USER, KEY, () -> {
+            creating.countDown();
+            await(release);
+            throw new IllegalArgumentException("Restaurant is closed");
+        }));
+        assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<OrderIdempotencyService.Result> duplicate = pool.submit(
+                () -> idempotency.createOnce(USER, KEY, () -> order(12L)));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> duplicate.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+
+        // A failed key is not remembered, so a retry creates the order
+        OrderIdempotencyService.Result retry = idempotency.createOnce(USER, KEY, () -> order(12L));
+        assertThat(retry.isReplayed()).isFalse();
+        assertThat(retry.getOrder().getId()).isEqualTo(12L);
+    }
+
+    @Test
+    void duplicateGivesUpWhenTheFirstRequestRunsTooLong() throws Exception {
+        ReflectionTestUtils.setField(idempotency, "waitTimeoutMs", 50L);
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<OrderIdempotencyService.Result> first = pool.submit(() -> idempotency.createOnce(USER, KEY, () -> {
+            creating.countDown();
+            await(release);
+            return order(13L);
+        }));
+        assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> idempotency.createOnce(USER, KEY, () -> order(14L)))
+                .isInstanceOf(OrderIdempotencyService.StillRunningException.class);
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getOrder().getId()).isEqualTo(13L);
+    }
+
+    @Test
+    void repeatedKeyIsAnsweredFromRecentKeys() {
+        idempotency.createOnce(USER, KEY, () -> order(15L));
+
+        OrderIdempotencyService.Result again = idempotency.createOnce(USER, KEY, () -> {
+            throw new AssertionError("should not create twice");
+        });
+
+        assertThat(again.isReplayed()).isTrue();
+        assertThat(again.getOrder().getId()).isEqualTo(15L);
+        assertThat(idempotency.findRecent(USER, KEY)).map(Order::getId).contains(15L);
+        assertThat(idempotency.findRecent(USER + 1, KEY)).isEmpty();
+        // Only the first request had to look the key up
+        verify(orderRepository).findIdByUserIdAndIdempotencyKey(USER, KEY);
+    }
+
+    @Test
+    void keyStoredEarlierIsFoundInTheDatabase() {
+        when(orderRepository.findIdByUserIdAndIdempotencyKey(USER, KEY)).thenReturn(Optional.of(16L));
+
+        OrderIdempotencyService.Result result = idempotency.createOnce(USER, KEY, () -> {
+            throw new AssertionError("should not create twice");
+        });
+
+        assertThat(result.isReplayed()).isTrue();
+        assertThat(result.getOrder().getId()).isEqualTo(16L);
+    }
+
+    @Test
+    void uniqueKeyViolationReplaysTheOrderStoredByAnotherInstance() {
+        // Not stored when first looked up, stored by the time the insert fails
+        when(orderRepository.findIdByUserIdAndIdempotencyKey(USER, KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(17L));
+
+        OrderIdempotencyService.Result result = idempotency.createOnce(USER, KEY, () -> {
+            throw new DataIntegrityViolationException("Duplicate entry for uk_orders_user_idempotency_key");
+        });
+
+        assertThat(result.isReplayed()).isTrue();
+        assertThat(result.getOrder().getId()).isEqualTo(17L);
+        assertThat(idempotency.findRecent(USER, KEY)).map(Order::getId).contains(17L);
+    }
+
+    @Test
+    void otherIntegrityViolationsAreRethrown() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Column 'user_id' cannot be null");
+
+        assertThatThrownBy(() -> idempotency.createOnce(USER, KEY, () -> {
+            throw violation;
+        })).isSameAs(violation);
+        assertThat(idempotency.findRecent(USER, KEY)).isEmpty();
+        verify(orderService, never()).getOrderById(anyLong());
+    }
+
+    private static Order order(Long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId(USER);
+        order.setIdempotencyKey(KEY);
+        return order;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.foodapp.orderservice.sharding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardRebalancerTest {
+
+    // With two shards user 42 hashes to shard 1, users 1 and 2 to shard 0
+    private static final long MOVING_USER = 42;
+
+    private static int run;
+
+    private JdbcTemplate shard0;
+    private JdbcTemplate shard1;
+    private ShardRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        run++;
+        DataSource first = ShardRouterTest.database("rebalance" + run + "a");
+        DataSource second = ShardRouterTest.database("rebalance" + run + "b");
+        shard0 = new JdbcTemplate(first);
+        shard1 = new JdbcTemplate(second);
+        for (JdbcTemplate jdbc : List.of(shard0, shard1)) {
+            for (String orders : List.of("orders", "orders_archive")) {
+                jdbc.execute("CREATE TABLE " + orders + " (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, status VARCHAR(20))");
+            }
+            for (String items : List.of("order_items", "order_items_archive")) {
+                jdbc.execute("CREATE TABLE " + items + " (id BIGINT PRIMARY KEY, order_id BIGINT NOT NULL, quantity INT)");
+            }
+            jdbc.execute("CREATE TABLE order_history (order_id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, items VARCHAR(200))");
+        }
+        rebalancer = new ShardRebalancer(new ShardRoutingDataSource(List.of(first, second)));
+        assertThat(ShardRouter.shardForUser(MOVING_USER, 2)).isEqualTo(1);
+        assertThat(ShardRouter.shardForUser(1, 2)).isZero();
+        assertThat(ShardRouter.shardForUser(2, 2)).isZero();
+    }
+
+    @Test
+    void movesEveryTableOfAUserToItsNewShard() {
+        order(shard0, "orders", 1, 1, "PENDING");
+        order(shard0, "orders", 2, MOVING_USER, "PREPARING");
+        order(shard0, "orders", 3, 2, "READY");
+        shard0.update("INSERT INTO order_items VALUES (10, 1, 1), (11, 2, 2), (12, 2, 1), (13, 3, 1)");
+        order(shard0, "orders_archive", 4, MOVING_USER, "DELIVERED");
+        order(shard0, "orders_archive", 5, 1, "DELIVERED");
+        shard0.update("INSERT INTO order_items_archive VALUES (20, 4, 3), (21, 5, 1)");
+        shard0.update("INSERT INTO order_history VALUES (2, ?, '[\"Soup\"]'), (4, ?, '[\"Cake\"]'), (1, 1, '[]')",
+                MOVING_USER, MOVING_USER);
+
+        int moved = rebalancer.rebalance();
+
+        assertThat(moved).isEqualTo(2);
+        assertThat(ids(shard1, "orders")).containsExactly(2L);
+        assertThat(ids(shard1, "order_items")).containsExactly(11L, 12L);
+        assertThat(ids(shard1, "orders_archive")).containsExactly(4L);
+        assertThat(ids(shard1, "order_items_archive")).containsExactly(20L);
+        assertThat(shard1.queryForList("SELECT order_id FROM order_history ORDER BY order_id", Long.class))
+                .containsExactly(2L, 4L);
+        assertThat(shard1.queryForObject("SELECT status FROM orders WHERE id = 2", String.class)).isEqualTo("PREPARING");
+
+        assertThat(ids(shard0, "orders")).containsExactly(1L, 3L);
+        assertThat(ids(shard0, "order_items")).containsExactly(10L, 13L);
+        assertThat(ids(shard0, "orders_archive")).containsExactly(5L);
+        assertThat(ids(shard0, "order_items_archive")).containsExactly(21L);
+        assertThat(shard0.queryForList("SELECT order_id FROM order_history", Long.class)).containsExactly(1L);
+    }
+
+    @Test
+    void userWithOnlyArchivedOrdersIsMovedToo() {
+        order(shard0, "orders_archive", 4, MOVING_USER, "DELIVERED");
+
+        assertThat(rebalancer.rebalance()).isEqualTo(1);
+        assertThat(ids(shard1, "orders_archive")).containsExactly(4L);
+        assertThat(ids(shard0, "orders_archive")).isEmpty();
+    }
+
+    @Test
+    void rerunAfterAPartialCopyFinishesTheMove() {
+        // A crash after the target commit left a copy behind while the source still had the rows
+        order(shard0, "orders", 2, MOVING_USER, "READY");
+        order(shard0, "orders", 6, MOVING_USER, "PENDING");
+        order(shard1, "orders", 2, MOVING_USER, "READY");
+
+        assertThat(rebalancer.rebalance()).isEqualTo(2);
+        assertThat(ids(shard1, "orders")).containsExactly(2L, 6L);
+        assertThat(ids(shard0, "orders")).isEmpty();
+        assertThat(rebalancer.rebalance()).isZero();
+    }
+
+    private static void order(JdbcTemplate jdbc, String table, long id, long userId, String status) {
+        jdbc.update("INSERT INTO " + table + " (id, user_id, status) VALUES (?, ?, ?)", id, userId, status);
+    }
+
+    private static List<Long> ids(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.foodapp.orderservice.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardRouterTest {
+
+    private ShardRouter router;
+    private ShardRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        if (router != null) {
+            router.shutdown();
+        }
+    }
+
+    @Test
+    void jumpHashPlacementNeverChanges() {
+        // Orders already live where these say; a different answer would strand them
+        assertThat(placements(1)).containsExactly(0, 0, 0, 0, 6, 6);
+        assertThat(placements(2)).containsExactly(0, 0, 0, 3, 6, 15);
+        assertThat(placements(3)).containsExactly(0, 0, 2, 3, 3, 8);
+        assertThat(placements(42)).containsExactly(0, 1, 2, 2, 2, 2);
+        assertThat(placements(1000)).containsExactly(0, 0, 0, 0, 5, 13);
+        assertThat(placements(123456789L)).containsExactly(0, 0, 0, 0, 7, 7);
+    }
+
+    @Test
+    void addingAShardOnlyMovesUsersOntoIt() {
+        for (int shards = 1; shards < 10; shards++) {
+            int moved = 0;
+            for (long userId = 1; userId <= 10000; userId++) {
+                int before = ShardRouter.shardForUser(userId, shards);
+                int after = ShardRouter.shardForUser(userId, shards + 1);
+                assertThat(after).isBetween(0, shards);
+                if (after != before) {
+                    assertThat(after).isEqualTo(shards);
+                    moved++;
+                }
+            }
+            // About 1/(n+1) of the users move
+            assertThat(moved).isBetween(10000 / (shards + 1) - 300, 10000 / (shards + 1) + 300);
+        }
+    }
+
+    @Test
+    void mergeSortedInterleavesSortedLists() {
+        List<List<Integer>> lists = List.of(List.of(1, 4, 9), List.of(), List.of(2, 3, 10, 11), List.of(4, 5));
+
+        assertThat(ShardRouter.mergeSorted(lists, Comparator.naturalOrder()))
+                .containsExactly(1, 2, 3, 4, 4, 5, 9, 10, 11);
+        assertThat(ShardRouter.mergeSorted(List.of(List.of(9, 3), List.of(7, 1)), Comparator.<Integer>reverseOrder()))
+                .containsExactly(9, 7, 3, 1);
+        assertThat(ShardRouter.mergeSorted(List.<List<Integer>>of(), Comparator.<Integer>naturalOrder())).isEmpty();
+    }
+
+    @Test
+    void mergeSortedKeepsEqualElementsFromEveryList() {
+        List<String[]> a = List.of(new String[] {"1", "a"}, new String[] {"2", "a"});
+        List<String[]> b = List.of(new String[] {"1", "b"}, new String[] {"2", "b"});
+
+        List<String[]> merged = ShardRouter.mergeSorted(List.of(a, b), Comparator.comparing((String[] row) -> row[0]));
+
+        assertThat(merged).extracting(row -> row[0]).containsExactly("1", "1", "2", "2");
+        assertThat(merged).extracting(row -> row[1]).contains("a", "b");
+    }
+
+    @Test
+    void gatherMergesTheSortedResultsOfEveryShard() {
+        List<DataSource> shards = List.of(database("gather0"), database("gather1"), database("gather2"));
+        long[][] ids = {{1, 4, 7}, {2, 5}, {3, 6, 8, 9}};
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate jdbc = new JdbcTemplate(shards.get(shard));
+            jdbc.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY)");
+            for (long id : ids[shard]) {
+                jdbc.update("INSERT INTO orders (id) VALUES (?)", id);
+            }
+        }
+        router = shardedRouter(shards);
+        JdbcTemplate routed = new JdbcTemplate(routingDataSource);
+
+        List<Long> gathered = router.gather(() -> routed.queryForList("SELECT id FROM orders ORDER BY id", Long.class),
+                Comparator.naturalOrder());
+
+        assertThat(gathered).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+    }
+
+    @Test
+    void findByOrderIdTriesTheShardInTheIdFirst() {
+        router = shardedRouter(List.of(database("probe0"), database("probe1"), database("probe2")));
+        List<Integer> visited = new ArrayList<>();
+
+        // With stride 64, id 66 was generated by shard 1
+        Optional<String> found = router.findByOrderId(66L, () -> {
+            visited.add(ShardContext.current());
+            return ShardContext.current() == 2 ? Optional.of("moved") : Optional.empty();
+        });
+
+        assertThat(visited).containsExactly(1, 0, 2);
+        assertThat(found).contains("moved");
+        assertThat(router.shardOfOrderId(66L)).isEqualTo(1);
+        assertThat(router.shardOfOrderId(64L)).isEqualTo(-1);
+    }
+
+    @Test
+    void withoutShardingWorkRunsInline() {
+        router = new ShardRouter(provider(null), mock(DataSourceTransactionManager.class), 64, 4);
+
+        assertThat(router.isEnabled()).isFalse();
+        assertThat(router.getShardCount()).isEqualTo(1);
+        assertThat(router.gather(() -> List.of(3, 1), Comparator.<Integer>naturalOrder())).containsExactly(3, 1);
+        assertThat(router.findByOrderId(5L, () -> Optional.of("x"))).contains("x");
+    }
+
+    private ShardRouter shardedRouter(List<DataSource> shards) {
+        routingDataSource = new ShardRoutingDataSource(shards);
+        routingDataSource.afterPropertiesSet();
+        return new ShardRouter(provider(routingDataSource), new DataSourceTransactionManager(routingDataSource), 64, 4);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<ShardRoutingDataSource> provider(ShardRoutingDataSource dataSource) {
+        ObjectProvider<ShardRoutingDataSource> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(dataSource);
+        return provider;
+    }
+
+    static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static List<Integer> placements(long userId) {
+        List<Integer> shards = new ArrayList<>();
+        for (int count : new int[] {1, 2, 3, 4, 8, 16}) {
+            shards.add(ShardRouter.shardForUser(userId, count));
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,101 @@
+package com.foodapp.orderservice.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    // 10 ms ticks, 8 buckets: level 0 spans 80 ms, so longer deadlines go to a higher level
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>("test-wheel", 10, 8, Runnable::run);
+
+    @AfterEach
+    void shutdown() {
+        wheel.shutdown();
+    }
+
+    @Test
+    void runsTimerAtItsDeadline() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + 50;
+
+        wheel.schedule("order-1", deadline, fired::countDown);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.currentTimeMillis()).isGreaterThanOrEqualTo(deadline);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void runsPastDeadlineRightAway() {
+        List<String> fired = new CopyOnWriteArrayList<>();
+
+        wheel.schedule("order-1", System.currentTimeMillis() - 1000, () -> fired.add("order-1"));
+
+        assertThat(fired).containsExactly("order-1");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimerNeverRuns() throws InterruptedException {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch later = new CountDownLatch(1);
+        long now = System.currentTimeMillis();
+
+        wheel.schedule("cancelled", now + 40, () -> fired.add("cancelled"));
+        wheel.schedule("kept", now + 80, later::countDown);
+
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("cancelled")).isFalse();
+        assertThat(later.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).isEmpty();
+    }
+
+    @Test
+    void reschedulingReplacesTheTimer() throws InterruptedException {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        long now = System.currentTimeMillis();
+
+        wheel.schedule("order-1", now + 30, () -> fired.add("first"));
+        wheel.schedule("order-1", now + 60, () -> {
+            fired.add("second");
+            done.countDown();
+        });
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly("second");
+    }
+
+    @Test
+    void cascadesLongTimersDownToTheirDeadline() throws InterruptedException {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long now = System.currentTimeMillis();
+        // Past level 0 (80 ms) and level 1 (640 ms)
+        long[] deadlines = {now + 30, now + 250, now + 900};
+
+        for (int i = deadlines.length - 1; i >= 0; i--) {
+            String key = "order-" + i;
+            long deadline = deadlines[i];
+            wheel.schedule(key, deadline, () -> {
+                // Buckets are 10 ms wide at level 0, so a timer never fires before its deadline
+                if (System.currentTimeMillis() >= deadline) {
+                    fired.add(key);
+                }
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly("order-0", "order-1", "order-2");
+    }
+}
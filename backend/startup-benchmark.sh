@@ -0,0 +1,102 @@
+#!/usr/bin/env bash
+#
+# Time-to-first-request per service: starts each service's jar, polls a cheap GET endpoint until it
+# answers 2xx and records the time from launch. Both the regular jar (mvn package) and the
+# fast-startup build (mvn -Pfast-startup package: AOT + AppCDS) are measured when they have been built.
+#
+#   ./startup-benchmark.sh [runs] [service...]      e.g. ./startup-benchmark.sh 5 menu-service user-service
+#
+# Every run is appended to $RESULTS (default startup-benchmark.csv) with the commit it was built from,
+# so startup regressions show up over time. Services need their databases running, as for the tests.
+
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+RUNS=${1:-3}
+shift || true
+SERVICES=("$@")
+if [ ${#SERVICES[@]} -eq 0 ]; then
+    SERVICES=(user-service menu-service order-service gateway-service)
+fi
+RESULTS=${RESULTS:-startup-benchmark.csv}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+COMMIT=$(git rev-parse --short HEAD 2>/dev/null || echo unknown)
+
+probe_url() {
+    case "$1" in
+        user-service) echo "http://localhost:8081/api/users/bulkheads" ;;
+        menu-service) echo "http://localhost:8082/api/menu/items" ;;
+        order-service) echo "http://localhost:8083/api/orders/bulkheads" ;;
+        gateway-service) echo "http://localhost:8080/api/gateway/health" ;;
+        *) echo "Unknown service $1" >&2; exit 1 ;;
+    esac
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+# Prints the milliseconds until the first 2xx, or "timeout"
+measure() {
+    local url=$1 log=$2
+    shift 2
+    local started pid code
+    started=$(now_ms)
+    "$@" > "$log" 2>&1 &
+    pid=$!
+    while true; do
+        code=$(curl -s -o /dev/null -m 1 -w '%{http_code}' "$url" || true)
+        if [[ $code == 2* ]]; then
+            echo $(( $(now_ms) - started ))
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null || [ $(( $(now_ms) - started )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+            echo timeout
+            break
+        fi
+        sleep 0.05
+    done
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "-"; else if (NR % 2) print v[(NR + 1) / 2]; else print int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+[ -f "$RESULTS" ] || echo "timestamp,commit,service,mode,run,time_to_first_request_ms" > "$RESULTS"
+
+printf '%-16s %-13s %10s %10s\n' service mode median_ms min_ms
+for service in "${SERVICES[@]}"; do
+    url=$(probe_url "$service")
+    regular_jar=$(ls "$service"/target/*.jar 2>/dev/null | head -n 1 || true)
+    fast_jar=$(ls "$service"/target/fast-startup/*-fast-startup.jar 2>/dev/null | head -n 1 || true)
+
+    for mode in regular fast-startup; do
+        if [ "$mode" = regular ]; then
+            [ -n "$regular_jar" ] || { echo "$service: no jar, run mvn package" >&2; continue; }
+            command=(java -jar "$regular_jar")
+        else
+            [ -n "$fast_jar" ] || { echo "$service: no fast-startup jar, run mvn -Pfast-startup package" >&2; continue; }
+            command=(java)
+            archive="$service/target/fast-startup/application.jsa"
+            [ -f "$archive" ] && command+=("-XX:SharedArchiveFile=$archive")
+            # order-service is on Spring Boot 2 and has no AOT-processed code
+            [ "$service" != order-service ] && command+=(-Dspring.aot.enabled=true)
+            command+=(-jar "$fast_jar")
+        fi
+
+        times=()
+        for run in $(seq 1 "$RUNS"); do
+            ms=$(measure "$url" "/tmp/startup-benchmark-$service-$mode.log" "${command[@]}")
+            echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$COMMIT,$service,$mode,$run,$ms" >> "$RESULTS"
+            [ "$ms" = timeout ] && { echo "$service ($mode) did not answer, see /tmp/startup-benchmark-$service-$mode.log" >&2; continue; }
+            times+=("$ms")
+        done
+
+        printf '%-16s %-13s %10s %10s\n' "$service" "$mode" \
+            "$(printf '%s\n' "${times[@]:-}" | grep . | median)" \
+            "$(printf '%s\n' "${times[@]:-}" | grep . | sort -n | head -n 1)"
+    done
+done
@@ -0,0 +1,51 @@
+package com.foodapp.userservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-bucket limits for abuse-prone endpoints, keyed by client ip, username or user id.
+ * Bound from {@code app.rate-limit.*}; each entry of {@code limits} is checked by name from the controllers.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets kept per limit; idle (full) buckets are evicted first, and past this new keys share one bucket
+    private int maxKeys = 100000;
+
+    // Requests from these addresses (the gateway) are keyed by the X-Forwarded-For chain instead; none by default
+    private List<String> trustedProxies = new ArrayList<>();
+
+    private Map<String, Limit> limits = new HashMap<>();
+
+    public static class Limit {
+        // Sustained rate
+        private int perMinute = 60;
+        // Requests allowed back to back after being idle
+        private int burst = 10;
+
+        public int getPerMinute() { return perMinute; }
+        public void setPerMinute(int perMinute) { this.perMinute = perMinute; }
+
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getMaxKeys() { return maxKeys; }
+    public void setMaxKeys(int maxKeys) { this.maxKeys = maxKeys; }
+
+    public List<String> getTrustedProxies() { return trustedProxies; }
+    public void setTrustedProxies(List<String> trustedProxies) { this.trustedProxies = trustedProxies; }
+
+    public Map<String, Limit> getLimits() { return limits; }
+    public void setLimits(Map<String, Limit> limits) { this.limits = limits; }
+}
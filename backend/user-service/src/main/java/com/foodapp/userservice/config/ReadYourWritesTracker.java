@@ -0,0 +1,53 @@
+package com.foodapp.userservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers users who have just written so their next reads are served by the primary
+ * instead of a replica that may not have caught up yet.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int MAX_TRACKED_USERS = 10_000;
+
+    private final Map<Long, Long> primaryUntil = new ConcurrentHashMap<>();
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(@Value("${app.datasource.read-replicas.read-your-writes-window-ms:5000}") long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void recordWrite(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (primaryUntil.size() >= MAX_TRACKED_USERS) {
+            primaryUntil.values().removeIf(until -> until <= now);
+        }
+        primaryUntil.put(userId, now + windowMillis);
+    }
+
+    /**
+     * Pins the current read-only transaction to the primary if {@code userId} wrote recently.
+     */
+    public void routeReadsFor(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Long until = primaryUntil.get(userId);
+        if (until == null) {
+            return;
+        }
+        if (until > System.currentTimeMillis()) {
+            DataSourceRouting.usePrimaryForCurrentTransaction();
+        } else {
+            primaryUntil.remove(userId, until);
+        }
+    }
+}
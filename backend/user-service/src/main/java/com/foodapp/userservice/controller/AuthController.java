@@ -4,8 +4,11 @@ import com.foodapp.userservice.dto.LoginRequest;
 import com.foodapp.userservice.dto.LoginResponse;
 import com.foodapp.userservice.dto.ErrorResponse;
 import com.foodapp.userservice.model.User;
+import com.foodapp.userservice.ratelimit.RateLimiters;
 import com.foodapp.userservice.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,8 +21,22 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RateLimiters rateLimiters;
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // Per client ip, then per username, before any password hashing or database work
+        long retryAfter = rateLimiters.check("login-ip", rateLimiters.clientIp(request));
+        if (retryAfter == 0 && loginRequest.getUsername() != null) {
+            retryAfter = rateLimiters.check("login-username", loginRequest.getUsername().trim().toLowerCase());
+        }
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(new ErrorResponse("Too many login attempts. Please try again in " + retryAfter + " seconds."));
+        }
+
         try {
             User user = userService.authenticateUser(
                     loginRequest.getUsername(),
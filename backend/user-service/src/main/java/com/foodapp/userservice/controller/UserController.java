@@ -1,13 +1,27 @@
 package com.foodapp.userservice.controller;
 
+import com.foodapp.userservice.bulkhead.Bulkhead;
+import com.foodapp.userservice.bulkhead.BulkheadFilter;
+import com.foodapp.userservice.dto.InvalidationStats;
+import com.foodapp.userservice.dto.UserSummary;
+import com.foodapp.userservice.export.ExportFormat;
+import com.foodapp.userservice.invalidation.CacheInvalidationBus;
 import com.foodapp.userservice.model.User;
+import com.foodapp.userservice.service.UserExportService;
 import com.foodapp.userservice.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -17,43 +31,94 @@ import java.util.HashMap;
 @CrossOrigin(origins = "http://localhost:3000")
 public class UserController {
 
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
+    private static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     private UserService userService;
 
+    @Lazy
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private BulkheadFilter bulkheadFilter;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers(
+    public ResponseEntity<List<UserSummary>> getAllUsers(
             @RequestParam(required = false) String role,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int limit) {
         try {
-            List<User> users;
+            List<UserSummary> users;
 
             if (search != null && !search.trim().isEmpty()) {
                 users = userService.searchUsers(search);
             } else if (role != null || status != null) {
                 users = userService.getUsersByFilter(role, status);
             } else {
-                users = userService.getAllUsers();
+                users = userService.getAllUserSummaries();
             }
 
             return ResponseEntity.ok(users);
         } catch (Exception e) {
-            System.err.println("Error fetching all users: " + e.getMessage());
+            log.error("Fetching users failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
 
+    // Streams all users as json, ndjson or csv without loading the table into memory
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> userExportService.exportUsers(out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+
+    // Summary rows for many users in one call: POST {"ids": [..]} or GET ?ids=1,2,3
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserSummary>> getUsersBatch(@RequestBody BatchRequest request) {
+        return batchResponse(request.getIds());
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<UserSummary>> getUsersBatch(@RequestParam List<Long> ids) {
+        return batchResponse(ids);
+    }
+
+    private ResponseEntity<List<UserSummary>> batchResponse(List<Long> ids) {
+        if (ids == null || ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.getUserSummaries(ids));
+    }
+
+
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         try {
             User user = userService.getUserById(id);
             return ResponseEntity.ok(user);
         } catch (RuntimeException e) {
-            System.err.println("User not found with ID: " + id);
+            log.debug("User {} not found", id);
             return ResponseEntity.notFound().build();
         }
     }
@@ -67,7 +132,7 @@ public class UserController {
             User updatedUser = userService.updateUserStatus(id, request.getStatus());
             return ResponseEntity.ok(updatedUser);
         } catch (RuntimeException e) {
-            System.err.println("Error updating user status: " + e.getMessage());
+            log.warn("Updating status of user {} failed: {}", id, e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -79,7 +144,7 @@ public class UserController {
             User newUser = userService.createUser(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(newUser);
         } catch (Exception e) {
-            System.err.println("Error creating user: " + e.getMessage());
+            log.warn("Creating user failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
@@ -92,7 +157,7 @@ public class UserController {
             User updatedUser = userService.updateUser(id, request);
             return ResponseEntity.ok(updatedUser);
         } catch (RuntimeException e) {
-            System.err.println("Error updating user: " + e.getMessage());
+            log.warn("Updating user {} failed: {}", id, e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -106,7 +171,7 @@ public class UserController {
             response.put("message", "User deleted successfully");
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
-            System.err.println("Error deleting user: " + e.getMessage());
+            log.warn("Deleting user {} failed: {}", id, e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -120,7 +185,7 @@ public class UserController {
             User user = userService.getUserById(userId);
             return ResponseEntity.ok(user);
         } catch (RuntimeException e) {
-            System.err.println("Profile not found for user ID: " + userId);
+            log.debug("Profile of user {} not found", userId);
             return ResponseEntity.notFound().build();
         }
     }
@@ -133,7 +198,7 @@ public class UserController {
             User updatedUser = userService.updateUserProfile(userId, userDetails);
             return ResponseEntity.ok(updatedUser);
         } catch (RuntimeException e) {
-            System.err.println("Error updating profile: " + e.getMessage());
+            log.warn("Updating profile of user {} failed: {}", userId, e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -148,25 +213,46 @@ public class UserController {
             response.put("exists", exists);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("Error checking email: " + e.getMessage());
+            log.error("Checking whether an email is registered failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
 
+    // Load on the admin endpoint bulkheads (active, queued, rejected per group)
+    @GetMapping("/bulkheads")
+    public ResponseEntity<Collection<Bulkhead>> getBulkheads() {
+        return ResponseEntity.ok(bulkheadFilter.getBulkheads());
+    }
+
+    // Cross-instance cache invalidation counters and propagation lag of this instance
+    @GetMapping("/cache-invalidation")
+    public ResponseEntity<InvalidationStats> getInvalidationStats() {
+        return ResponseEntity.ok(invalidationBus.getStats());
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getUserStats() {
         try {
             Map<String, Object> stats = userService.getUserStatistics();
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
-            System.err.println("Error getting user stats: " + e.getMessage());
+            log.error("Computing user stats failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
 
 
+    public static class BatchRequest {
+        private List<Long> ids;
+
+        public BatchRequest() {}
+
+        public List<Long> getIds() { return ids; }
+        public void setIds(List<Long> ids) { this.ids = ids; }
+    }
+
     public static class StatusUpdateRequest {
         private String status;
         private String reason;
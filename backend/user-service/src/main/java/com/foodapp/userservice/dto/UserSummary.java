@@ -0,0 +1,121 @@
+package com.foodapp.userservice.dto;
+
+import com.foodapp.userservice.model.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for the admin user list, selected directly by JPQL.
+ * Leaves out the password and audit columns of {@link com.foodapp.userservice.model.User}.
+ */
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String email;
+    private Role role;
+    private String firstName;
+    private String lastName;
+    private String phone;
+    private String address;
+    private String status;
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public UserSummary() {}
+
+    // Constructor used by JPQL "SELECT new" projections
+    public UserSummary(Long id, String username, String email, Role role, String firstName, String lastName,
+                       String phone, String address, String status, LocalDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.role = role;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phone = phone;
+        this.address = address;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
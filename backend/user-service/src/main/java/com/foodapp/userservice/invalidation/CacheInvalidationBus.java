@@ -0,0 +1,267 @@
+package com.foodapp.userservice.invalidation;
+
+import com.foodapp.userservice.config.InvalidationProperties;
+import com.foodapp.userservice.dto.InvalidationStats;
+import com.foodapp.userservice.repository.CacheInvalidationRepository;
+import com.foodapp.userservice.repository.CacheInvalidationRepository.Entry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Tells the other instances of this service which cached entities changed, without a broker.
+ * Writers append a row per entity to {@code cache_invalidation} inside their transaction; every
+ * instance polls the table by primary key for rows past the last id it has seen and hands the ids
+ * written by other instances to the listeners of that cache.
+ *
+ * <p>Auto-increment ids are not committed in order, so an id skipped by one poll may still appear.
+ * Skipped ids are re-checked on every poll until they show up or {@code gap-timeout-ms} passes (the
+ * transaction rolled back); past {@code MAX_GAPS} open gaps no more are tracked and every listener is told
+ * to drop everything instead. An instance that could not poll for longer than the retention period has
+ * lost rows and does the same.
+ *
+ * <p>After each poll the highest id with no pending gap below it is reported to {@link #onSettled}
+ * listeners. Every instance that has applied the same rows reports the same id, so it can serve as a
+ * version shared across instances.
+ *
+ * <p>Kept identical in menu-service and user-service, with menu-service holding the canonical copy
+ * (the repository and settings classes it uses too): change it first, carry the change over and run
+ * {@code backend/check-shared-copies.sh}.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final int MAX_GAPS = 1000;
+    private static final int PRUNE_BATCH_SIZE = 1000;
+    private static final double LAG_SMOOTHING = 0.2;
+
+    private final Map<String, List<Consumer<Set<Long>>>> listeners = new ConcurrentHashMap<>();
+    private final List<LongConsumer> settledListeners = new CopyOnWriteArrayList<>();
+
+    // Poller state, only touched by the scheduler thread
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private long lastSeenId = -1;
+    private long lastPolledAt;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder gapsRecovered = new LongAdder();
+    private final LongAdder gapsExpired = new LongAdder();
+    private final LongAdder pollFailures = new LongAdder();
+    private final LongAdder fullInvalidations = new LongAdder();
+    private volatile long lastLagMs;
+    private volatile long maxLagMs;
+    private volatile double averageLagMs;
+    private volatile int pendingGaps;
+
+    private String instanceId;
+
+    @Autowired
+    private InvalidationProperties properties;
+
+    @Autowired
+    private CacheInvalidationRepository repository;
+
+    @Value("${spring.application.name:user-service}")
+    private String applicationName;
+
+    @PostConstruct
+    public void init() {
+        instanceId = properties.getInstanceId() != null && !properties.getInstanceId().isBlank()
+                ? properties.getInstanceId()
+                : applicationName + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Calls {@code listener} with the ids of {@code cacheName} entities other instances changed, or with
+     * null when everything must be dropped. Listeners run on the poller thread and should be quick.
+     */
+    public void subscribe(String cacheName, Consumer<Set<Long>> listener) {
+        listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Calls {@code listener} on the poller thread with the id through which every row has been handed
+     * to the cache listeners, once they have run.
+     */
+    public void onSettled(LongConsumer listener) {
+        settledListeners.add(listener);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Records that entities changed; call inside the transaction that changes them.
+     */
+    public void publish(String cacheName, Collection<Long> entityIds) {
+        if (properties.isEnabled() && !entityIds.isEmpty()) {
+            repository.append(cacheName, entityIds, instanceId);
+        }
+    }
+
+    public void publish(String cacheName, Long entityId) {
+        if (entityId != null) {
+            publish(cacheName, List.of(entityId));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.invalidation.poll-interval-ms:250}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            if (lastSeenId < 0) {
+                // Caches start empty, so earlier rows do not matter
+                lastSeenId = repository.maxId();
+                lastPolledAt = now;
+                settle();
+                return;
+            }
+            if (now - lastPolledAt > TimeUnit.MINUTES.toMillis(properties.getRetentionMinutes())) {
+                lastSeenId = repository.maxId();
+                lastPolledAt = now;
+                gaps.clear();
+                pendingGaps = 0;
+                invalidateEverything();
+                settle();
+                return;
+            }
+
+            List<Entry> found = new ArrayList<>();
+            if (!gaps.isEmpty()) {
+                for (Entry entry : repository.findByIds(gaps.keySet())) {
+                    gaps.remove(entry.getId());
+                    gapsRecovered.increment();
+                    found.add(entry);
+                }
+                int before = gaps.size();
+                gaps.values().removeIf(noticedAt -> now - noticedAt > properties.getGapTimeoutMs());
+                gapsExpired.add(before - gaps.size());
+            }
+
+            boolean gapsOverflowed = false;
+            List<Entry> batch;
+            do {
+                batch = repository.findAfter(lastSeenId, properties.getBatchSize());
+                for (Entry entry : batch) {
+                    for (long skipped = lastSeenId + 1; skipped < entry.getId(); skipped++) {
+                        if (gaps.size() >= MAX_GAPS) {
+                            gapsOverflowed = true;
+                            break;
+                        }
+                        gaps.put(skipped, now);
+                    }
+                    lastSeenId = entry.getId();
+                    found.add(entry);
+                }
+            } while (batch.size() == properties.getBatchSize());
+
+            lastPolledAt = now;
+            pendingGaps = gaps.size();
+            if (gapsOverflowed) {
+                // Changes behind the untracked ids would never be delivered, so nothing cached can be trusted
+                invalidateEverything();
+            } else {
+                dispatch(found);
+            }
+            settle();
+        } catch (RuntimeException e) {
+            pollFailures.increment();
+            log.warn("Polling cache invalidations failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void prune() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int deleted;
+            do {
+                deleted = repository.deleteOlderThan(properties.getRetentionMinutes(), PRUNE_BATCH_SIZE);
+            } while (deleted == PRUNE_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("Pruning cache invalidations failed: {}", e.getMessage());
+        }
+    }
+
+    public InvalidationStats getStats() {
+        return new InvalidationStats(instanceId, lastSeenId, pendingGaps, received.sum(), gapsRecovered.sum(),
+                gapsExpired.sum(), pollFailures.sum(), fullInvalidations.sum(), lastLagMs, maxLagMs,
+                Math.round(averageLagMs));
+    }
+
+    private void dispatch(List<Entry> entries) {
+        Map<String, Set<Long>> changed = new HashMap<>();
+        for (Entry entry : entries) {
+            if (instanceId.equals(entry.getOrigin())) {
+                continue;
+            }
+            changed.computeIfAbsent(entry.getCacheName(), name -> new HashSet<>()).add(entry.getEntityId());
+            recordLag(entry.getLagMs());
+        }
+        changed.forEach((cacheName, ids) -> {
+            for (Consumer<Set<Long>> listener : listeners.getOrDefault(cacheName, List.of())) {
+                notify(cacheName, listener, ids);
+            }
+        });
+    }
+
+    private void settle() {
+        long settled = gaps.isEmpty() ? lastSeenId : Collections.min(gaps.keySet()) - 1;
+        for (LongConsumer listener : settledListeners) {
+            try {
+                listener.accept(settled);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation settled listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void invalidateEverything() {
+        fullInvalidations.increment();
+        log.warn("Cache invalidations may have been missed, dropping all cached entries");
+        listeners.forEach((cacheName, list) -> list.forEach(listener -> notify(cacheName, listener, null)));
+    }
+
+    private void notify(String cacheName, Consumer<Set<Long>> listener, Set<Long> ids) {
+        try {
+            listener.accept(ids);
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation listener for {} failed: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private void recordLag(long lagMs) {
+        received.increment();
+        lastLagMs = lagMs;
+        maxLagMs = Math.max(maxLagMs, lagMs);
+        averageLagMs = averageLagMs == 0 ? lagMs : averageLagMs + LAG_SMOOTHING * (lagMs - averageLagMs);
+    }
+}
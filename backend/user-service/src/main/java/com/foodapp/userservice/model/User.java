@@ -29,6 +29,7 @@ public class User {
 
     private String phone;
 
+    @Column(columnDefinition = "TEXT")
     private String address;
 
     private String status = "ACTIVE";
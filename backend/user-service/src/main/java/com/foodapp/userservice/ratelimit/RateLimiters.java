@@ -0,0 +1,92 @@
+package com.foodapp.userservice.ratelimit;
+
+import com.foodapp.userservice.config.RateLimitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named {@link TokenBucketLimiter}s built from {@code app.rate-limit.limits}. Controllers check
+ * them before doing any work, so rejected requests never reach the services or the database.
+ *
+ * <p>Kept identical in order-service and user-service, with order-service holding the canonical copy:
+ * change it first, carry the change over and run {@code backend/check-shared-copies.sh}.
+ */
+@Component
+public class RateLimiters {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiters.class);
+
+    private final Map<String, TokenBucketLimiter> limiters = new HashMap<>();
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @PostConstruct
+    public void init() {
+        properties.getLimits().forEach((name, limit) ->
+                limiters.put(name, new TokenBucketLimiter(limit.getPerMinute(), limit.getBurst(), properties.getMaxKeys())));
+    }
+
+    /**
+     * Takes a token from limit {@code name} for {@code key}.
+     *
+     * @return 0 if allowed, otherwise seconds to wait (for Retry-After)
+     */
+    public long check(String name, String key) {
+        TokenBucketLimiter limiter = limiters.get(name);
+        if (!properties.isEnabled() || limiter == null || key == null) {
+            return 0;
+        }
+        long waitNanos = limiter.tryAcquire(key);
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    /**
+     * The address to key per-client limits by. Behind a trusted proxy that is the right-most
+     * X-Forwarded-For entry not added by a trusted proxy: entries further left were sent by the client.
+     */
+    public String clientIp(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!properties.getTrustedProxies().contains(address)) {
+            return address;
+        }
+        List<String> hops = new ArrayList<>();
+        for (String header : Collections.list(request.getHeaders("X-Forwarded-For"))) {
+            for (String hop : header.split(",")) {
+                if (!hop.isBlank()) {
+                    hops.add(hop.trim());
+                }
+            }
+        }
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            address = hops.get(i);
+            if (!properties.getTrustedProxies().contains(address)) {
+                break;
+            }
+        }
+        return address;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        limiters.forEach((name, limiter) -> {
+            int evicted = limiter.evictIdle();
+            if (evicted > 0) {
+                log.debug("Rate limit {}: evicted {} idle keys, {} tracked, {} rejected so far",
+                        name, evicted, limiter.size(), limiter.getRejectedCount());
+            }
+        });
+    }
+}
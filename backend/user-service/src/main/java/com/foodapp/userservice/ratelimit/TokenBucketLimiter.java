@@ -0,0 +1,103 @@
+package com.foodapp.userservice.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key token buckets without locks. Each bucket is a single {@link AtomicLong} holding the
+ * time at which it will be full again (the GCRA form of a token bucket): a request is allowed when
+ * that time is at most {@code burst - 1} intervals ahead of now, and then pushes it one interval
+ * further with a compare-and-set. Buckets live in a {@link ConcurrentHashMap}, so requests for
+ * different keys never contend.
+ *
+ * <p>A bucket whose full-again time has passed holds no state worth keeping, so {@link #evictIdle}
+ * drops it; the map is also swept (at most once a second) when it reaches {@code maxKeys}. New keys that
+ * still find it full share one overflow bucket with the same rate and burst, so filling the map with junk
+ * keys throttles other new keys together rather than leaving them unlimited.
+ *
+ * <p>Kept identical in order-service and user-service, with order-service holding the canonical copy:
+ * change it first, carry the change over and run {@code backend/check-shared-copies.sh}.
+ */
+public class TokenBucketLimiter {
+
+    private static final long SWEEP_SPACING_NANOS = 1_000_000_000L;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_SPACING_NANOS);
+
+    public TokenBucketLimiter(int perMinute, int burst, int maxKeys) {
+        this.intervalNanos = 60_000_000_000L / Math.max(1, perMinute);
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes a token for {@code key}.
+     *
+     * @return 0 if allowed, otherwise nanoseconds until the next token
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                sweepIfDue(now);
+                if (buckets.size() >= maxKeys) {
+                    return take(overflow, now);
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        return take(bucket, now);
+    }
+
+    // One GCRA step on bucket: 0 and the full-again time pushed one interval, or the wait when too far ahead
+    private long take(AtomicLong bucket, long now) {
+        while (true) {
+            long fullAt = bucket.get();
+            long start = fullAt - now > 0 ? fullAt : now;
+            long ahead = start - now;
+            if (ahead > toleranceNanos) {
+                rejected.increment();
+                return ahead - toleranceNanos;
+            }
+            if (bucket.compareAndSet(fullAt, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // A full map of busy keys must not turn every new key into a scan
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_SPACING_NANOS && lastSweep.compareAndSet(last, now)) {
+            evictIdle();
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely.
+     *
+     * @return number of buckets removed
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return Math.max(0, before - buckets.size());
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
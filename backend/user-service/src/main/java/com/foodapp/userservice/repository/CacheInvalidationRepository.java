@@ -0,0 +1,87 @@
+package com.foodapp.userservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code cache_invalidation} changelog. {@link #append} joins the caller's
+ * transaction, so a row exists if and only if the write it describes commits. Reads run outside
+ * read-only transactions and therefore always hit the primary.
+ *
+ * <p>Kept identical in menu-service and user-service, with menu-service holding the canonical copy:
+ * change it first, carry the change over and run {@code backend/check-shared-copies.sh}.
+ */
+@Repository
+public class CacheInvalidationRepository {
+
+    // Lag is measured on the database clock so instance clock skew does not distort it
+    private static final String SELECT = "SELECT id, cache_name, entity_id, origin, "
+            + "TIMESTAMPDIFF(MICROSECOND, created_at, CURRENT_TIMESTAMP(3)) DIV 1000 AS lag_ms FROM cache_invalidation ";
+
+    private static final RowMapper<Entry> ENTRY = (rs, rowNum) -> new Entry(rs.getLong("id"), rs.getString("cache_name"),
+            rs.getLong("entity_id"), rs.getString("origin"), rs.getLong("lag_ms"));
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+
+    public CacheInvalidationRepository(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    public void append(String cacheName, Collection<Long> entityIds, String origin) {
+        jdbc.batchUpdate("INSERT INTO cache_invalidation (cache_name, entity_id, origin) VALUES (?, ?, ?)",
+                entityIds, entityIds.size(), (ps, entityId) -> {
+                    ps.setString(1, cacheName);
+                    ps.setLong(2, entityId);
+                    ps.setString(3, origin);
+                });
+    }
+
+    public long maxId() {
+        Long max = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidation", Long.class);
+        return max != null ? max : 0;
+    }
+
+    public List<Entry> findAfter(long afterId, int limit) {
+        return jdbc.query(SELECT + "WHERE id > ? ORDER BY id LIMIT ?", ENTRY, afterId, limit);
+    }
+
+    public List<Entry> findByIds(Collection<Long> ids) {
+        return namedJdbc.query(SELECT + "WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids), ENTRY);
+    }
+
+    public int deleteOlderThan(int minutes, int limit) {
+        return jdbc.update("DELETE FROM cache_invalidation WHERE created_at < CURRENT_TIMESTAMP(3) - INTERVAL ? MINUTE LIMIT ?",
+                minutes, limit);
+    }
+
+    public static class Entry {
+        private final long id;
+        private final String cacheName;
+        private final long entityId;
+        private final String origin;
+        private final long lagMs;
+
+        public Entry(long id, String cacheName, long entityId, String origin, long lagMs) {
+            this.id = id;
+            this.cacheName = cacheName;
+            this.entityId = entityId;
+            this.origin = origin;
+            this.lagMs = lagMs;
+        }
+
+        public long getId() { return id; }
+        public String getCacheName() { return cacheName; }
+        public long getEntityId() { return entityId; }
+        public String getOrigin() { return origin; }
+        public long getLagMs() { return lagMs; }
+    }
+}
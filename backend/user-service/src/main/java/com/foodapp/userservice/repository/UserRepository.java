@@ -1,10 +1,20 @@
 package com.foodapp.userservice.repository;
 
+import com.foodapp.userservice.dto.UserSummary;
+import com.foodapp.userservice.model.Role;
 import com.foodapp.userservice.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +23,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+
+    String SUMMARY_SELECT = "SELECT new com.foodapp.userservice.dto.UserSummary(u.id, u.username, u.email, u.role, " +
+            "u.firstName, u.lastName, u.phone, u.address, u.status, u.createdAt) FROM User u ";
+
+    // Summary rows for the admin user list
+    @Query(SUMMARY_SELECT)
+    List<UserSummary> findAllSummaries();
+
+    // Summary rows whose name, email or username contains the (lower-case) search term; '%', '_' and '!'
+    // in the term must be escaped with '!' (UserService.searchUsers does this)
+    @Query(SUMMARY_SELECT + "WHERE LOWER(u.firstName) LIKE CONCAT('%', :term, '%') ESCAPE '!' " +
+            "OR LOWER(u.lastName) LIKE CONCAT('%', :term, '%') ESCAPE '!' " +
+            "OR LOWER(u.email) LIKE CONCAT('%', :term, '%') ESCAPE '!' " +
+            "OR LOWER(u.username) LIKE CONCAT('%', :term, '%') ESCAPE '!'")
+    List<UserSummary> searchSummaries(@Param("term") String term);
+
+    // Summary rows filtered by role and/or status (null = any); a null status counts as ACTIVE
+    @Query(SUMMARY_SELECT + "WHERE (:role IS NULL OR u.role = :role) " +
+            "AND (:status IS NULL OR u.status = :status OR (u.status IS NULL AND :status = 'ACTIVE'))")
+    List<UserSummary> findSummariesByFilter(@Param("role") Role role, @Param("status") String status);
+
+    // Summary rows for a set of ids (primary key lookup), used to put names on order lists
+    @Query(SUMMARY_SELECT + "WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Streams every user for exports; Integer.MIN_VALUE makes Connector/J stream rows instead of buffering them
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAll();
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.foodapp.userservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodapp.userservice.export.ExportFormat;
+import com.foodapp.userservice.export.StreamingExportWriter;
+import com.foodapp.userservice.model.User;
+import com.foodapp.userservice.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams all users into the response one row at a time. Each entity is detached as soon as it is
+ * written, so the persistence context (and the heap) does not grow with the size of the table.
+ * Admin-only, so it is created on the first export rather than at startup.
+ */
+@Service
+@Lazy
+public class UserExportService {
+
+    static final List<String> COLUMNS = List.of(
+            "id", "username", "email", "role", "firstName", "lastName", "phone", "address", "status", "createdAt");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Writes every user to {@code out}; returns the number written.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out, ExportFormat format) throws IOException {
+        try (StreamingExportWriter writer = new StreamingExportWriter(out, format, objectMapper, COLUMNS);
+             Stream<User> users = userRepository.streamAll()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                writer.write(toRecord(user));
+                entityManager.detach(user);
+            }
+            return writer.getWritten();
+        }
+    }
+
+    // Same fields as UserSummary; the password never leaves the service
+    private static Map<String, Object> toRecord(User user) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", user.getId());
+        record.put("username", user.getUsername());
+        record.put("email", user.getEmail());
+        record.put("role", user.getRole());
+        record.put("firstName", user.getFirstName());
+        record.put("lastName", user.getLastName());
+        record.put("phone", user.getPhone());
+        record.put("address", user.getAddress());
+        record.put("status", user.getStatus());
+        record.put("createdAt", user.getCreatedAt());
+        return record;
+    }
+}
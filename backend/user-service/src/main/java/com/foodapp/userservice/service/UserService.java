@@ -1,24 +1,60 @@
 package com.foodapp.userservice.service;
 
+import com.foodapp.userservice.config.ReadYourWritesTracker;
+import com.foodapp.userservice.dto.UserSummary;
+import com.foodapp.userservice.invalidation.CacheInvalidationBus;
 import com.foodapp.userservice.model.User;
 import com.foodapp.userservice.model.Role;
 import com.foodapp.userservice.repository.UserRepository;
 import com.foodapp.userservice.controller.UserController.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import jakarta.annotation.PostConstruct;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
+    // Cache name on the invalidation bus
+    public static final String USERS = "user";
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private UserSummaryCache userSummaryCache;
 
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @PostConstruct
+    public void followOtherInstances() {
+        // Users changed on another instance: drop their cached summaries and read them from the primary for a while
+        invalidationBus.subscribe(USERS, ids -> {
+            if (ids == null) {
+                userSummaryCache.clear();
+                return;
+            }
+            for (Long id : ids) {
+                userSummaryCache.evict(id);
+                readYourWrites.recordWrite(id);
+            }
+        });
+    }
 
+    @Transactional
     public User registerUser(User user) {
         if (userRepository.existsByUsername(user.getUsername())) {
             throw new RuntimeException("Username already exists");
@@ -39,7 +75,7 @@ public class UserService {
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        return saveAndTrack(user);
     }
 
     public User authenticateUser(String username, String password) {
@@ -54,11 +90,14 @@ public class UserService {
         throw new RuntimeException("Invalid credentials");
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
+        readYourWrites.routeReadsFor(id);
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         User user = getUserById(id);
 
@@ -76,14 +115,16 @@ public class UserService {
         }
 
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        return saveAndTrack(user);
     }
 
+    @Transactional(readOnly = true)
     public User findByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @Transactional(readOnly = true)
     public User findByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -93,6 +134,7 @@ public class UserService {
     /**
      * Get all users - ESSENTIAL for admin panel
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -100,6 +142,7 @@ public class UserService {
     /**
      * Update user status - ESSENTIAL for block/unblock functionality
      */
+    @Transactional
     public User updateUserStatus(Long userId, String status) {
         User user = getUserById(userId);
 
@@ -110,48 +153,92 @@ public class UserService {
 
         user.setStatus(status);
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        return saveAndTrack(user);
+    }
+
+    /**
+     * List users as summary rows - for the admin user list
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummary> getAllUserSummaries() {
+        return userRepository.findAllSummaries();
     }
 
     /**
      * Search users - ESSENTIAL for search functionality
      */
-    public List<User> searchUsers(String search) {
+    @Transactional(readOnly = true)
+    public List<UserSummary> searchUsers(String search) {
         if (search == null || search.trim().isEmpty()) {
-            return getAllUsers();
+            return getAllUserSummaries();
         }
 
-        String searchTerm = search.toLowerCase().trim();
-        return userRepository.findAll().stream()
-                .filter(user ->
-                        (user.getFirstName() != null && user.getFirstName().toLowerCase().contains(searchTerm)) ||
-                                (user.getLastName() != null && user.getLastName().toLowerCase().contains(searchTerm)) ||
-                                (user.getEmail() != null && user.getEmail().toLowerCase().contains(searchTerm)) ||
-                                (user.getUsername() != null && user.getUsername().toLowerCase().contains(searchTerm))
-                )
-                .collect(Collectors.toList());
+        // Wildcards typed by the user are matched literally
+        String term = search.toLowerCase().trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return userRepository.searchSummaries(term);
     }
 
     /**
      * Filter users by role and status - ESSENTIAL for filtering
      */
-    public List<User> getUsersByFilter(String role, String status) {
-        List<User> users = getAllUsers();
-
-        return users.stream()
-                .filter(user -> {
-                    boolean roleMatch = role == null || user.getRole().name().equals(role);
-                    boolean statusMatch = status == null ||
-                            (user.getStatus() != null && user.getStatus().equals(status)) ||
-                            (user.getStatus() == null && "ACTIVE".equals(status));
-                    return roleMatch && statusMatch;
-                })
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<UserSummary> getUsersByFilter(String role, String status) {
+        Role roleFilter = null;
+        if (role != null) {
+            try {
+                roleFilter = Role.valueOf(role);
+            } catch (IllegalArgumentException e) {
+                // Unknown role matches no users
+                return new ArrayList<>();
+            }
+        }
+        return userRepository.findSummariesByFilter(roleFilter, status);
+    }
+
+    /**
+     * Summary rows for many ids at once - for putting user names on order lists.
+     * Keeps request order and skips unknown ids; cache misses are loaded with one IN query.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummary> getUserSummaries(Collection<Long> ids) {
+        Map<Long, UserSummary> found = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null || found.containsKey(id)) {
+                continue;
+            }
+            UserSummary cached = userSummaryCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (UserSummary summary : userRepository.findSummariesByIdIn(misses)) {
+                userSummaryCache.put(summary);
+                found.put(summary.getId(), summary);
+            }
+        }
+
+        List<UserSummary> result = new ArrayList<>(found.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            UserSummary summary = found.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
     }
 
     /**
      * Check if email exists - ESSENTIAL for validation
      */
+    @Transactional(readOnly = true)
     public boolean emailExists(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -161,6 +248,7 @@ public class UserService {
     /**
      * Create new user - for admin user creation
      */
+    @Transactional
     public User createUser(UserCreateRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
@@ -185,12 +273,13 @@ public class UserService {
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        return saveAndTrack(user);
     }
 
     /**
      * Update user - for admin user updates
      */
+    @Transactional
     public User updateUser(Long id, UserUpdateRequest request) {
         User user = getUserById(id);
 
@@ -211,12 +300,13 @@ public class UserService {
         }
 
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        return saveAndTrack(user);
     }
 
     /**
      * Update user profile - for user profile updates
      */
+    @Transactional
     public User updateUserProfile(Long userId, UserProfileUpdateRequest request) {
         User user = getUserById(userId);
 
@@ -234,12 +324,13 @@ public class UserService {
         }
 
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        return saveAndTrack(user);
     }
 
     /**
      * Delete user - for admin user deletion
      */
+    @Transactional
     public void deleteUser(Long id) {
         User user = getUserById(id);
 
@@ -249,11 +340,14 @@ public class UserService {
         }
 
         userRepository.delete(user);
+        evictAfterCommit(id);
+        invalidationBus.publish(USERS, id);
     }
 
     /**
      * Get user statistics - for admin dashboard
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getUserStatistics() {
         List<User> allUsers = getAllUsers();
 
@@ -285,6 +379,29 @@ public class UserService {
         return stats;
     }
 
+    private User saveAndTrack(User user) {
+        User savedUser = userRepository.save(user);
+        // Serve this user's next reads from the primary so they see their own change
+        readYourWrites.recordWrite(savedUser.getId());
+        evictAfterCommit(savedUser.getId());
+        invalidationBus.publish(USERS, savedUser.getId());
+        return savedUser;
+    }
+
+    // Evicting before commit lets a concurrent read cache the old row again until the next change
+    private void evictAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userSummaryCache.evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userSummaryCache.evict(id);
+            }
+        });
+    }
+
     /**
      * Logout user - simple implementation
      */
@@ -292,6 +409,6 @@ public class UserService {
         // Simple implementation - just verify user exists
         getUserById(userId);
         // In a real app, you might invalidate JWT tokens here
-        System.out.println("User " + userId + " logged out");
+        log.info("User {} logged out", userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.foodapp.userservice.service;
+
+import com.foodapp.userservice.dto.UserSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived in-memory cache of {@link UserSummary} rows for batch lookups.
+ * Entries expire after app.users.summary-cache.ttl-ms and are evicted when the user is saved or deleted,
+ * here or on another instance.
+ */
+@Component
+public class UserSummaryCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.users.summary-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.users.summary-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    public UserSummary get(Long id) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(id, entry);
+            return null;
+        }
+        return entry.summary;
+    }
+
+    public void put(UserSummary summary) {
+        if (!enabled) {
+            return;
+        }
+        if (entries.size() >= MAX_ENTRIES) {
+            // Cheap bound: drop everything rather than track recency for a 30s cache
+            entries.clear();
+        }
+        entries.put(summary.getId(), new Entry(summary, System.currentTimeMillis() + ttlMs));
+    }
+
+    public void evict(Long id) {
+        if (id != null) {
+            entries.remove(id);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static class Entry {
+        private final UserSummary summary;
+        private final long expiresAt;
+
+        private Entry(UserSummary summary, long expiresAt) {
+            this.summary = summary;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
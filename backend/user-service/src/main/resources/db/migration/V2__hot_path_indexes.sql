@@ -0,0 +1,2 @@
+-- UserService.getUsersByFilter / getUserStatistics (admin user list and dashboard)
+CREATE INDEX `idx_users_status_role_created_at` ON `users` (`status`, `role`, `created_at`);
@@ -99,6 +99,9 @@ export default function OrderCard({
     return estimatedTimes[status] || "";
   };
 
+  // List endpoints return order summaries: a count instead of the items
+  const itemCount = order.orderItems?.length ?? order.itemCount ?? 0;
+
   return (
     <div className="bg-white rounded-lg shadow-md p-6 hover:shadow-lg transition-shadow border border-gray-200">
       {/* Header */}
@@ -141,6 +144,11 @@ export default function OrderCard({
       {/* Order Items */}
       <div className="mb-4">
         <h4 className="text-sm font-medium text-gray-700 mb-3">Order Items:</h4>
+        {!order.orderItems && (
+          <p className="text-sm text-gray-500">
+            {itemCount} item(s)
+          </p>
+        )}
         <div className="space-y-3">
           {order.orderItems?.map((item, index) => (
             <div
@@ -149,7 +157,7 @@ export default function OrderCard({
             >
               <div className="flex-1">
                 <span className="font-medium text-gray-900">
-                  {item.menuItem?.name || `Item #${item.menuItemId}`}
+                  {item.menuItem?.name || item.menuItemName || `Item #${item.menuItemId}`}
                 </span>
                 {item.menuItem?.description && (
                   <p className="text-sm text-gray-600 mt-1">
@@ -191,13 +199,15 @@ export default function OrderCard({
           </span>
         </div>
         <div className="flex justify-between items-center mt-2 text-sm text-gray-600">
-          <span>Items ({order.orderItems?.length || 0}):</span>
-          <span>
-            $
-            {order.orderItems
-              ?.reduce((sum, item) => sum + item.price * item.quantity, 0)
-              .toFixed(2)}
-          </span>
+          <span>Items ({itemCount}):</span>
+          {order.orderItems && (
+            <span>
+              $
+              {order.orderItems
+                .reduce((sum, item) => sum + item.price * item.quantity, 0)
+                .toFixed(2)}
+            </span>
+          )}
         </div>
       </div>
 
@@ -64,7 +64,7 @@ export default function AddMenuItemModal({
     formData.append("image", file);
 
     try {
-      const response = await fetch("/api/upload", {
+      const response = await fetch("http://localhost:8082/api/menu/images", {
         method: "POST",
         body: formData,
       });
@@ -5,12 +5,14 @@ interface AdminMenuTableProps {
   menuItems: MenuItem[];
   onEdit: (item: MenuItem) => void;
   onDelete: (item: MenuItem) => void;
+  onToggleAvailability?: (item: MenuItem) => void;
 }
 
 export default function AdminMenuTable({
   menuItems,
   onEdit,
   onDelete,
+  onToggleAvailability,
 }: AdminMenuTableProps) {
   return (
     <div className="bg-white rounded-lg shadow overflow-hidden">
@@ -70,15 +72,25 @@ export default function AdminMenuTable({
                   ${item.price.toFixed(2)}
                 </td>
                 <td className="px-6 py-4 whitespace-nowrap">
-                  <span
+                  <button
+                    type="button"
+                    onClick={() => onToggleAvailability?.(item)}
+                    disabled={!onToggleAvailability}
+                    title={
+                      onToggleAvailability
+                        ? item.available
+                          ? "Mark out of stock"
+                          : "Mark available"
+                        : undefined
+                    }
                     className={`inline-flex px-2 py-1 text-xs font-semibold rounded-full ${
                       item.available
                         ? "bg-green-100 text-green-800"
                         : "bg-red-100 text-red-800"
-                    }`}
+                    } ${onToggleAvailability ? "cursor-pointer hover:opacity-80" : "cursor-default"}`}
                   >
                     {item.available ? "Available" : "Out of Stock"}
-                  </span>
+                  </button>
                 </td>
                 <td className="px-6 py-4 whitespace-nowrap text-sm font-medium space-x-2">
                   <button
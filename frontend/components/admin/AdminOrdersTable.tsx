@@ -117,18 +117,20 @@ export default function AdminOrdersTable({
                 </td>
                 <td className="px-6 py-4">
                   <div className="text-sm text-gray-900">
-                    {order.orderItems.length} item(s)
-                  </div>
-                  <div className="text-sm text-gray-500">
-                    {order.orderItems
-                      .slice(0, 2)
-                      .map(
-                        (item) =>
-                          item.menuItem?.name || `Item ${item.menuItemId}`
-                      )
-                      .join(", ")}
-                    {order.orderItems.length > 2 && "..."}
+                    {order.itemCount ?? order.orderItems?.length ?? 0} item(s)
                   </div>
+                  {order.orderItems && (
+                    <div className="text-sm text-gray-500">
+                      {order.orderItems
+                        .slice(0, 2)
+                        .map(
+                          (item) =>
+                            item.menuItem?.name || `Item ${item.menuItemId}`
+                        )
+                        .join(", ")}
+                      {order.orderItems.length > 2 && "..."}
+                    </div>
+                  )}
                 </td>
                 <td className="px-6 py-4 whitespace-nowrap text-sm font-medium text-gray-900">
                   ${order.totalAmount.toFixed(2)}
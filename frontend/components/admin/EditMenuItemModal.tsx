@@ -85,7 +85,7 @@ export default function EditMenuItemModal({
     const formData = new FormData();
     formData.append("image", file);
 
-    const response = await fetch("/api/upload", {
+    const response = await fetch("http://localhost:8082/api/menu/images", {
       method: "POST",
       body: formData,
     });
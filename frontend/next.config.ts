@@ -16,6 +16,12 @@ const nextConfig: NextConfig = {
         port: '',
         pathname: '/**',
       },
+      {
+        protocol: 'http',
+        hostname: 'localhost',
+        port: '8082',
+        pathname: '/api/menu/images/**',
+      },
       {
         protocol: 'https',
         hostname: 'images.unsplash.com',
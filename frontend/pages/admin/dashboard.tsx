@@ -4,16 +4,20 @@ import Layout from "../../components/Layout";
 import OrderCard from "../../components/OrderCard";
 import AdminOrdersTable from "../../components/admin/AdminOrdersTable";
 import OrderStatusSummary from "../../components/admin/OrderStatusSummary";
-import { orderService, menuService } from "../../services/api";
+import { orderService, gatewayService } from "../../services/api";
 import { isAuthenticated, isAdmin } from "../../utils/auth";
 import { Order, OrderStatus, MenuItem } from "../../types";
 
+const liveStatuses: OrderStatus[] = ["PENDING", "ACCEPTED", "PREPARING", "READY"];
+
 export default function AdminDashboard() {
   const [orders, setOrders] = useState<Order[]>([]);
   const [menuItems, setMenuItems] = useState<MenuItem[]>([]);
   const [loading, setLoading] = useState<boolean>(true);
   const [ordersLoading, setOrdersLoading] = useState<boolean>(false);
   const [statusFilter, setStatusFilter] = useState<string>("all");
+  // Oldest-first page from the kitchen queue while a live status is selected
+  const [queueOrders, setQueueOrders] = useState<Order[] | null>(null);
   const [viewMode, setViewMode] = useState<"cards" | "table">("cards");
   const [error, setError] = useState<string>("");
   const router = useRouter();
@@ -32,18 +36,37 @@ export default function AdminDashboard() {
     fetchDashboardData();
   }, [router]);
 
+  useEffect(() => {
+    if (!liveStatuses.includes(statusFilter as OrderStatus)) {
+      setQueueOrders(null);
+      return;
+    }
+    fetchQueue(statusFilter as OrderStatus);
+  }, [statusFilter]);
+
+  const fetchQueue = async (status: OrderStatus): Promise<void> => {
+    try {
+      const response = await orderService.getKitchenQueue(status, 0, 100);
+      setQueueOrders(response.data.orders);
+    } catch (error: any) {
+      console.error("Error fetching kitchen queue:", error);
+      setQueueOrders(null);
+    }
+  };
+
   const fetchDashboardData = async (): Promise<void> => {
     try {
       setLoading(true);
       setError("");
 
-      const [ordersResponse, menuResponse] = await Promise.all([
-        orderService.getAllOrders(),
-        menuService.getMenuItems(),
-      ]);
+      // One gateway call instead of stitching orders, menu and customers together here
+      const response = await gatewayService.getAdminDashboard();
+      if (response.data.errors.length > 0) {
+        console.warn("Dashboard loaded partially:", response.data.errors);
+      }
 
-      setOrders(ordersResponse.data);
-      setMenuItems(menuResponse.data);
+      setOrders(response.data.orders);
+      setMenuItems(response.data.menuItems);
     } catch (error: any) {
       console.error("Error fetching dashboard data:", error);
       setError("Failed to load dashboard data");
@@ -67,6 +90,10 @@ export default function AdminDashboard() {
         )
       );
 
+      if (queueOrders !== null) {
+        fetchQueue(statusFilter as OrderStatus);
+      }
+
       console.log(`Order ${orderId} status updated to ${newStatus}`);
     } catch (error: any) {
       console.error("Error updating order status:", error);
@@ -85,9 +112,12 @@ export default function AdminDashboard() {
       ? orders
       : orders.filter((order) => order.status === statusFilter);
 
-  const sortedOrders = filteredOrders.sort(
-    (a, b) => new Date(b.orderDate).getTime() - new Date(a.orderDate).getTime()
-  );
+  // Queue pages are already oldest first (next to cook at the top)
+  const sortedOrders =
+    queueOrders ??
+    filteredOrders.sort(
+      (a, b) => new Date(b.orderDate).getTime() - new Date(a.orderDate).getTime()
+    );
 
   const statusOptions: OrderStatus[] = [
     "PENDING",
@@ -85,6 +85,22 @@ export default function AdminMenuPage() {
     }
   };
 
+  const handleToggleAvailability = async (item: MenuItem) => {
+    try {
+      await menuService.setMenuItemAvailability(item.id, !item.available);
+      setMenuItems(
+        menuItems.map((menuItem) =>
+          menuItem.id === item.id
+            ? { ...menuItem, available: !item.available }
+            : menuItem
+        )
+      );
+    } catch (err: any) {
+      console.error("Error updating availability:", err);
+      alert("Failed to update availability");
+    }
+  };
+
   const handleDeleteItem = async () => {
     if (!selectedItem) return;
 
@@ -154,6 +170,7 @@ export default function AdminMenuPage() {
             menuItems={menuItems}
             onEdit={openEditModal}
             onDelete={openDeleteModal}
+            onToggleAvailability={handleToggleAvailability}
           />
         </div>
 
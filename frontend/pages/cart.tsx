@@ -1,4 +1,4 @@
-import { useState, useEffect } from "react";
+import { useState, useEffect, useRef } from "react";
 import { useRouter } from "next/router";
 import Layout from "../components/Layout";
 import CartItem from "../components/CartItem";
@@ -10,6 +10,8 @@ export default function Cart() {
   const [cart, setCart] = useState<CartItemType[]>([]);
   const [loading, setLoading] = useState<boolean>(false);
   const [deliveryAddress, setDeliveryAddress] = useState<string>("");
+  // One key per checkout: double clicks and retries of the same cart reuse it, so only one order is created
+  const idempotencyKey = useRef<string | null>(null);
   const router = useRouter();
 
   useEffect(() => {
@@ -36,6 +38,7 @@ export default function Cart() {
   }, [router]);
 
   const updateCart = (updatedCart: CartItemType[]): void => {
+    idempotencyKey.current = null;
     setCart(updatedCart);
     localStorage.setItem("cart", JSON.stringify(updatedCart));
   };
@@ -91,15 +94,31 @@ export default function Cart() {
         deliveryAddress: deliveryAddress,
       };
 
-      await orderService.createOrder(orderData);
+      if (!idempotencyKey.current) {
+        idempotencyKey.current = crypto.randomUUID();
+      }
+      const response = await orderService.createOrder(orderData, idempotencyKey.current);
 
       // Clear cart after successful order
       updateCart([]);
-      alert("Order placed successfully!");
+      const waitSeconds = Number(response.headers["x-estimated-wait-seconds"]);
+      if (response.data.scheduledFor) {
+        const pickup = new Date(response.data.scheduledFor).toLocaleTimeString([], { hour: "2-digit", minute: "2-digit" });
+        alert(`Order placed! The kitchen is busy, so it is scheduled for ${pickup}.`);
+      } else if (waitSeconds > 0) {
+        alert(`Order placed successfully! Estimated wait: about ${Math.ceil(waitSeconds / 60)} min.`);
+      } else {
+        alert("Order placed successfully!");
+      }
       router.push("/orders");
     } catch (error: any) {
       console.error("Error placing order:", error);
-      alert("Failed to place order. Please try again.");
+      if (error.response?.status === 429) {
+        const retryAfter = Number(error.response.headers["retry-after"]) || 60;
+        alert(`The kitchen is at capacity right now. Please try again in about ${Math.ceil(retryAfter / 60)} min.`);
+      } else {
+        alert("Failed to place order. Please try again.");
+      }
     } finally {
       setLoading(false);
     }
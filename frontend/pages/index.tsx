@@ -34,6 +34,39 @@ export default function Home() {
     }
   }, [router]);
 
+  // Follow sold-out changes by long-polling the menu version instead of reloading the menu
+  useEffect(() => {
+    if (loading) return;
+
+    let cancelled = false;
+    let since: number | undefined;
+    const poll = async (): Promise<void> => {
+      while (!cancelled) {
+        try {
+          const { data } = await menuService.getAvailability(since);
+          if (cancelled || data.version === since) continue;
+          since = data.version;
+          const unavailable = new Set(data.unavailableIds);
+          setMenuItems((items) =>
+            items.map((item) =>
+              item.available === !unavailable.has(item.id)
+                ? item
+                : { ...item, available: !unavailable.has(item.id) }
+            )
+          );
+        } catch (error) {
+          // menu-service unreachable; try again shortly
+          await new Promise((resolve) => setTimeout(resolve, 5000));
+        }
+      }
+    };
+    poll();
+
+    return () => {
+      cancelled = true;
+    };
+  }, [loading]);
+
   const fetchMenuData = async (): Promise<void> => {
     try {
       setError("");
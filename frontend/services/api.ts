@@ -74,6 +74,10 @@ export const userService = {
   getUserById: (id: number): Promise<AxiosResponse<User>> => 
     api.get(`http://localhost:8081/api/users/${id}`),
 
+  // Get summaries for many users in one request (admin order tables)
+  getUsersByIds: (ids: number[]): Promise<AxiosResponse<User[]>> => 
+    api.post('http://localhost:8081/api/users/batch', { ids }),
+
   // Additional user management functions
   getAllUsers: (): Promise<AxiosResponse<User[]>> => 
     api.get('http://localhost:8081/api/users'),
@@ -87,6 +91,32 @@ export const userService = {
     api.put(`http://localhost:8081/api/users/${id}/role`, { role }),
 };
 
+export interface MenuQueryParams {
+  categories?: string[];
+  minPrice?: number;
+  maxPrice?: number;
+  available?: boolean;
+  text?: string;
+  sort?: 'id' | 'name' | 'price_asc' | 'price_desc';
+  page?: number;
+  size?: number;
+}
+
+export interface MenuQueryResult {
+  page: number;
+  size: number;
+  total: number;
+  items: MenuItem[];
+  // Counts ignore the category filter / price filter respectively
+  categoryCounts: Record<string, number>;
+  priceBandCounts: Record<string, number>;
+}
+
+export interface MenuAvailability {
+  version: number;
+  unavailableIds: number[];
+}
+
 // Menu Service APIs (Port: 8082)
 export const menuService = {
   // Get all menu items
@@ -101,6 +131,10 @@ export const menuService = {
   getMenuItemById: (id: number): Promise<AxiosResponse<MenuItem>> => 
     api.get(`http://localhost:8082/api/menu/items/${id}`),
   
+  // Get several menu items in one request (missing ids are skipped)
+  getMenuItemsByIds: (ids: number[]): Promise<AxiosResponse<MenuItem[]>> => 
+    api.get(`http://localhost:8082/api/menu/items/batch?ids=${ids.join(',')}`),
+  
   // Create new menu item (Admin only)
   createMenuItem: (itemData: Partial<MenuItem>): Promise<AxiosResponse<MenuItem>> => 
     api.post('http://localhost:8082/api/menu/items', itemData),
@@ -109,6 +143,21 @@ export const menuService = {
   updateMenuItem: (id: number, itemData: Partial<MenuItem>): Promise<AxiosResponse<MenuItem>> => 
     api.put(`http://localhost:8082/api/menu/items/${id}`, itemData),
   
+  // Mark an item in or out of stock without sending the whole item (Admin only)
+  setMenuItemAvailability: (id: number, available: boolean): Promise<AxiosResponse<MenuAvailability>> => 
+    api.patch(`http://localhost:8082/api/menu/items/${id}/availability`, { available }),
+  
+  // Same for several items at once (Admin only)
+  setMenuItemsAvailability: (ids: number[], available: boolean): Promise<AxiosResponse<MenuAvailability>> => 
+    api.patch('http://localhost:8082/api/menu/items/availability', { ids, available }),
+  
+  // Menu version and out-of-stock ids; with `since` the server holds the request until the version moves or waitMs passes
+  getAvailability: (since?: number, waitMs: number = 25000): Promise<AxiosResponse<MenuAvailability>> => 
+    api.get('http://localhost:8082/api/menu/availability', {
+      params: { since, waitMs },
+      timeout: waitMs + 5000,
+    }),
+  
   // Delete menu item (Admin only)
   deleteMenuItem: (id: number): Promise<AxiosResponse<void>> => 
     api.delete(`http://localhost:8082/api/menu/items/${id}`),
@@ -117,6 +166,12 @@ export const menuService = {
   searchMenuItems: (name: string): Promise<AxiosResponse<MenuItem[]>> => 
     api.get(`http://localhost:8082/api/menu/items/search?name=${encodeURIComponent(name)}`),
   
+  // Filter, sort and page the menu server-side, with facet counts
+  queryMenu: ({ categories, ...rest }: MenuQueryParams = {}): Promise<AxiosResponse<MenuQueryResult>> => 
+    api.get('http://localhost:8082/api/menu/query', {
+      params: { ...rest, categories: categories?.length ? categories.join(',') : undefined },
+    }),
+  
   // Get items by category
   getMenuItemsByCategory: (category: string): Promise<AxiosResponse<MenuItem[]>> => 
     api.get(`http://localhost:8082/api/menu/items/category/${encodeURIComponent(category)}`),
@@ -138,13 +193,23 @@ interface CreateOrderData {
   deliveryAddress: string;
 }
 
+export interface KitchenQueuePage {
+  status: OrderStatus;
+  page: number;
+  size: number;
+  total: number;
+  orders: Order[];
+}
+
 export const orderService = {
   // Basic order operations
-  createOrder: (orderData: CreateOrderData): Promise<AxiosResponse<Order>> => 
-    api.post('http://localhost:8083/api/orders', orderData),
+  // Reuse the same idempotencyKey when retrying one checkout so the order is created only once
+  createOrder: (orderData: CreateOrderData, idempotencyKey?: string): Promise<AxiosResponse<Order>> => 
+    api.post('http://localhost:8083/api/orders', orderData,
+      idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : undefined),
   
   getUserOrders: (userId: number): Promise<AxiosResponse<Order[]>> => 
-    api.get(`http://localhost:8083/api/orders/user/${userId}`),
+    api.get(`http://localhost:8083/api/orders/user/${userId}?includeItems=true`),
   
   // Get current user's orders
   getMyOrders: (): Promise<AxiosResponse<Order[]>> => {
@@ -152,7 +217,7 @@ export const orderService = {
     if (!user || !user.id) {
       return Promise.reject(new Error('User not found. Please log in again.'));
     }
-    return api.get(`http://localhost:8083/api/orders/user/${user.id}`);
+    return api.get(`http://localhost:8083/api/orders/user/${user.id}?includeItems=true`);
   },
   
   getAllOrders: (): Promise<AxiosResponse<Order[]>> => 
@@ -172,6 +237,10 @@ export const orderService = {
   getOrdersByStatus: (status: OrderStatus): Promise<AxiosResponse<Order[]>> => 
     api.get(`http://localhost:8083/api/orders/status/${status}`),
   
+  // Live orders in one status, oldest first, from the kitchen queue (PENDING, ACCEPTED, PREPARING, READY)
+  getKitchenQueue: (status: OrderStatus, page: number = 0, size: number = 50): Promise<AxiosResponse<KitchenQueuePage>> => 
+    api.get(`http://localhost:8083/api/orders/queue?status=${status}&page=${page}&size=${size}`),
+  
   // Get recent orders (useful for dashboard)
   getRecentOrders: (limit: number = 10): Promise<AxiosResponse<Order[]>> => 
     api.get(`http://localhost:8083/api/orders/recent?limit=${limit}`),
@@ -200,6 +269,23 @@ export const orderService = {
     api.put(`http://localhost:8083/api/orders/${orderId}/cancel`),
 };
 
+export interface AdminDashboardView {
+  orders: Order[];
+  menuItems: MenuItem[];
+  errors: { part: string; message: string }[];
+}
+
+// Gateway Service APIs (Port: 8080) - composite views assembled server-side
+export const gatewayService = {
+  // Orders with customers attached, plus the menu, in one request
+  getAdminDashboard: (): Promise<AxiosResponse<AdminDashboardView>> => 
+    api.get('http://localhost:8080/api/gateway/admin/dashboard'),
+
+  // A user's orders with menu item names filled in
+  getOrderHistory: (userId: number): Promise<AxiosResponse<{ user: User | null; orders: Order[] }>> => 
+    api.get(`http://localhost:8080/api/gateway/users/${userId}/orders`),
+};
+
 // Analytics Service (if you have analytics endpoints)
 export const analyticsService = {
   // Get sales analytics
@@ -53,6 +53,9 @@ export interface OrderItem {
   id?: number;
   menuItemId: number;
   menuItem?: MenuItem;
+  // Snapshotted when the order was placed (order history read model)
+  menuItemName?: string;
+  category?: string;
   quantity: number;
   price: number;
 }
@@ -61,11 +64,15 @@ export interface Order {
   id: number;
   userId: number;
   user?: User;
-  orderItems: OrderItem[];
+  orderItems?: OrderItem[];
+  // Set instead of orderItems by list endpoints that return order summaries
+  itemCount?: number;
   totalAmount: number;
   status: OrderStatus;
   orderDate: string;
   deliveryAddress: string;
+  // Pickup slot assigned when the order was placed while the kitchen was overloaded
+  scheduledFor?: string | null;
 }
 
 export type OrderStatus = 